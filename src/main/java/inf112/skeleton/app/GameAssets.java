@@ -0,0 +1,127 @@
+package inf112.skeleton.app;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+
+/**
+ * All images, skins and sounds of the game, loaded in the background by an {@link AssetManager}.
+ * The manifest below is the only place an asset path is written, the rest of the game asks for assets
+ * by these names once {@link #update(int)} says everything is loaded.
+ *
+ * Only the loading screen background is loaded right away, so there is something to show while the rest
+ * loads.
+ */
+public class GameAssets {
+
+    public static final String LOADING_SCREEN_BACKGROUND = "assets/images/RoboRallyMenuScreen.png";
+
+    public static final String TEXT_SKIN = "assets/skins/number-cruncher-ui.json";
+    public static final String DEFAULT_SKIN = "assets/skins/uiskin.json";
+
+    public static final String WALLED_LASER_SOUND = "assets/Sound/LaserShot.mp3";
+    public static final String ROBOT_LASER_SOUND = "assets/Sound/laser.mp3";
+    public static final String FIRST_BELT_START_UP_SOUND = "assets/Sound/firstBeltStartUp.mp3";
+    public static final String SECOND_BELT_START_UP_SOUND = "assets/Sound/secondBeltStartUp.mp3";
+    public static final String REPAIR_SOUND = "assets/Sound/Repair.mp3";
+    public static final String HIT_BY_LASER_SOUND = "assets/Sound/LaserHit.mp3";
+    public static final String ROBOT_DESTROYED_SOUND = "assets/Sound/Destroyed.mp3";
+    public static final String SCREAM_SOUND = "assets/Sound/WilhelmScream.mp3";
+    public static final String ROBOT_COLLIDE_SOUND = "assets/Sound/robotCollide.mp3";
+
+    private static final String[] SOUNDS = {WALLED_LASER_SOUND, ROBOT_LASER_SOUND, FIRST_BELT_START_UP_SOUND,
+            SECOND_BELT_START_UP_SOUND, REPAIR_SOUND, HIT_BY_LASER_SOUND, ROBOT_DESTROYED_SOUND, SCREAM_SOUND,
+            ROBOT_COLLIDE_SOUND};
+
+    /**
+     * Name of each image in {@link inf112.skeleton.app.screens.ActorImages}, and its file.
+     */
+    public static final String[][] IMAGES = {
+            {"Create game", "assets/images/Create game active.png"},
+            {"Create game over", "assets/images/Create game Inactive.png"},
+            {"Join game", "assets/images/Join game active.png"},
+            {"Join game over", "assets/images/Join game inactive.png"},
+            {"Confirm ready", "assets/images/ConfirmButton.png"},
+            {"Confirm not ready", "assets/images/ConfirmButtonNotReady.png"},
+            {"Exit", "assets/images/Exit button active.png"},
+            {"Exit over", "assets/images/Exit button inactive.png"},
+            {"Start", "assets/images/Start button active.png"},
+            {"Start over", "assets/images/Start button inactive.png"},
+            {"Settings", "assets/images/Settings Active.png"},
+            {"Settings over", "assets/images/Settings Inactive.png"},
+            {"Back", "assets/images/Back Button Inactive.png"},
+            {"Back over", "assets/images/Back Button Active.png"},
+            {"Screen Toggle", "assets/images/Screen Toggle Inactive.png"},
+            {"Screen Toggle over", "assets/images/Screen Toggle Active.png"},
+            {"Power down active", "assets/images/Power Down Active.png"},
+            {"Power down inactive", "assets/images/Power Down Inactive.png"},
+            {"Power up active", "assets/images/Power Up Active.png"},
+            {"Power up inactive", "assets/images/Power Up Inactive.png"},
+            {"Powering down", "assets/images/Powering Down.png"},
+            {"Damage token", "assets/images/damageToken.png"},
+            {"Life token", "assets/images/lifeToken.png"},
+            {"Loading screen background", LOADING_SCREEN_BACKGROUND},
+            {"Menu screen background", "assets/images/GUI_Edited.jpg"},
+            {"You won background", "assets/images/You Won.png"},
+            {"You lost background", "assets/images/You Lost.png"},
+    };
+
+    private final AssetManager manager;
+
+    public GameAssets() {
+        this.manager = new AssetManager();
+    }
+
+    /**
+     * Load the loading screen background now, and queue everything else to be loaded by {@link #update(int)}.
+     */
+    public void queue() {
+        manager.load(LOADING_SCREEN_BACKGROUND, Texture.class);
+        manager.finishLoadingAsset(LOADING_SCREEN_BACKGROUND);
+        for (String[] image : IMAGES) {
+            manager.load(image[1], Texture.class);
+        }
+        manager.load(TEXT_SKIN, Skin.class);
+        manager.load(DEFAULT_SKIN, Skin.class);
+        for (String sound : SOUNDS) {
+            manager.load(sound, Sound.class);
+        }
+    }
+
+    /**
+     * Load assets for at most the given time, call once per frame.
+     *
+     * @param milliseconds to spend loading
+     * @return true if all assets are loaded
+     */
+    public boolean update(int milliseconds) {
+        return manager.update(milliseconds);
+    }
+
+    /**
+     * @return share of the assets loaded, from 0 to 1
+     */
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    public Texture getTexture(String path) {
+        return manager.get(path, Texture.class);
+    }
+
+    public Skin getSkin(String path) {
+        return manager.get(path, Skin.class);
+    }
+
+    public Sound getSound(String path) {
+        return manager.get(path, Sound.class);
+    }
+
+    /**
+     * Dispose all assets, also the ones in use.
+     */
+    public void dispose() {
+        manager.dispose();
+    }
+}
@@ -10,19 +10,22 @@ import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import inf112.skeleton.app.board.Board;
 import inf112.skeleton.app.cards.Deck;
 import inf112.skeleton.app.cards.ProgramCard;
-import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.engine.AnimationClock;
+import inf112.skeleton.app.engine.Robot;
+import inf112.skeleton.app.engine.TurnEvent;
+import inf112.skeleton.app.engine.TurnResolver;
+import inf112.skeleton.app.engine.TurnResult;
+import inf112.skeleton.app.enums.AnimationSpeed;
 import inf112.skeleton.app.enums.Messages;
-import inf112.skeleton.app.lan.Converter;
+import inf112.skeleton.app.enums.TurnPhase;
+import inf112.skeleton.app.lan.Frame;
 import inf112.skeleton.app.lan.GameClientThread;
 import inf112.skeleton.app.lan.GameServer;
 import inf112.skeleton.app.lan.ServerThread;
-import inf112.skeleton.app.objects.Belt;
 import inf112.skeleton.app.objects.Flag;
-import inf112.skeleton.app.objects.Laser;
-import inf112.skeleton.app.objects.RotatePad;
 import inf112.skeleton.app.objects.player.Player;
-import inf112.skeleton.app.objects.player.PlayerSorter;
 import inf112.skeleton.app.screens.ActorImages;
+import inf112.skeleton.app.screens.LoadingScreen;
 import inf112.skeleton.app.screens.gamescreen.GameScreen;
 import inf112.skeleton.app.screens.gifscreen.GifScreen;
 import inf112.skeleton.app.screens.menuscreen.MenuScreen;
@@ -67,33 +70,44 @@ public class RallyGame extends Game {
 
     private boolean isServer;
     private GameClientThread client;
-    private Converter converter;
 
+    private GameAssets assets;
     public Skin textSkin;
     public Skin defaultSkin;
     public ActorImages actorImages;
 
 
     public static float soundVolume = 0.5f;
+    public static AnimationSpeed animationSpeed = AnimationSpeed.NORMAL;
+    private AnimationClock clock = milliseconds -> sleep(animationSpeed.scale(milliseconds));
     private String mapPath;
     public Semaphore waitForPowerUp;
     private ArrayList<Player> poweredDownPlayers;
     private Semaphore waitForCards;
 
     public void create() {
-        this.actorImages = new ActorImages();
-        this.textSkin = new Skin(Gdx.files.internal("assets/skins/number-cruncher-ui.json"));
-        this.defaultSkin = new Skin(Gdx.files.internal("assets/skins/uiskin.json"));
-        this.setScreen(new MenuScreen(this));
+        this.assets = new GameAssets();
+        assets.queue();
+        this.setScreen(new LoadingScreen(this));
         startMusic();
     }
 
+    /**
+     * Called by {@link LoadingScreen} when all assets are loaded, to go on to the menu.
+     */
+    public void finishLoading() {
+        this.actorImages = new ActorImages(assets);
+        this.textSkin = assets.getSkin(GameAssets.TEXT_SKIN);
+        this.defaultSkin = assets.getSkin(GameAssets.DEFAULT_SKIN);
+        this.setScreen(new MenuScreen(this));
+    }
+
     /**
      * Set up game with given map
      *
      */
     public void setupGame() {
-        this.board = new Board(mapPath);
+        this.board = new Board(mapPath, assets);
         this.deck = new Deck();
         this.players = makePlayersAndAddToBoard(this.numberOfPlayers);
         this.respawnPlayers = new ArrayList<>();
@@ -103,17 +117,16 @@ public class RallyGame extends Game {
         this.waitForCards = new Semaphore(1);
         this.waitForCards.tryAcquire();
         this.playing = true;
-        this.converter = new Converter();
         this.waitingForCards = true;
         this.waitingForPowerUp = false;
 
-        this.walledLaserSound = Gdx.audio.newSound(Gdx.files.internal("assets/Sound/LaserShot.mp3"));
-        this.robotLaserSound = Gdx.audio.newSound(Gdx.files.internal("assets/Sound/laser.mp3"));
-        this.firstBeltStartUp = Gdx.audio.newSound(Gdx.files.internal("assets/Sound/firstBeltStartUp.mp3"));
-        this.secondBeltStartUp = Gdx.audio.newSound(Gdx.files.internal("assets/Sound/secondBeltStartUp.mp3"));
-        this.repairRobotSound = Gdx.audio.newSound(Gdx.files.internal("assets/Sound/Repair.mp3"));
-        this.hitByLaser = Gdx.audio.newSound(Gdx.files.internal("assets/Sound/LaserHit.mp3"));
-        this.robotDestroyed = Gdx.audio.newSound(Gdx.files.internal("assets/Sound/Destroyed.mp3"));
+        this.walledLaserSound = getSound(GameAssets.WALLED_LASER_SOUND);
+        this.robotLaserSound = getSound(GameAssets.ROBOT_LASER_SOUND);
+        this.firstBeltStartUp = getSound(GameAssets.FIRST_BELT_START_UP_SOUND);
+        this.secondBeltStartUp = getSound(GameAssets.SECOND_BELT_START_UP_SOUND);
+        this.repairRobotSound = getSound(GameAssets.REPAIR_SOUND);
+        this.hitByLaser = getSound(GameAssets.HIT_BY_LASER_SOUND);
+        this.robotDestroyed = getSound(GameAssets.ROBOT_DESTROYED_SOUND);
 
 
         new Thread(this::doTurn).start();
@@ -121,12 +134,26 @@ public class RallyGame extends Game {
         dealCards();
     }
 
+    /**
+     * @param path of sound
+     * @return the loaded sound, or a new one if the assets are not loaded, as when the game is not made by
+     * {@link #create()}
+     */
+    private Sound getSound(String path) {
+        return assets == null ? Gdx.audio.newSound(Gdx.files.internal(path)) : assets.getSound(path);
+    }
+
+    public GameAssets getAssets() {
+        return assets;
+    }
+
     public ArrayList<Player> makePlayersAndAddToBoard(int numberOfPlayers) {
         ArrayList<Player> players = new ArrayList<>();
         String[] colors = new String[]{"Blue", "Brown", "Dark green", "Light green", "Pink", "Purple", "Red", "Yellow"};
         for (int playerNumber = 1; playerNumber <= numberOfPlayers; playerNumber++) {
             Vector2 startPos = board.getStartPosition(playerNumber);
-            Player player = new Player(startPos, playerNumber, colors[playerNumber - 1]);
+            // Maps with a Start layer can have more start positions than there are robot colors
+            Player player = new Player(startPos, playerNumber, colors[(playerNumber - 1) % colors.length]);
             if (this.myPlayerNumber == playerNumber) {
                 this.mainPlayer = player;
             }
@@ -185,7 +212,7 @@ public class RallyGame extends Game {
     public void sendSelectedCardsToServer() {
         if (!isServer) {
             for (ProgramCard card : mainPlayer.getRegisters().getCards()) {
-                client.sendMessage(converter.convertToString(mainPlayer.getPlayerNumber(), card));
+                client.sendMessage(Frame.card(mainPlayer.getPlayerNumber(), card));
             }
         }
     }
@@ -248,7 +275,7 @@ public class RallyGame extends Game {
                     server.setAllClientsHaveSelectedCardsOrIsPoweredDown(false);
                     System.out.println("All clients selected cards");
                     server.sendSelectedCardsToAll();
-                    server.sendToAll(Messages.START_TURN.toString());
+                    server.sendToAll(Frame.of(Messages.START_TURN));
                     startTurn();
                 }
             }
@@ -268,7 +295,7 @@ public class RallyGame extends Game {
                     server.setAllPoweredDownClientsHaveConfirmed(false);
                     server.setServerHasConfirmed(false);
                     System.out.println("All clients confirmed powered up");
-                    server.sendToAll(Messages.CONTINUE_TURN.toString());
+                    server.sendToAll(Frame.of(Messages.CONTINUE_TURN));
                     continueTurn();
                 }
             }
@@ -400,6 +427,8 @@ public class RallyGame extends Game {
             D. Lasers Fire (player, then board)
             E. Touch Checkpoints (Flag, Repair)
     5. Clean up any end-of-turn effects
+
+    Step 4 is resolved by {@link TurnResolver} without waiting, and the events are then replayed on the board.
     */
     public void doTurn () {
 
@@ -407,19 +436,11 @@ public class RallyGame extends Game {
             System.out.println("Wait for cards");
             waitForCards();
             if (Thread.interrupted()) { return; }
-            for (int cardNumber = 0; cardNumber < 5; cardNumber++) {
-                System.out.println("Runde " + (cardNumber + 1));
-                allPlayersPlayCard(cardNumber);
-                activateBeltsAndRotatePads();
-                fireAllLasers();
-                updateBackupAndPickUpFlagsAndRepair(false);
-                if (someoneWon()) {
-                    endGame();
-                    return;
-                }
-                sleep(1000);
+            applyResult(createTurnResolver().resolve(), true);
+            if (someoneWon()) {
+                endGame();
+                return;
             }
-            updateBackupAndPickUpFlagsAndRepair(true);
             if (!respawnPlayers.isEmpty()) {
                 respawnPlayers();
             }
@@ -466,46 +487,6 @@ public class RallyGame extends Game {
         }
     }
 
-    /**
-     * First fire player lasers and then wall lasers. Wall lasers are only
-     * activated if there are any wall lasers on the board. Make thread sleep after each methodcall.
-     *
-     * {@link #decreaseLives()} is invoked after both {@link #firePlayerLaser()} and {@link #fireLasers()}
-     */
-    private void fireAllLasers() {
-        firePlayerLaser();
-        sleep(350);
-        removeLasers();
-        sleep(600);
-        decreaseLives();
-        if (!board.getLasers().isEmpty()) {
-            fireLasers();
-            sleep(350);
-            removeLasers();
-            sleep(600);
-            decreaseLives();
-        }
-    }
-
-    /**
-     * Move express belts one and then all belts one. Turn rotatepads.
-     * Make doTurn thread sleep after each movement.
-     *
-     * {@link #decreaseLives()} at the end
-     */
-    public void activateBeltsAndRotatePads() {
-      if (!board.getExpressBelts().isEmpty()) {
-                    activateBelts(true);
-                    sleep(1300);
-                }
-        decreaseLives();
-        activateBelts(false);
-        sleep(800);
-        activateRotatePads();
-        sleep(250);
-        decreaseLives();
-    }
-
     /**
      * If isServer is true, update the {@link GameServer#setServerHasConfirmed(boolean)}.
      *
@@ -555,7 +536,7 @@ public class RallyGame extends Game {
     public void serverGetReadyForNextRound() {
         if (isServer) {
             if (everyOneIsPoweredDown()) {
-                serverThread.getServer().sendToAll(Messages.START_TURN.toString());
+                serverThread.getServer().sendToAll(Frame.of(Messages.START_TURN));
                 startTurn();
             } else if (serverIsOnlyOneInPowerDown()) {
                 serverThread.getServer().setServerHasConfirmed(true);
@@ -637,6 +618,9 @@ public class RallyGame extends Game {
     }
 
     private void sleep(int milliseconds) {
+        if (milliseconds <= 0) {
+            return;
+        }
         try {
             Thread.sleep(milliseconds);
         } catch (InterruptedException e) {
@@ -667,19 +651,28 @@ public class RallyGame extends Game {
     public void decreaseLives() {
         ArrayList<Player> removedPlayers = new ArrayList<>();
         for (Player player : players) {
-
             if (player.getDamageTokens() >= 10 || board.outsideBoard(player)) {
-
-                robotDestroyed.play(soundVolume);
-                player.decrementLifeTokens();
-                player.resetDamageTokens();
-                board.removePlayerFromBoard(player);
                 removedPlayers.add(player);
             }
         }
-        if (!removedPlayers.isEmpty()) {
-            players.removeAll(removedPlayers);
-            respawnPlayers.addAll(removedPlayers);
+        for (Player player : removedPlayers) {
+            destroyPlayer(player);
+        }
+    }
+
+    /**
+     * Decrease life tokens, reset damage tokens and remove player from board until it respawns.
+     *
+     * @param player that is destroyed
+     */
+    public void destroyPlayer(Player player) {
+        robotDestroyed.play(soundVolume);
+        player.decrementLifeTokens();
+        player.resetDamageTokens();
+        board.removePlayerFromBoard(player);
+        players.remove(player);
+        if (!respawnPlayers.contains(player)) {
+            respawnPlayers.add(player);
         }
     }
 
@@ -705,58 +698,173 @@ public class RallyGame extends Game {
     }
 
     /**
-     * All players move their card. doTurn thread sleeps at the end and between moves.
-     * @param cardNumber
+     * Rotate or move a player according to the card in a register.
+     *
+     * @param player     to play card
+     * @param cardNumber register with card
+     */
+    public void playCard(Player player, int cardNumber) {
+        TurnResolver resolver = createTurnResolver();
+        resolver.playCard(resolver.getRobot(player.getPlayerNumber()), cardNumber);
+        applyResult(resolver.getResult(), false);
+    }
+
+    /**
+     * @return resolver with a robot for every player on the board that is not waiting for respawn or dead
      */
-    public void allPlayersPlayCard(int cardNumber) {
-        ArrayList<Player> playerOrder = new ArrayList<>(players);
-        // Add all players to order list, and remove players with no cards left or powered down
-        playerOrder.removeIf(Player::isPoweredDown);
-        playerOrder.removeIf(p -> !p.getRegisters().getRegister(cardNumber).hasCard());
-        playerOrder.sort(new PlayerSorter(cardNumber));
-        for (Player player : playerOrder) {
-            playCard(player, cardNumber);
-            // Wait 1 second for each player
-            sleep(500);
-            // Decrease lives in case player is pushed outside board
-            decreaseLives();
-            sleep(500);
+    private TurnResolver createTurnResolver() {
+        ArrayList<Robot> robots = new ArrayList<>();
+        for (Player player : board.getPlayers()) {
+            if (!respawnPlayers.contains(player) && !player.isDead()) {
+                robots.add(new Robot(player));
+            }
         }
-        sleep(250);
+        return new TurnResolver(board, robots);
     }
 
-    public void playCard(Player player, int cardNumber) {
-        player.setBeltPushDir(null);
-        ProgramCard card = player.getRegisters().getCard(cardNumber);
-        System.out.println(player.toString() + " played " + card.toString());
-        switch (card.getRotate()) {
-            case RIGHT:
-                player.setDirection(player.getDirection().turnRight());
+    /**
+     * Replay the events of a resolved turn on the players and the board. Events with the same tick
+     * are shown together.
+     *
+     * @param result  of {@link TurnResolver}
+     * @param animate true to play sounds and wait between ticks so the turn can be followed on screen
+     */
+    private void applyResult(TurnResult result, boolean animate) {
+        ArrayList<Player> movedPlayers = new ArrayList<>();
+        TurnEvent lastEvent = null;
+        for (TurnEvent event : result.getEvents()) {
+            if (lastEvent != null && event.getTick() != lastEvent.getTick()) {
+                endTick(lastEvent, movedPlayers, animate);
+                if (animate && event.getRegister() != lastEvent.getRegister()) {
+                    clock.pause(1000);
+                }
+            }
+            if (animate && (lastEvent == null || event.getTick() != lastEvent.getTick())) {
+                playPhaseSound(event.getPhase());
+            }
+            applyEvent(event, movedPlayers);
+            lastEvent = event;
+        }
+        if (lastEvent != null) {
+            endTick(lastEvent, movedPlayers, animate);
+        }
+        for (Robot robot : result.getRobots()) {
+            Player player = board.getPlayer(robot.getPlayerNumber());
+            if (player != null) {
+                player.setBeltPushDir(robot.getBeltDirection());
+            }
+        }
+    }
+
+    private void applyEvent(TurnEvent event, ArrayList<Player> movedPlayers) {
+        Player player = board.getPlayer(event.getPlayerNumber());
+        switch (event.getType()) {
+            case CARD_PLAYED:
+                System.out.println(player.toString() + " played " + event.getCard().toString());
+                deck.addCardToDiscardPile(event.getCard());
                 break;
-            case LEFT:
-                player.setDirection(player.getDirection().turnLeft());
+            case MOVED:
+            case PUSHED:
+            case BELTED:
+            case ROTATED:
+                board.removePlayerFromBoard(player);
+                player.setPosition(event.getPosition());
+                player.setDirection(event.getDirection());
+                if (!movedPlayers.contains(player)) {
+                    movedPlayers.add(player);
+                }
                 break;
-            case UTURN:
-                player.setDirection(player.getDirection().turnAround());
+            case BLOCKED:
+                board.playWallCollision();
+                break;
+            case LASER_FIRED:
+                Vector2 position = event.getPosition();
+                for (int length = 0; length < event.getValue(); length++) {
+                    board.addLaser(position, event.getDirection());
+                    position = board.getNeighbourPosition(position, event.getDirection());
+                }
                 break;
-            case NONE:
-                if (card.getDistance() == -1) {
-                    board.movePlayer(player, true);
-                } else {
-                    for (int distance = 0; distance < card.getDistance(); distance++) {
-                        board.movePlayer(player, false);
-                        // Wait 250 ms for each move except last one
-                        if (distance < card.getDistance() - 1) {
-                            sleep(250);
-                        }
+            case LASERED:
+                hitByLaser.play(soundVolume);
+                player.handleDamage();
+                break;
+            case DIED:
+                destroyPlayer(player);
+                break;
+            case BACKUP_SET:
+                player.setBackup(event.getPosition(), event.getDirection());
+                break;
+            case FLAG_TAKEN:
+                for (Flag flag : board.getFlags()) {
+                    if (flag.getFlagnr() == event.getValue()) {
+                        player.tryToPickUpFlag(flag);
                     }
                 }
                 break;
+            case REPAIRED:
+                player.decrementDamageTokens();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Draw players that moved during the tick, and wait before the next tick if animating.
+     */
+    private void endTick(TurnEvent lastEvent, ArrayList<Player> movedPlayers, boolean animate) {
+        for (Player player : movedPlayers) {
+            if (!respawnPlayers.contains(player)) {
+                board.addPlayer(player);
+            }
+        }
+        movedPlayers.clear();
+        if (!animate) {
+            return;
+        }
+        switch (lastEvent.getPhase()) {
+            case CARDS:
+            case ROTATE_PADS:
+            case CHECKPOINTS:
+                clock.pause(500);
+                break;
+            case EXPRESS_BELTS:
+                clock.pause(1300);
+                break;
+            case BELTS:
+                clock.pause(800);
+                break;
+            case ROBOT_LASERS:
+            case WALL_LASERS:
+                clock.pause(350);
+                removeLasers();
+                clock.pause(600);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void playPhaseSound(TurnPhase phase) {
+        switch (phase) {
+            case EXPRESS_BELTS:
+                secondBeltStartUp.play(soundVolume);
+                break;
+            case BELTS:
+                firstBeltStartUp.play(soundVolume);
+                break;
+            case ROBOT_LASERS:
+                robotLaserSound.play(soundVolume);
+                break;
+            case WALL_LASERS:
+                walledLaserSound.play(soundVolume);
+                break;
+            case CHECKPOINTS:
+                repairRobotSound.play(soundVolume);
+                break;
             default:
                 break;
         }
-        board.addPlayer(player);
-        deck.addCardToDiscardPile(card);
     }
 
     public void setWinScreen() {
@@ -764,44 +872,25 @@ public class RallyGame extends Game {
     }
 
     public void removeLasers() {
-        for (int y = 0; y < board.getBoardHeight(); y++) {
-            for (int x = 0; x < board.getBoardWidth(); x++) {
-                board.getLaserLayer().setCell(x, y, null);
-            }
-        }
+        board.removeLasers();
     }
 
     public void firePlayerLaser() {
-        if (!players.isEmpty()) {
-            for (Player player : players) {
-                player.fire(this);
-            }
-            robotLaserSound.play(soundVolume);
-        }
+        TurnResolver resolver = createTurnResolver();
+        resolver.fireRobotLasers();
+        applyResult(resolver.getResult(), false);
     }
 
     public void fireLasers() {
-        if (!board.getLasers().isEmpty()) {
-            for (Laser laser : board.getLasers()) {
-                laser.fire(this);
-            }
-            walledLaserSound.play(soundVolume);
-        }
+        TurnResolver resolver = createTurnResolver();
+        resolver.fireWallLasers();
+        applyResult(resolver.getResult(), false);
     }
 
     public void activateRotatePads() {
-        for (Player player : players) {
-            for (RotatePad pad : board.getRotatePads()) {
-                Vector2 playerPosition = player.getPosition();
-                Vector2 padPosition = pad.getPosition();
-
-                if (playerPosition.equals(padPosition)) {
-                    pad.rotate(player);
-                    board.addPlayer(player);
-                    sleep(500);
-                }
-            }
-        }
+        TurnResolver resolver = createTurnResolver();
+        resolver.activateRotatePads();
+        applyResult(resolver.getResult(), false);
     }
 
     /**
@@ -812,101 +901,18 @@ public class RallyGame extends Game {
      * @param onlyExpress if true then the pool of belts should be set to expressBelts
      */
     public void activateBelts(boolean onlyExpress) {
-
-        ArrayList<Belt> belts = onlyExpress ? board.getExpressBelts() : board.getBelts();
-        for (Player player : players) {
-            for (Belt belt : belts) {
-                if (player.getPosition().equals(belt.getPosition())) {
-                    beltPush(player, belt);
-                }
-            }
-        }
-        if (!onlyExpress){
-            firstBeltStartUp.play(soundVolume);
-        }
-        else {
-            secondBeltStartUp.play(soundVolume);
-        }
-        sleep(500);
-        validateBeltPushPos();
-        updateBoardAfterBeltPush();
-    }
-
-    private void updateBoardAfterBeltPush() {
-        board.removePlayersFromBoard();
-        updatePositionsAfterBeltPush();
-        board.updateBoard();
-    }
-
-    public void validateBeltPushPos() {
-        player:
-        for (Player player : players) {
-            for (Player otherPlayer : players) {
-                if (player.getBeltPushPos() != null && !player.equals(otherPlayer)) {
-                    if (player.getBeltPushPos().equals(otherPlayer.getBeltPushPos())) {
-                        player.setBeltPushPos(null);
-                        otherPlayer.setBeltPushPos(null);
-                        continue player;
-                    }
-                    if (board.shouldPush(player, player.getBeltPushDir()) &&
-                            otherPlayer.getBeltPushPos() == null &&
-                            !board.canPush(otherPlayer, player.getBeltPushDir())) {
-                        player.setBeltPushPos(null);
-                        continue player;
-                    }
-                }
-            }
-        }
+        TurnResolver resolver = createTurnResolver();
+        resolver.activateBelts(onlyExpress);
+        applyResult(resolver.getResult(), false);
     }
 
-    public void updatePositionsAfterBeltPush() {
-        for (Player player : players) {
-            if (player.getBeltPushPos() != null) {
-                Direction dir = player.getBeltPushDir();
-                if (board.shouldPush(player, dir)) {
-                    Player enemyPlayer = board.getPlayer(board.getNeighbourPosition(player.getPosition(), dir));
-                    if (board.canPush(enemyPlayer, dir)) {
-                        board.pushPlayer(enemyPlayer, dir);
-                    }
-                }
-                player.setPosition(player.getBeltPushPos());
-                player.setBeltPushPos(null);
-            }
-        }
-    }
-
-    public void beltPush(Player player, Belt belt) {
-        Direction lastPush = player.getBeltPushDir();
-        Direction beltDirection = belt.getDirection();
-        if (lastPush != null) {
-            switch (lastPush) {
-                case NORTH:
-                    setPlayerDirectionAfterBeltPush(player, beltDirection, Direction.EAST, Direction.WEST);
-                    break;
-                case SOUTH:
-                    setPlayerDirectionAfterBeltPush(player, beltDirection, Direction.WEST, Direction.EAST);
-                    break;
-                case EAST:
-                    setPlayerDirectionAfterBeltPush(player, beltDirection, Direction.SOUTH, Direction.NORTH);
-                    break;
-                case WEST:
-                    setPlayerDirectionAfterBeltPush(player, beltDirection, Direction.NORTH, Direction.SOUTH);
-                    break;
-                default:
-                    break;
-            }
-        }
-        player.setBeltPushDir(beltDirection);
-        player.setBeltPushPos(board.getNeighbourPosition(player.getPosition(), beltDirection));
-    }
-
-    public void setPlayerDirectionAfterBeltPush (Player player, Direction beltDirection, Direction
-    turnRight, Direction leftTurn){
-        if (beltDirection.equals(turnRight)) {
-            player.setDirection(player.getDirection().turnRight());
-        } else if (beltDirection.equals(leftTurn)) {
-            player.setDirection(player.getDirection().turnLeft());
-        }
+    /**
+     * Replace the clock that paces the replay of a turn, e.g. with one that does not wait.
+     *
+     * @param clock to use
+     */
+    public void setAnimationClock(AnimationClock clock) {
+        this.clock = clock;
     }
 
     public Board getBoard () {
@@ -929,30 +935,12 @@ public class RallyGame extends Game {
     }
 
     /**
-     * Activate the repair keys and pick up flags. Thread sleeps between each method call
+     * Activate the repair keys and pick up flags.
      */
     public void updateBackupAndPickUpFlagsAndRepair(boolean repair) {
-        for (Player player : players) {
-            for (Vector2 repairTilePos : board.getRepairTiles()) {
-                if (player.getPosition().equals(repairTilePos)) {
-                    player.setBackup(repairTilePos, player.getDirection());
-                    if (repair) {
-                        player.decrementDamageTokens();
-                    }
-                }
-            }
-            for (Flag flag : board.getFlags()) {
-                if (player.getPosition().equals(flag.getPosition())) {
-                    player.setBackup(flag.getPosition(), player.getDirection());
-                    player.tryToPickUpFlag(flag);
-                    if (repair) {
-                        player.decrementDamageTokens();
-                    }
-                }
-            }
-            repairRobotSound.play(soundVolume);
-            sleep(500);
-        }
+        TurnResolver resolver = createTurnResolver();
+        resolver.touchCheckpoints(repair);
+        applyResult(resolver.getResult(), false);
     }
 
     public void setPlayerNumber ( int playerNumber){
@@ -993,13 +981,12 @@ public class RallyGame extends Game {
         try {
             // Tell server you are leaving. Close your socket.
             if (!isServer) {
-                this.client.sendMessage(converter.createQuitMessage(this.myPlayerNumber));
+                this.client.sendMessage(Frame.fromPlayer(this.myPlayerNumber, Messages.QUIT));
                 this.client.close();
-                this.client.sendMessage(Messages.CLOSED.toString());
             }
             // Close all sockets in serverthread
             if (isServer) {
-                this.serverThread.getServer().sendToAll(Messages.HOST_LEAVES.toString());
+                this.serverThread.getServer().sendToAll(Frame.of(Messages.HOST_LEAVES));
                 this.serverThread.getServer().disconnectAll();
                 System.out.println(Messages.CLOSED.toString());
             }
@@ -1010,12 +997,11 @@ public class RallyGame extends Game {
         } catch (Exception ignored) {
         }
         try {
-            walledLaserSound.dispose();
-            repairRobotSound.dispose();
-            firstBeltStartUp.dispose();
-            secondBeltStartUp.dispose();
-            robotDestroyed.dispose();
-            robotLaserSound.dispose();
+            if (assets == null) {
+                disposeSounds();
+            } else {
+                assets.dispose();
+            }
         } catch (Exception ignored) {
         }
         try {
@@ -1029,6 +1015,19 @@ public class RallyGame extends Game {
         }
     }
 
+    /**
+     * Sounds from {@link #getSound(String)} that were made without assets are not disposed with them.
+     */
+    private void disposeSounds() {
+        Sound[] sounds = {walledLaserSound, robotLaserSound, firstBeltStartUp, secondBeltStartUp,
+                repairRobotSound, hitByLaser, robotDestroyed};
+        for (Sound sound : sounds) {
+            if (sound != null) {
+                sound.dispose();
+            }
+        }
+    }
+
     /**
      * Finish the round in doTurn and then stop the thread.
      */
@@ -1057,9 +1056,9 @@ public class RallyGame extends Game {
      */
     public void sendPowerUpMessage() {
         if (isServer) {
-            serverThread.getServer().sendToAll(converter.createMessageFromPlayer(mainPlayer.getPlayerNumber(), Messages.POWER_UP));
+            serverThread.getServer().sendToAll(Frame.fromPlayer(mainPlayer.getPlayerNumber(), Messages.POWER_UP));
         } else {
-            client.sendMessage(converter.createMessageFromPlayer(mainPlayer.getPlayerNumber(), Messages.POWER_UP));
+            client.sendMessage(Frame.fromPlayer(mainPlayer.getPlayerNumber(), Messages.POWER_UP));
         }
     }
 
@@ -1068,9 +1067,9 @@ public class RallyGame extends Game {
      */
     public void sendPoweringDownMessage() {
         if (isServer) {
-            serverThread.getServer().sendToAll(converter.createMessageFromPlayer(mainPlayer.getPlayerNumber(), Messages.POWERING_DOWN));
+            serverThread.getServer().sendToAll(Frame.fromPlayer(mainPlayer.getPlayerNumber(), Messages.POWERING_DOWN));
         } else {
-            client.sendMessage(converter.createMessageFromPlayer(mainPlayer.getPlayerNumber(), Messages.POWERING_DOWN));
+            client.sendMessage(Frame.fromPlayer(mainPlayer.getPlayerNumber(), Messages.POWERING_DOWN));
         }
     }
 
@@ -1090,7 +1089,7 @@ public class RallyGame extends Game {
         if (isServer) {
             serverThread.getServer().setServerHasConfirmed(true);
         } else {
-            client.sendMessage(converter.createMessageFromPlayer(mainPlayer.getPlayerNumber(), Messages.CONTINUE_POWER_DOWN));
+            client.sendMessage(Frame.fromPlayer(mainPlayer.getPlayerNumber(), Messages.CONTINUE_POWER_DOWN));
         }
     }
 
@@ -2,46 +2,108 @@ package inf112.skeleton.app.board;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.GameAssets;
 import inf112.skeleton.app.RallyGame;
+import inf112.skeleton.app.engine.Robot;
+import inf112.skeleton.app.engine.TurnEvent;
+import inf112.skeleton.app.engine.TurnResolver;
 import inf112.skeleton.app.enums.Direction;
 import inf112.skeleton.app.enums.TileID;
+import inf112.skeleton.app.enums.TurnEventType;
 import inf112.skeleton.app.objects.player.Player;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Random;
 
 public class Board extends BoardLayers {
 
     private final ArrayList<Player> players;
+    private final HashMap<Player, Integer> playerIndexes;
+    private final ArrayList<TiledMapTileLayer.Cell[]> robotCells;
+
+    /**
+     * Index + 1 in players of the first player standing in each cell x + y * width, 0 if the cell is empty.
+     * Players are never removed from players, so the indexes do not change.
+     */
+    private final int[] occupancy;
+    private final int[] playersInCell;
+    private final RespawnSearch respawnSearch;
+
+    // Cells x + y * width with a laser in the laser layer, so removing lasers only touches those cells
+    private final BitSet laserCells;
 
     private final Sound scream;
     private final Sound wall_Collision;
     private final Sound robotCollide;
+    // Sounds from GameAssets are disposed with the assets, not with the board
+    private final boolean ownsSounds;
 
 
 
     public Board(String mapPath) {
-        super(mapPath);
+        this(mapPath, null);
+    }
+
+    /**
+     * @param mapPath path to .tmx map, or to a composite map, see {@link CompositeMapBuilder}. The rules are
+     *                loaded from {@link CompiledBoardCache}, or compiled from the loaded map the first time.
+     * @param assets  to take sounds from, or null to load sounds for this board only
+     */
+    public Board(String mapPath, GameAssets assets) {
+        this(mapPath, CompositeMapBuilder.load(mapPath, new TmxMapLoader()::load), assets);
+    }
+
+    private Board(String mapPath, TiledMap tiledMap, GameAssets assets) {
+        this(tiledMap, CompiledBoardCache.getDefault().load(mapPath, tiledMap), assets);
+    }
+
+    public Board(TiledMap tiledMap) {
+        this(tiledMap, BoardCompiler.compile(tiledMap), null);
+    }
+
+    private Board(TiledMap tiledMap, CompiledBoard compiled, GameAssets assets) {
+        super(tiledMap, compiled);
 
         this.players = new ArrayList<>();
-        this.scream = Gdx.audio.newSound(Gdx.files.internal("assets/Sound/WilhelmScream.mp3"));
-        this.robotCollide = Gdx.audio.newSound(Gdx.files.internal("assets/Sound/robotCollide.mp3"));
-        this.wall_Collision = Gdx.audio.newSound(Gdx.files.internal("assets/Sound/robotCollide.mp3"));
+        this.playerIndexes = new HashMap<>();
+        this.robotCells = new ArrayList<>();
+        this.occupancy = new int[boardWidth * boardHeight];
+        this.playersInCell = new int[boardWidth * boardHeight];
+        this.respawnSearch = new RespawnSearch(this, position -> getPlayerAt(position) != null, new Random());
+        this.laserCells = new BitSet(boardWidth * boardHeight);
+        this.ownsSounds = assets == null;
+        this.scream = getSound(assets, GameAssets.SCREAM_SOUND);
+        this.robotCollide = getSound(assets, GameAssets.ROBOT_COLLIDE_SOUND);
+        this.wall_Collision = getSound(assets, GameAssets.ROBOT_COLLIDE_SOUND);
+    }
+
+    private static Sound getSound(GameAssets assets, String path) {
+        return assets == null ? Gdx.audio.newSound(Gdx.files.internal(path)) : assets.getSound(path);
     }
 
     /**
-     * Get robot tile according to player direction
-     * @param player to get tile for
-     * @return {@link TiledMapTile} with robot
+     * Make the cells with the robot of a player facing each direction. The tileset of the robot color is
+     * looked up once, so moving a robot does not look up tiles or make new cells.
+     *
+     * @param player to make cells for
+     * @return cell for each {@link Direction}, by ordinal
      */
-    private TiledMapTile getRobotTile(Player player) {
-        System.out.println(player.getColor());
-        return tiledMap.getTileSets()
-                .getTileSet(player.getColor().toLowerCase().replace(" ", ""))
-                .getTile(player.getTileInt());
+    private TiledMapTileLayer.Cell[] makeRobotCells(Player player) {
+        TiledMapTileSet tileSet = tiledMap.getTileSets().getTileSet(player.getColor().toLowerCase().replace(" ", ""));
+        Direction[] directions = Direction.values();
+        TiledMapTileLayer.Cell[] cells = new TiledMapTileLayer.Cell[directions.length];
+        for (Direction direction : directions) {
+            cells[direction.ordinal()] = new TiledMapTileLayer.Cell();
+            cells[direction.ordinal()].setTile(tileSet.getTile(player.getTileInt(direction)));
+        }
+        return cells;
     }
 
     /**
@@ -51,39 +113,62 @@ public class Board extends BoardLayers {
      * @param player to add to game and board
      */
     public void addPlayer(Player player) {
-        TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
-        cell.setTile(getRobotTile(player));
-        playerLayer.setCell((int) player.getPosition().x, (int) player.getPosition().y, cell);
-        if (!players.contains(player)) {
+        Integer index = playerIndexes.get(player);
+        if (index == null) {
+            index = players.size();
+            playerIndexes.put(player, index);
             players.add(player);
+            robotCells.add(makeRobotCells(player));
+            player.setBoard(this);
+            occupy(index, player.getPosition());
         }
+        TiledMapTileLayer.Cell cell = robotCells.get(index)[player.getDirection().ordinal()];
+        playerLayer.setCell((int) player.getPosition().x, (int) player.getPosition().y, cell);
     }
 
-    public Vector2 getStartPosition(int number) {
-        for (int x = 0; x < groundLayer.getWidth(); x++) {
-            for (int y = 0; y < groundLayer.getHeight(); y++) {
-                TiledMapTileLayer.Cell cell = groundLayer.getCell(x, y);
-                int ID = cell.getTile().getId();
-                if (number == 1 && ID == TileID.START_POS1.getId()) {
-                    return new Vector2(x, y);
-                } else if (number == 2 && ID == TileID.START_POS2.getId()) {
-                    return new Vector2(x, y);
-                } else if (number == 3 && ID == TileID.START_POS3.getId()) {
-                    return new Vector2(x, y);
-                } else if (number == 4 && ID == TileID.START_POS4.getId()) {
-                    return new Vector2(x, y);
-                } else if (number == 5 && ID == TileID.START_POS5.getId()) {
-                    return new Vector2(x, y);
-                } else if (number == 6 && ID == TileID.START_POS6.getId()) {
-                    return new Vector2(x, y);
-                } else if (number == 7 && ID == TileID.START_POS7.getId()) {
-                    return new Vector2(x, y);
-                } else if (number == 8 && ID == TileID.START_POS8.getId()) {
-                    return new Vector2(x, y);
+    /**
+     * Move a player in the occupancy grid. Called by {@link Player#setPosition(Vector2)}.
+     *
+     * @param player      that moved
+     * @param oldPosition of player
+     */
+    public void updatePlayerPosition(Player player, Vector2 oldPosition) {
+        Integer index = playerIndexes.get(player);
+        if (index != null) {
+            vacate(index, oldPosition);
+            occupy(index, player.getPosition());
+        }
+    }
+
+    private void occupy(int index, Vector2 position) {
+        if (outsideBoard(position)) {
+            return;
+        }
+        int cell = (int) position.x + (int) position.y * boardWidth;
+        playersInCell[cell]++;
+        if (occupancy[cell] == 0 || index + 1 < occupancy[cell]) {
+            occupancy[cell] = index + 1;
+        }
+    }
+
+    private void vacate(int index, Vector2 position) {
+        if (outsideBoard(position)) {
+            return;
+        }
+        int cell = (int) position.x + (int) position.y * boardWidth;
+        playersInCell[cell]--;
+        if (playersInCell[cell] == 0) {
+            occupancy[cell] = 0;
+        } else if (occupancy[cell] == index + 1) {
+            // Several players in the same cell, find the next one
+            occupancy[cell] = 0;
+            for (int i = 0; i < players.size(); i++) {
+                if (players.get(i).getPosition().equals(position)) {
+                    occupancy[cell] = i + 1;
+                    break;
                 }
             }
         }
-        return null;
     }
 
     /**
@@ -112,6 +197,19 @@ public class Board extends BoardLayers {
             }
         }
         laserLayer.setCell((int) position.x, (int) position.y, cell);
+        if (!outsideBoard(position)) {
+            laserCells.set(cellIndex((int) position.x, (int) position.y));
+        }
+    }
+
+    /**
+     * Remove all lasers added with {@link #addLaser(Vector2, Direction)} from the laser layer.
+     */
+    public void removeLasers() {
+        for (int cell = laserCells.nextSetBit(0); cell >= 0; cell = laserCells.nextSetBit(cell + 1)) {
+            laserLayer.setCell(cell % boardWidth, cell / boardWidth, null);
+        }
+        laserCells.clear();
     }
 
     /**
@@ -133,55 +231,47 @@ public class Board extends BoardLayers {
     }
 
     /**
-     * Check if it is possible to move in the direction the player are facing.
-     * Check if player should and can push another player, if not return
-     * Remove player from board
-     * Update player position according to direction
-     * Add player to cell that corresponds to player position
+     * Move a player one step in the direction it is facing, or backwards.
+     * The move and the push of players in front of it are resolved by {@link TurnResolver}.
      *
      * @param player that is supposed to move
+     * @param backUp true to move backwards
      */
     public void movePlayer(Player player, boolean backUp) {
-        Vector2 position = player.getPosition();
         Direction direction = backUp ? player.getDirection().turnAround() : player.getDirection();
-
-        if (!canGo(position, direction)) {
+        if (!canGo(player.getPosition(), direction)) {
             wall_Collision.play(RallyGame.soundVolume);
             addPlayer(player);
             return;
         }
-        if (shouldPush(player, direction)) {
-            Player enemyPlayer = getPlayer(getNeighbourPosition(player.getPosition(), direction));
-            if (canPush(enemyPlayer, direction)) {
-                pushPlayer(enemyPlayer, direction);
-            } else {
-                addPlayer(player);
-                return;
+        ArrayList<Robot> robots = new ArrayList<>();
+        HashMap<Integer, Player> playersByNumber = new HashMap<>();
+        for (Player other : players) {
+            robots.add(new Robot(other));
+            playersByNumber.put(other.getPlayerNumber(), other);
+        }
+        // A player that is not on the board yet is added when it has moved
+        if (!playerIndexes.containsKey(player)) {
+            robots.add(new Robot(player));
+            playersByNumber.put(player.getPlayerNumber(), player);
+        }
+        TurnResolver resolver = new TurnResolver(this, robots);
+        resolver.moveRobot(resolver.getRobot(player.getPlayerNumber()), direction);
+        boolean moved = false;
+        // Pushed players come first, farthest first, so no player is moved into a cell that is not left yet
+        for (TurnEvent event : resolver.getEvents()) {
+            if (event.getType() == TurnEventType.MOVED || event.getType() == TurnEventType.PUSHED) {
+                Player moving = playersByNumber.get(event.getPlayerNumber());
+                removePlayerFromBoard(moving);
+                moving.setPosition(event.getPosition());
+                addPlayer(moving);
+                moving.setBeltPushDir(null);
+                moved = true;
             }
         }
-
-        removePlayerFromBoard(player);
-
-        switch (direction) {
-            case NORTH:
-                position.y++;
-                break;
-            case EAST:
-                position.x++;
-                break;
-            case WEST:
-                position.x--;
-                break;
-            case SOUTH:
-                position.y--;
-                break;
-            default:
-                break;
+        if (!moved) {
+            addPlayer(player);
         }
-
-        player.setPosition(position);
-        addPlayer(player);
-        player.setBeltPushDir(null);
     }
 
     /**
@@ -205,49 +295,10 @@ public class Board extends BoardLayers {
     }
 
     /**
-
-     * Get all neighbour cells for a position
-     * @param position to find neighbours from
-     * @return list of {@link Vector2} positions
-     */
-    public ArrayList<Vector2> getNeighbourhood(Vector2 position) {
-        ArrayList<Vector2> positions = new ArrayList<>();
-        for (int yi = -1; yi <= 1; yi++) {
-            for (int xi = -1; xi <= 1; xi++) {
-                int x = (int) (position.x + xi);
-                int y = (int) (position.y + yi);
-                if (x >= 0 && x < boardWidth && y >= 0 && y < boardHeight) {
-                    positions.add(new Vector2(x, y));
-                }
-            }
-        }
-        return positions;
-    }
-
-    /**
-     * @param position  to go from
-     * @param direction to go
-     * @return neighbour position in direction from position
+     * @return search for respawn positions around players on this board
      */
-    public Vector2 getNeighbourPosition(Vector2 position, Direction direction) {
-        Vector2 neighbourPosition = new Vector2(position);
-        switch (direction) {
-            case EAST:
-                neighbourPosition.x++;
-                break;
-            case WEST:
-                neighbourPosition.x--;
-                break;
-            case NORTH:
-                neighbourPosition.y++;
-                break;
-            case SOUTH:
-                neighbourPosition.y--;
-                break;
-            default:
-                break;
-        }
-        return neighbourPosition;
+    public RespawnSearch getRespawnSearch() {
+        return respawnSearch;
     }
 
     /**
@@ -257,12 +308,7 @@ public class Board extends BoardLayers {
      * @return true if position has player
      */
     public boolean hasPlayer(Vector2 position) {
-        for (Player enemyPlayer : players) {
-            if (enemyPlayer.getPosition().equals(position)) {
-                return true;
-            }
-        }
-        return false;
+        return getPlayer(position) != null;
     }
 
     /**
@@ -272,6 +318,10 @@ public class Board extends BoardLayers {
      * @return player in position
      */
     public Player getPlayer(Vector2 position) {
+        if (!outsideBoard(position)) {
+            int index = occupancy[(int) position.x + (int) position.y * boardWidth];
+            return index == 0 ? null : players.get(index - 1);
+        }
         for (Player enemyPlayer : players) {
             if (enemyPlayer.getPosition().equals(position)) {
                 return enemyPlayer;
@@ -305,41 +355,20 @@ public class Board extends BoardLayers {
         return players;
     }
 
-    public void dispose() {
-
-        wall_Collision.dispose();
-        tiledMap.dispose();
-    }
-
     /**
-     * Check respawn position according to RoboRally rules
-     *
-     * @param position  to check for respawn
-     * @param direction after respawn
-     * @return true of position is valid
+     * Play the sound of a robot driving into a wall
      */
-    public boolean validRespawnPosition(Vector2 position, Direction direction) {
-        Vector2 currPos = position;
-        for (int step = 0; step < 3; step++) {
-            if (hasPlayer(currPos)) {
-                return false;
-            }
-            currPos = getNeighbourPosition(currPos, direction);
-        }
-        return !hasHole(position);
+    public void playWallCollision() {
+        wall_Collision.play(RallyGame.soundVolume);
     }
 
-    /**
-     * Checks if a position is outside the map
-     *
-     * @param position the position to check
-     * @return true if the position is outside of the board
-     */
-    public boolean outsideBoard(Vector2 position) {
-        return position.x < 0 ||
-                position.x >= boardWidth ||
-                position.y < 0 ||
-                position.y >= boardHeight;
+    public void dispose() {
+        if (ownsSounds) {
+            scream.dispose();
+            robotCollide.dispose();
+            wall_Collision.dispose();
+        }
+        tiledMap.dispose();
     }
 
     /**
@@ -351,130 +380,6 @@ public class Board extends BoardLayers {
         return outsideBoard(player.getPosition()) || hasHole(player.getPosition());
     }
 
-    /**
-     * Checks if player moves on to a hole
-     *
-     * @param position that is checked
-     * @return true if the position contains a hole
-     */
-    public boolean hasHole(Vector2 position) {
-        for (Vector2 vector : getHoles()) {
-            if (vector.equals(position)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Tells if there is possible to move in the intended {@link Direction} direction
-     *
-     * @param position  to go from
-     * @param direction to go in
-     * @return true if there is no wall blocking the way
-     */
-    public boolean canGo(Vector2 position, Direction direction) {
-        TiledMapTileLayer.Cell cell = getWallLayer().getCell((int) position.x, (int) position.y);
-        TiledMapTileLayer.Cell northCell = getWallLayer().getCell((int) position.x, (int) position.y + 1);
-        TiledMapTileLayer.Cell southCell = getWallLayer().getCell((int) position.x, (int) position.y - 1);
-        TiledMapTileLayer.Cell eastCell = getWallLayer().getCell((int) position.x + 1, (int) position.y);
-        TiledMapTileLayer.Cell westCell = getWallLayer().getCell((int) position.x - 1, (int) position.y);
-
-        switch (direction) {
-            case NORTH:
-                if (hasNorthWall(cell) || hasSouthWall(northCell)) {
-                    return false;
-                }
-                break;
-            case SOUTH:
-                if (hasSouthWall(cell) || hasNorthWall(southCell)) {
-                    return false;
-                }
-                break;
-            case EAST:
-                if (hasEastWall(cell) || hasWestWall(eastCell)) {
-                    return false;
-                }
-                break;
-            case WEST:
-                if (hasWestWall(cell) || hasEastWall(westCell)) {
-                    return false;
-                }
-                break;
-            default:
-                break;
-        }
-        return true;
-    }
-
-    /**
-     * Checks is there is a wall to the west of a given {@link TiledMapTileLayer.Cell} cell}.
-     *
-     * @param cell to check for wall
-     * @return true if cell has a wall on west side
-     */
-    public boolean hasWestWall(TiledMapTileLayer.Cell cell) {
-        if (cell != null) {
-            int tileID = cell.getTile().getId();
-            return tileID == TileID.WEST_WALL.getId() ||
-                    tileID == TileID.NORTHWEST_WALL.getId() ||
-                    tileID == TileID.SOUTHWEST_WALL.getId() ||
-                    tileID == TileID.WEST_LASER_WALL.getId();
-        }
-        return false;
-    }
-
-    /**
-     * Checks is there is a wall to the east of a given {@link TiledMapTileLayer.Cell cell}.
-     *
-     * @param cell to check for wall
-     * @return true if cell has a wall on east side
-     */
-    public boolean hasEastWall(TiledMapTileLayer.Cell cell) {
-        if (cell != null) {
-            int tileID = cell.getTile().getId();
-            return tileID == TileID.EAST_WALL.getId() ||
-                    tileID == TileID.NORTHEAST_WALL.getId() ||
-                    tileID == TileID.SOUTHEAST_WALL.getId() ||
-                    tileID == TileID.EAST_LASER_WALL.getId();
-        }
-        return false;
-    }
-
-    /**
-     * Checks is there is a wall to the south of a given {@link TiledMapTileLayer.Cell cell}.
-     *
-     * @param cell to check for wall
-     * @return true if cell has a wall on south side
-     */
-    public boolean hasSouthWall(TiledMapTileLayer.Cell cell) {
-        if (cell != null) {
-            int tileID = cell.getTile().getId();
-            return tileID == TileID.SOUTH_WALL.getId() ||
-                    tileID == TileID.SOUTHWEST_WALL.getId() ||
-                    tileID == TileID.SOUTHEAST_WALL.getId() ||
-                    tileID == TileID.SOUTH_LASER_WALL.getId();
-        }
-        return false;
-    }
-
-    /**
-     * Checks is there is a wall to the north of a given {@link TiledMapTileLayer.Cell cell}.
-     *
-     * @param cell to check for wall
-     * @return true if cell has a wall on north side
-     */
-    public boolean hasNorthWall(TiledMapTileLayer.Cell cell) {
-        if (cell != null) {
-            int tileID = cell.getTile().getId();
-            return tileID == TileID.NORTH_WALL.getId() ||
-                    tileID == TileID.NORTHWEST_WALL.getId() ||
-                    tileID == TileID.NORTHEAST_WALL.getId() ||
-                    tileID == TileID.NORTH_LASER_WALL.getId();
-        }
-        return false;
-    }
-
     /**
      * Check if the moving player should try to push another player
      *
@@ -486,63 +391,19 @@ public class Board extends BoardLayers {
     }
 
     /**
-     * Push all players in a row
-     * Remove player from board
-     * Update player position according to direction
-     * Add player to cell that corresponds to player position
-     *
-     * @param player    that should be pushed
-     * @param direction to push player in
+     * @param position packed with {@link GridPos}
+     * @return player in position, or null
      */
-    public void pushPlayer(Player player, Direction direction) {
-        player.setBeltPushDir(null);
-        if (hasPlayer(getNeighbourPosition(player.getPosition(), direction))) {
-            pushPlayer(getPlayer(getNeighbourPosition(player.getPosition(), direction)), direction);
+    private Player getPlayerAt(int position) {
+        if (!outsideBoard(position)) {
+            int index = occupancy[cellIndex(position)];
+            return index == 0 ? null : players.get(index - 1);
         }
-        removePlayerFromBoard(player);
-        switch (direction) {
-            case SOUTH:
-                player.setPosition(new Vector2(player.getPosition().x, player.getPosition().y - 1));
-                break;
-            case WEST:
-                player.setPosition(new Vector2(player.getPosition().x - 1, player.getPosition().y));
-                break;
-            case EAST:
-                player.setPosition(new Vector2(player.getPosition().x + 1, player.getPosition().y));
-                break;
-            case NORTH:
-                player.setPosition(new Vector2(player.getPosition().x, player.getPosition().y + 1));
-                break;
-            default:
-                break;
-        }
-        addPlayer(player);
-        player.setBeltPushDir(null);
-    }
-
-    /**
-     * Checks if there is possible to push a player.
-     *
-     * @param player    that should be pushed
-     * @param direction to push in
-     * @return true if it is possible to push all enemies in a row.
-     */
-    public boolean canPush(Player player, Direction direction) {
-        if (hasPlayer(getNeighbourPosition(player.getPosition(), direction))) {
-            return canGo(player.getPosition(), direction) &&
-                    canPush(getPlayer(getNeighbourPosition(player.getPosition(), direction)), direction);
+        for (Player player : players) {
+            if (GridPos.of(player.getPosition()) == position) {
+                return player;
+            }
         }
-        return canGo(player.getPosition(), direction);
-    }
-
-    /**
-     * Checks if there is possible to fire in the direction and position
-     *
-     * @param position  the tile in question.
-     * @param direction the way the fire is happening
-     * @return true if {@link #canGo(Vector2, Direction) canGo} is true and if not {@link #outsideBoard(Vector2) outsideBoard} is true.
-     */
-    public boolean canFire(Vector2 position, Direction direction) {
-        return canGo(position, direction) && !outsideBoard(getNeighbourPosition(position, direction));
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,426 @@
+package inf112.skeleton.app.board;
+
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.enums.Rotate;
+import inf112.skeleton.app.enums.TileID;
+
+import java.util.Arrays;
+
+/**
+ * Compiles the layers of a map into a {@link CompiledBoard}, reading each layer exactly once.
+ *
+ * What a tile means is looked up in a table with one entry per tile id, built once from {@link TileID}.
+ * Each entry packs the meaning of the tile into the bits of an int, so a new kind of tile is a new line in
+ * {@link #buildTable()} and not another if/else chain.
+ *
+ * Tiles can be turned or flipped in the map, as Tiled does with rotated tiles and {@link CompositeMapBuilder}
+ * does with turned sections. The direction of belts, walls and lasers is turned and flipped with the tile.
+ *
+ * Start positions 1 to 8 are the numbered start tiles in the Ground layer. A map that needs more can add a
+ * tile layer named Start instead: every tile in it is a start position, numbered row by row from the top
+ * left of the map as it is shown in Tiled, and the start tiles in the Ground layer are not used.
+ */
+public final class BoardCompiler {
+
+    // Bits of a table entry. The lowest six bits are the same as in CompiledBoard.elements
+    static final int BELT_MASK = 0x7;
+    static final int EXPRESS_BIT = 0x8;
+    static final int ROTATE_SHIFT = 4;
+    static final int ROTATE_MASK = 0x3 << ROTATE_SHIFT;
+    private static final int ELEMENT_MASK = BELT_MASK | EXPRESS_BIT | ROTATE_MASK;
+    private static final int HOLE_BIT = 1 << 6;
+    private static final int REPAIR_SHIFT = 7;
+    private static final int REPAIR_MASK = 0x3 << REPAIR_SHIFT;
+    private static final int FLAG_SHIFT = 9;
+    private static final int FLAG_MASK = 0x7 << FLAG_SHIFT;
+    private static final int START_SHIFT = 12;
+    private static final int START_MASK = 0xF << START_SHIFT;
+    private static final int WALL_SHIFT = 16;
+    private static final int WALL_MASK = 0xF << WALL_SHIFT;
+    private static final int LASER_SHIFT = 20;
+    private static final int LASER_MASK = 0x7 << LASER_SHIFT;
+
+    private static final int MAX_START_NUMBER = 8;
+
+    private static final int[] TABLE = buildTable();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private BoardCompiler() {
+    }
+
+    /**
+     * @return meaning of each tile id
+     */
+    private static int[] buildTable() {
+        int maxId = 0;
+        for (TileID tile : TileID.values()) {
+            maxId = Math.max(maxId, tile.getId());
+        }
+        int[] table = new int[maxId + 1];
+
+        define(table, TileID.START_POS1, start(1));
+        define(table, TileID.START_POS2, start(2));
+        define(table, TileID.START_POS3, start(3));
+        define(table, TileID.START_POS4, start(4));
+        define(table, TileID.START_POS5, start(5));
+        define(table, TileID.START_POS6, start(6));
+        define(table, TileID.START_POS7, start(7));
+        define(table, TileID.START_POS8, start(8));
+
+        define(table, TileID.EAST_WALL, wall(Direction.EAST));
+        define(table, TileID.SOUTH_WALL, wall(Direction.SOUTH));
+        define(table, TileID.WEST_WALL, wall(Direction.WEST));
+        define(table, TileID.NORTH_WALL, wall(Direction.NORTH));
+        define(table, TileID.SOUTHEAST_WALL, wall(Direction.SOUTH) | wall(Direction.EAST));
+        define(table, TileID.NORTHEAST_WALL, wall(Direction.NORTH) | wall(Direction.EAST));
+        define(table, TileID.NORTHWEST_WALL, wall(Direction.NORTH) | wall(Direction.WEST));
+        define(table, TileID.SOUTHWEST_WALL, wall(Direction.SOUTH) | wall(Direction.WEST));
+
+        // A laser is mounted on a wall and fires away from it
+        define(table, TileID.EAST_LASER_WALL, wall(Direction.EAST) | laser(Direction.WEST));
+        define(table, TileID.WEST_LASER_WALL, wall(Direction.WEST) | laser(Direction.EAST));
+        define(table, TileID.NORTH_LASER_WALL, wall(Direction.NORTH) | laser(Direction.SOUTH));
+        define(table, TileID.SOUTH_LASER_WALL, wall(Direction.SOUTH) | laser(Direction.NORTH));
+
+        define(table, TileID.NORMAL_HOLE, HOLE_BIT);
+        define(table, TileID.NORMAL_HOLE2, HOLE_BIT);
+        define(table, TileID.NORTHWEST_HOLE, HOLE_BIT);
+        define(table, TileID.NORTH_HOLE, HOLE_BIT);
+        define(table, TileID.NORTHEAST_HOLE, HOLE_BIT);
+        define(table, TileID.EAST_HOLE, HOLE_BIT);
+        define(table, TileID.NORTH_EAST_SOUTH_HOLE, HOLE_BIT);
+        define(table, TileID.WEST_EAST_SOUTH_HOLE, HOLE_BIT);
+        define(table, TileID.SOUTHWEST_HOLE, HOLE_BIT);
+        define(table, TileID.SOUTH_HOLE, HOLE_BIT);
+        define(table, TileID.SOUTHEAST_HOLE, HOLE_BIT);
+        define(table, TileID.WEST_HOLE, HOLE_BIT);
+        define(table, TileID.NORTH_WEST_SOUTH_HOLE, HOLE_BIT);
+        define(table, TileID.NORTH_WEST_EAST_HOLE, HOLE_BIT);
+
+        define(table, TileID.ROTATE_PAD_LEFT, rotatePad(Rotate.LEFT));
+        define(table, TileID.ROTATE_PAD_RIGHT, rotatePad(Rotate.RIGHT));
+
+        define(table, TileID.WRENCH, repair(1));
+        define(table, TileID.DOUBLE_WRENCH, repair(2));
+
+        define(table, TileID.FLAG_1, flag(1));
+        define(table, TileID.FLAG_2, flag(2));
+        define(table, TileID.FLAG_3, flag(3));
+        define(table, TileID.FLAG_4, flag(4));
+
+        define(table, TileID.EAST_TO_SOUTH_BELT, belt(Direction.SOUTH));
+        define(table, TileID.NORTH_TO_EAST_BELT, belt(Direction.EAST));
+        define(table, TileID.WEST_TO_NORTH_BELT, belt(Direction.NORTH));
+        define(table, TileID.SOUTH_TO_WEST_BELT, belt(Direction.WEST));
+        define(table, TileID.EAST_TO_NORTH_BELT, belt(Direction.NORTH));
+        define(table, TileID.NORTH_TO_WEST_BELT, belt(Direction.WEST));
+        define(table, TileID.WEST_TO_SOUTH_BELT, belt(Direction.SOUTH));
+        define(table, TileID.SOUTH_TO_EAST_BELT, belt(Direction.EAST));
+        define(table, TileID.EAST_TO_WEST_BELT, belt(Direction.WEST));
+        define(table, TileID.NORTH_TO_SOUTH_BELT, belt(Direction.SOUTH));
+        define(table, TileID.WEST_TO_EAST_BELT, belt(Direction.EAST));
+        define(table, TileID.SOUTH_TO_NORTH_BELT, belt(Direction.NORTH));
+        define(table, TileID.WESTSOUTH_TO_NORTH_BELT, belt(Direction.NORTH));
+        define(table, TileID.EASTSOUTH_TO_NORTH_BELT, belt(Direction.NORTH));
+        define(table, TileID.WESTEAST_TO_NORTH_BELT, belt(Direction.NORTH));
+        define(table, TileID.WESTNORTH_TO_SOUTH_BELT, belt(Direction.SOUTH));
+        define(table, TileID.EASTNORTH_TO_SOUTH_BELT, belt(Direction.SOUTH));
+        define(table, TileID.WESTEAST_TO_SOUTH_BELT, belt(Direction.SOUTH));
+        define(table, TileID.WESTSOUTH_TO_EAST_BELT, belt(Direction.EAST));
+        define(table, TileID.WESTNORTH_TO_EAST_BELT, belt(Direction.EAST));
+        define(table, TileID.NORTHSOUTH_TO_EAST_BELT, belt(Direction.EAST));
+        define(table, TileID.EASTSOUTH_TO_WEST_BELT, belt(Direction.WEST));
+        define(table, TileID.EASTNORTH_TO_WEST_BELT, belt(Direction.WEST));
+        define(table, TileID.NORTHSOUTH_TO_WEST_BELT, belt(Direction.WEST));
+
+        define(table, TileID.EAST_TO_SOUTH_EXPRESS_BELT, expressBelt(Direction.SOUTH));
+        define(table, TileID.NORTH_TO_EAST_EXPRESS_BELT, expressBelt(Direction.EAST));
+        define(table, TileID.WEST_TO_NORTH_EXPRESS_BELT, expressBelt(Direction.NORTH));
+        define(table, TileID.SOUTH_TO_WEST_EXPRESS_BELT, expressBelt(Direction.WEST));
+        define(table, TileID.EAST_TO_NORTH_EXPRESS_BELT, expressBelt(Direction.NORTH));
+        define(table, TileID.NORTH_TO_WEST_EXPRESS_BELT, expressBelt(Direction.WEST));
+        define(table, TileID.WEST_TO_SOUTH_EXPRESS_BELT, expressBelt(Direction.SOUTH));
+        define(table, TileID.SOUTH_TO_EAST_EXPRESS_BELT, expressBelt(Direction.EAST));
+        define(table, TileID.EAST_TO_WEST_EXPRESS_BELT, expressBelt(Direction.WEST));
+        define(table, TileID.NORTH_TO_SOUTH_EXPRESS_BELT, expressBelt(Direction.SOUTH));
+        define(table, TileID.WEST_TO_EAST_EXPRESS_BELT, expressBelt(Direction.EAST));
+        define(table, TileID.SOUTH_TO_NORTH_EXPRESS_BELT, expressBelt(Direction.NORTH));
+        define(table, TileID.WESTSOUTH_TO_NORTH_EXPRESS_BELT, expressBelt(Direction.NORTH));
+        define(table, TileID.EASTSOUTH_TO_NORTH_EXPRESS_BELT, expressBelt(Direction.NORTH));
+        define(table, TileID.WESTEAST_TO_NORTH_EXPRESS_BELT, expressBelt(Direction.NORTH));
+        define(table, TileID.WESTNORTH_TO_SOUTH_EXPRESS_BELT, expressBelt(Direction.SOUTH));
+        define(table, TileID.EASTNORTH_TO_SOUTH_EXPRESS_BELT, expressBelt(Direction.SOUTH));
+        define(table, TileID.WESTEAST_TO_SOUTH_EXPRESS_BELT, expressBelt(Direction.SOUTH));
+        define(table, TileID.WESTSOUTH_TO_EAST_EXPRESS_BELT, expressBelt(Direction.EAST));
+        define(table, TileID.WESTNORTH_TO_EAST_EXPRESS_BELT, expressBelt(Direction.EAST));
+        define(table, TileID.NORTHSOUTH_TO_EAST_EXPRESS_BELT, expressBelt(Direction.EAST));
+        define(table, TileID.EASTSOUTH_TO_WEST_EXPRESS_BELT, expressBelt(Direction.WEST));
+        define(table, TileID.EASTNORTH_TO_WEST_EXPRESS_BELT, expressBelt(Direction.WEST));
+        define(table, TileID.NORTHSOUTH_TO_WEST_EXPRESS_BELT, expressBelt(Direction.WEST));
+        return table;
+    }
+
+    private static void define(int[] table, TileID tile, int meaning) {
+        table[tile.getId()] = meaning;
+    }
+
+    private static int belt(Direction direction) {
+        return direction.ordinal() + 1;
+    }
+
+    private static int expressBelt(Direction direction) {
+        return belt(direction) | EXPRESS_BIT;
+    }
+
+    private static int rotatePad(Rotate rotate) {
+        return (rotate.ordinal() + 1) << ROTATE_SHIFT;
+    }
+
+    private static int repair(int wrenches) {
+        return wrenches << REPAIR_SHIFT;
+    }
+
+    private static int flag(int number) {
+        return number << FLAG_SHIFT;
+    }
+
+    private static int start(int number) {
+        return number << START_SHIFT;
+    }
+
+    private static int wall(Direction side) {
+        return wallBit(side) << WALL_SHIFT;
+    }
+
+    private static int laser(Direction direction) {
+        return (direction.ordinal() + 1) << LASER_SHIFT;
+    }
+
+    /**
+     * @param tileId id of a tile in the map
+     * @return meaning of the tile, 0 for tiles without any rules
+     */
+    private static int lookup(int tileId) {
+        return tileId >= 0 && tileId < TABLE.length ? TABLE[tileId] : 0;
+    }
+
+    private static int lookup(TiledMapTileLayer.Cell cell) {
+        if (cell == null || cell.getTile() == null) {
+            return 0;
+        }
+        int meaning = lookup(cell.getTile().getId());
+        if (meaning == 0 || cell.getRotation() == 0 && !cell.getFlipHorizontally() && !cell.getFlipVertically()) {
+            return meaning;
+        }
+        return orient(meaning, cell);
+    }
+
+    /**
+     * @param meaning of a tile as it is in the tileset
+     * @param cell    the tile is turned or flipped in
+     * @return meaning of the tile as it is shown in the cell
+     */
+    private static int orient(int meaning, TiledMapTileLayer.Cell cell) {
+        int belt = meaning & BELT_MASK;
+        if (belt != 0) {
+            meaning = meaning & ~BELT_MASK | belt(orient(DIRECTIONS[belt - 1], cell));
+        }
+        int laser = (meaning & LASER_MASK) >> LASER_SHIFT;
+        if (laser != 0) {
+            meaning = meaning & ~LASER_MASK | laser(orient(DIRECTIONS[laser - 1], cell));
+        }
+        int walls = (meaning & WALL_MASK) >> WALL_SHIFT;
+        if (walls != 0) {
+            meaning &= ~WALL_MASK;
+            for (Direction side : DIRECTIONS) {
+                if ((walls & wallBit(side)) != 0) {
+                    meaning |= wall(orient(side, cell));
+                }
+            }
+        }
+        int rotate = (meaning & ROTATE_MASK) >> ROTATE_SHIFT;
+        if (rotate != 0 && cell.getFlipHorizontally() != cell.getFlipVertically()) {
+            // A mirrored rotate pad turns the other way
+            Rotate mirrored = Rotate.values()[rotate - 1] == Rotate.LEFT ? Rotate.RIGHT : Rotate.LEFT;
+            meaning = meaning & ~ROTATE_MASK | rotatePad(mirrored);
+        }
+        return meaning;
+    }
+
+    /**
+     * Flip, then turn counterclockwise, the same way tiles are drawn.
+     */
+    private static Direction orient(Direction direction, TiledMapTileLayer.Cell cell) {
+        boolean horizontal = direction == Direction.EAST || direction == Direction.WEST;
+        if (cell.getFlipHorizontally() && horizontal || cell.getFlipVertically() && !horizontal) {
+            direction = direction.turnAround();
+        }
+        for (int turn = 0; turn < cell.getRotation(); turn++) {
+            direction = direction.turnLeft();
+        }
+        return direction;
+    }
+
+    /**
+     * @param cell in the wall layer, may be null
+     * @return walls of the cell as bits from {@link #wallBit(Direction)}
+     */
+    static int getWalls(TiledMapTileLayer.Cell cell) {
+        return (lookup(cell) & WALL_MASK) >> WALL_SHIFT;
+    }
+
+    /**
+     * @param direction of wall
+     * @return bit for a wall on this side of a cell in {@link CompiledBoard#walls}
+     */
+    static int wallBit(Direction direction) {
+        switch (direction) {
+            case NORTH:
+                return 1;
+            case EAST:
+                return 2;
+            case SOUTH:
+                return 4;
+            case WEST:
+                return 8;
+            default:
+                return 0;
+        }
+    }
+
+    // COMPILE
+
+    /**
+     * The compiled grids are flat arrays in row order, also for composite maps. Each lookup is one array
+     * index whatever the size of the board, and even a board of several hundred cells along each side
+     * fits in a few megabytes.
+     *
+     * @param tiledMap with the layers Ground, Wall and Flag
+     * @return the static rules of the map
+     */
+    public static CompiledBoard compile(TiledMap tiledMap) {
+        MapProperties properties = tiledMap.getProperties();
+        CompiledBoard board = new CompiledBoard(properties.get("width", Integer.class),
+                properties.get("height", Integer.class), MAX_START_NUMBER);
+        compileGround(board, (TiledMapTileLayer) tiledMap.getLayers().get("Ground"));
+        compileFlags(board, (TiledMapTileLayer) tiledMap.getLayers().get("Flag"));
+        compileWalls(board, (TiledMapTileLayer) tiledMap.getLayers().get("Wall"));
+        TiledMapTileLayer startLayer = (TiledMapTileLayer) tiledMap.getLayers().get("Start");
+        if (startLayer != null) {
+            compileStarts(board, startLayer);
+        }
+        return board;
+    }
+
+    /**
+     * Number every tile in the Start layer, row by row from the top left.
+     */
+    private static void compileStarts(CompiledBoard board, TiledMapTileLayer layer) {
+        int[] startCells = new int[board.width * board.height + 1];
+        int starts = 0;
+        for (int y = board.height - 1; y >= 0; y--) {
+            for (int x = 0; x < board.width; x++) {
+                TiledMapTileLayer.Cell cell = layer.getCell(x, y);
+                if (cell != null && cell.getTile() != null) {
+                    startCells[++starts] = x + y * board.width;
+                }
+            }
+        }
+        startCells[0] = -1;
+        board.startCells = Arrays.copyOf(startCells, starts + 1);
+    }
+
+    private static void compileGround(CompiledBoard board, TiledMapTileLayer layer) {
+        // Column by column, so the first start position found for a number is the one the board always used
+        for (int x = 0; x < board.width; x++) {
+            for (int y = 0; y < board.height; y++) {
+                int meaning = lookup(layer.getCell(x, y));
+                if (meaning == 0) {
+                    continue;
+                }
+                int cell = x + y * board.width;
+                board.elements[cell] = (byte) (meaning & ELEMENT_MASK);
+                if ((meaning & HOLE_BIT) != 0) {
+                    board.holes.set(cell);
+                }
+                int wrenches = (meaning & REPAIR_MASK) >> REPAIR_SHIFT;
+                if (wrenches > 0) {
+                    board.repairs.set(cell);
+                }
+                if (wrenches > 1) {
+                    board.doubleRepairs.set(cell);
+                }
+                int start = (meaning & START_MASK) >> START_SHIFT;
+                if (start > 0 && board.startCells[start] == -1) {
+                    board.startCells[start] = cell;
+                }
+            }
+        }
+    }
+
+    private static void compileFlags(CompiledBoard board, TiledMapTileLayer layer) {
+        for (int y = 0; y < board.height; y++) {
+            for (int x = 0; x < board.width; x++) {
+                int meaning = lookup(layer.getCell(x, y));
+                board.flagNumbers[x + y * board.width] = (byte) ((meaning & FLAG_MASK) >> FLAG_SHIFT);
+            }
+        }
+    }
+
+    /**
+     * Read the walls of each cell, then add the walls on the edge of neighbour cells and the edge of the
+     * board from the compiled walls, without reading the layer again.
+     */
+    private static void compileWalls(CompiledBoard board, TiledMapTileLayer layer) {
+        int width = board.width;
+        int height = board.height;
+        byte[] ownWalls = new byte[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int meaning = lookup(layer.getCell(x, y));
+                int cell = x + y * width;
+                ownWalls[cell] = (byte) ((meaning & WALL_MASK) >> WALL_SHIFT);
+                board.laserDirections[cell] = (byte) ((meaning & LASER_MASK) >> LASER_SHIFT);
+            }
+        }
+        int north = wallBit(Direction.NORTH);
+        int south = wallBit(Direction.SOUTH);
+        int east = wallBit(Direction.EAST);
+        int west = wallBit(Direction.WEST);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int cell = x + y * width;
+                int walls = ownWalls[cell];
+                if (y < height - 1 && (ownWalls[cell + width] & south) != 0) {
+                    walls |= north;
+                }
+                if (y > 0 && (ownWalls[cell - width] & north) != 0) {
+                    walls |= south;
+                }
+                if (x < width - 1 && (ownWalls[cell + 1] & west) != 0) {
+                    walls |= east;
+                }
+                if (x > 0 && (ownWalls[cell - 1] & east) != 0) {
+                    walls |= west;
+                }
+                int fireBlocked = walls;
+                if (y == height - 1) {
+                    fireBlocked |= north;
+                }
+                if (y == 0) {
+                    fireBlocked |= south;
+                }
+                if (x == width - 1) {
+                    fireBlocked |= east;
+                }
+                if (x == 0) {
+                    fireBlocked |= west;
+                }
+                board.walls[cell] = (byte) (walls | fireBlocked << 4);
+            }
+        }
+    }
+}
@@ -1,19 +1,18 @@
 package inf112.skeleton.app.board;
 
-import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.math.Vector2;
 import inf112.skeleton.app.enums.Direction;
 import inf112.skeleton.app.enums.Rotate;
-import inf112.skeleton.app.enums.TileID;
 import inf112.skeleton.app.objects.Belt;
 import inf112.skeleton.app.objects.Flag;
 import inf112.skeleton.app.objects.Laser;
 import inf112.skeleton.app.objects.RotatePad;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 
 public abstract class BoardLayers {
 
@@ -36,18 +35,70 @@ public abstract class BoardLayers {
     protected final int boardWidth;
     protected final int boardHeight;
 
+    /**
+     * Static rules of the map, one array per feature, see {@link CompiledBoard}.
+     */
+    protected final CompiledBoard compiled;
+    protected final byte[] walls;
+    protected final byte[] elements;
+    protected final BitSet holeCells;
+    protected final BitSet repairCells;
+    protected final BitSet doubleRepairCells;
+    protected final byte[] flagNumbers;
+
+    /**
+     * Number of cells a laser fired out of each cell can pass through before a wall or the edge of the board
+     * stops it, at index direction.ordinal() * width * height + x + y * width.
+     */
+    protected final short[] fireReach;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Rotate[] ROTATIONS = Rotate.values();
+
+    /**
+     * @param mapPath path to .tmx map, or to a composite map, see {@link CompositeMapBuilder}
+     */
     public BoardLayers(String mapPath) {
-        this.tiledMap = new TmxMapLoader().load(mapPath);
+        this(mapPath, CompositeMapBuilder.load(mapPath, new TmxMapLoader()::load));
+    }
+
+    private BoardLayers(String mapPath, TiledMap tiledMap) {
+        this(tiledMap, CompiledBoardCache.getDefault().load(mapPath, tiledMap));
+    }
 
-        this.playerLayer = (TiledMapTileLayer) tiledMap.getLayers().get("Player");
-        this.flagLayer = (TiledMapTileLayer) tiledMap.getLayers().get("Flag");
-        this.laserLayer = (TiledMapTileLayer) tiledMap.getLayers().get("Laser");
-        this.wallLayer = (TiledMapTileLayer) tiledMap.getLayers().get("Wall");
-        this.groundLayer = (TiledMapTileLayer) tiledMap.getLayers().get("Ground");
+    /**
+     * Find all objects on an already loaded map.
+     *
+     * @param tiledMap with the layers Ground, Laser, Wall, Flag and Player
+     */
+    public BoardLayers(TiledMap tiledMap) {
+        this(tiledMap, BoardCompiler.compile(tiledMap));
+    }
 
-        MapProperties properties = tiledMap.getProperties();
-        boardWidth = properties.get("width", Integer.class);
-        boardHeight = properties.get("height", Integer.class);
+    /**
+     * Find all objects on a map that is already compiled, e.g. by {@link CompiledBoardCache}.
+     *
+     * @param tiledMap the board was compiled from, or null for a board with only rules and no layers
+     * @param compiled static rules of the map
+     */
+    protected BoardLayers(TiledMap tiledMap, CompiledBoard compiled) {
+        this.tiledMap = tiledMap;
+
+        this.playerLayer = getLayer(tiledMap, "Player");
+        this.flagLayer = getLayer(tiledMap, "Flag");
+        this.laserLayer = getLayer(tiledMap, "Laser");
+        this.wallLayer = getLayer(tiledMap, "Wall");
+        this.groundLayer = getLayer(tiledMap, "Ground");
+
+        this.compiled = compiled;
+        this.boardWidth = compiled.width;
+        this.boardHeight = compiled.height;
+        this.walls = compiled.walls;
+        this.elements = compiled.elements;
+        this.holeCells = compiled.holes;
+        this.repairCells = compiled.repairs;
+        this.doubleRepairCells = compiled.doubleRepairs;
+        this.flagNumbers = compiled.flagNumbers;
 
         this.holes = new ArrayList<>();
         this.rotatePads = new ArrayList<>();
@@ -56,279 +107,388 @@ public abstract class BoardLayers {
         this.belts = new ArrayList<>();
         this.expressBelts = new ArrayList<>();
         this.repairTiles = new ArrayList<>();
+        this.fireReach = new short[DIRECTIONS.length * boardWidth * boardHeight];
+        findObjects();
+        findFireReach();
+    }
 
-        findFlags();
-        findBelts();
-        findRotatePads();
-        findExpressBelts();
-        findHoles();
-        findLasers();
-        findRepairs();
+    private static TiledMapTileLayer getLayer(TiledMap tiledMap, String name) {
+        return tiledMap == null ? null : (TiledMapTileLayer) tiledMap.getLayers().get(name);
     }
 
     // FIND OBJECTS
 
-    public void findBelts() {
-        for (int x = 0; x < groundLayer.getWidth(); x++) {
-            for (int y = 0; y < groundLayer.getHeight(); y++) {
-                TiledMapTileLayer.Cell cell = groundLayer.getCell(x, y);
-                int ID = cell.getTile().getId();
-
-                if (ID == TileID.EAST_TO_SOUTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.NORTH_TO_EAST_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.WEST_TO_NORTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.SOUTH_TO_WEST_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                } else if (ID == TileID.EAST_TO_NORTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.NORTH_TO_WEST_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                } else if (ID == TileID.WEST_TO_SOUTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.SOUTH_TO_EAST_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.EAST_TO_WEST_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                } else if (ID == TileID.NORTH_TO_SOUTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.WEST_TO_EAST_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.SOUTH_TO_NORTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.WESTSOUTH_TO_NORTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.EASTSOUTH_TO_NORTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.WESTEAST_TO_NORTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.WESTNORTH_TO_SOUTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.EASTNORTH_TO_SOUTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.WESTEAST_TO_SOUTH_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.WESTSOUTH_TO_EAST_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.WESTNORTH_TO_EAST_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.NORTHSOUTH_TO_EAST_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.EASTSOUTH_TO_WEST_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                } else if (ID == TileID.EASTNORTH_TO_WEST_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                } else if (ID == TileID.NORTHSOUTH_TO_WEST_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
+    /**
+     * Make the objects on the board from the compiled map, column by column.
+     */
+    private void findObjects() {
+        for (int x = 0; x < boardWidth; x++) {
+            for (int y = 0; y < boardHeight; y++) {
+                int cell = cellIndex(x, y);
+                Direction beltDirection = getBeltDirection(x, y);
+                if (beltDirection != null && (elements[cell] & BoardCompiler.EXPRESS_BIT) != 0) {
+                    expressBelts.add(new Belt(beltDirection, new Vector2(x, y)));
+                } else if (beltDirection != null) {
+                    belts.add(new Belt(beltDirection, new Vector2(x, y)));
+                }
+                Rotate rotation = getRotation(x, y);
+                if (rotation != null) {
+                    rotatePads.add(new RotatePad(rotation, new Vector2(x, y)));
+                }
+                if (holeCells.get(cell)) {
+                    holes.add(new Vector2(x, y));
+                }
+                if (repairCells.get(cell)) {
+                    repairTiles.add(new Vector2(x, y));
+                }
+                if (flagNumbers[cell] > 0) {
+                    flags.add(new Flag(flagNumbers[cell], x, y));
+                }
+                if (compiled.laserDirections[cell] > 0) {
+                    Direction direction = DIRECTIONS[compiled.laserDirections[cell] - 1];
+                    lasers.add(new Laser(x, y, direction, traceBeam(x, y, direction)));
                 }
             }
         }
     }
 
-    public void findExpressBelts() {
-        for (int x = 0; x < groundLayer.getWidth(); x++) {
-            for (int y = 0; y < groundLayer.getHeight(); y++) {
-                TiledMapTileLayer.Cell cell = groundLayer.getCell(x, y);
-                int ID = cell.getTile().getId();
-
-                if (ID == TileID.EAST_TO_SOUTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.NORTH_TO_EAST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.WEST_TO_NORTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.SOUTH_TO_WEST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                } else if (ID == TileID.EAST_TO_NORTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.NORTH_TO_WEST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                } else if (ID == TileID.WEST_TO_SOUTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.SOUTH_TO_EAST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.EAST_TO_WEST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                } else if (ID == TileID.NORTH_TO_SOUTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.WEST_TO_EAST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.SOUTH_TO_NORTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.WESTSOUTH_TO_NORTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.EASTSOUTH_TO_NORTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.WESTEAST_TO_NORTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.NORTH, new Vector2(x, y)));
-                } else if (ID == TileID.WESTNORTH_TO_SOUTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.EASTNORTH_TO_SOUTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.WESTEAST_TO_SOUTH_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.SOUTH, new Vector2(x, y)));
-                } else if (ID == TileID.WESTSOUTH_TO_EAST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.WESTNORTH_TO_EAST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.NORTHSOUTH_TO_EAST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.EAST, new Vector2(x, y)));
-                } else if (ID == TileID.EASTSOUTH_TO_WEST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                } else if (ID == TileID.EASTNORTH_TO_WEST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                } else if (ID == TileID.NORTHSOUTH_TO_WEST_EXPRESS_BELT.getId()) {
-                    belts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                    expressBelts.add(new Belt(Direction.WEST, new Vector2(x, y)));
-                }
-            }
+    /**
+     * @param x         where the beam starts
+     * @param y         where the beam starts
+     * @param direction of the beam
+     * @return cells the beam passes through until a wall or the edge of the board stops it
+     */
+    private int[] traceBeam(int x, int y, Direction direction) {
+        int length = 1;
+        Vector2 position = new Vector2(x, y);
+        while (canFire(position, direction)) {
+            position = getNeighbourPosition(position, direction);
+            length++;
+        }
+        int[] beam = new int[length];
+        position.set(x, y);
+        for (int i = 0; i < length; i++) {
+            beam[i] = cellIndex((int) position.x, (int) position.y);
+            position = getNeighbourPosition(position, direction);
         }
+        return beam;
     }
 
-    public void findHoles() {
-        for (int x = 0; x < groundLayer.getWidth(); x++) {
-            for (int y = 0; y < groundLayer.getHeight(); y++) {
-                TiledMapTileLayer.Cell cell = groundLayer.getCell(x, y);
-                int ID = cell.getTile().getId();
-
-                if (ID == TileID.NORMAL_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.NORMAL_HOLE2.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.NORTHWEST_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.NORTH_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.NORTHEAST_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.EAST_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.NORTH_EAST_SOUTH_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.WEST_EAST_SOUTH_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.SOUTHWEST_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.SOUTH_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.SOUTHEAST_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.WEST_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.NORTH_WEST_SOUTH_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
-                } else if (ID == TileID.NORTH_WEST_EAST_HOLE.getId()) {
-                    holes.add(new Vector2(x, y));
+    /**
+     * Fill {@link #fireReach}, starting with the cells furthest along each direction, so the reach of the
+     * next cell is known when a cell is reached.
+     */
+    private void findFireReach() {
+        int cells = boardWidth * boardHeight;
+        for (Direction direction : DIRECTIONS) {
+            int dx = direction == Direction.EAST ? 1 : direction == Direction.WEST ? -1 : 0;
+            int dy = direction == Direction.NORTH ? 1 : direction == Direction.SOUTH ? -1 : 0;
+            int offset = direction.ordinal() * cells;
+            for (int i = 0; i < boardWidth; i++) {
+                int x = dx > 0 ? boardWidth - 1 - i : i;
+                for (int j = 0; j < boardHeight; j++) {
+                    int y = dy > 0 ? boardHeight - 1 - j : j;
+                    if ((walls[cellIndex(x, y)] & BoardCompiler.wallBit(direction) << 4) == 0) {
+                        fireReach[offset + cellIndex(x, y)] =
+                                (short) (1 + fireReach[offset + cellIndex(x + dx, y + dy)]);
+                    }
                 }
             }
         }
     }
 
-    public void findRotatePads() {
-        for (int x = 0; x < groundLayer.getWidth(); x++) {
-            for (int y = 0; y < groundLayer.getHeight(); y++) {
-                TiledMapTileLayer.Cell cell = groundLayer.getCell(x, y);
-                int ID = cell.getTile().getId();
+    // STATIC BOARD RULES
 
-                if (ID == TileID.ROTATE_PAD_LEFT.getId()) {
-                    rotatePads.add(new RotatePad(Rotate.LEFT, new Vector2(x, y)));
-                } else if (ID == TileID.ROTATE_PAD_RIGHT.getId()) {
-                    rotatePads.add(new RotatePad(Rotate.RIGHT, new Vector2(x, y)));
-                }
-            }
+    /**
+     * @param number of player
+     * @return start position for player, or null if the board has no start position for this number
+     */
+    public Vector2 getStartPosition(int number) {
+        if (number <= 0 || number >= compiled.startCells.length || compiled.startCells[number] == -1) {
+            return null;
         }
+        int cell = compiled.startCells[number];
+        return new Vector2(cell % boardWidth, cell / boardWidth);
     }
 
     /**
-     * Finds the where the flags are on the board, makes {@link Flag} objects
-     * and puts them in to the flag array.
-     */
-    public void findFlags() {
-        for (int x = 0; x < flagLayer.getWidth(); x++) {
-            for (int y = 0; y < flagLayer.getHeight(); y++) {
-                TiledMapTileLayer.Cell cell = flagLayer.getCell(x, y);
-                if (cell != null) {
-                    int ID = cell.getTile().getId();
-                    if (ID == TileID.FLAG_1.getId()) {
-                        flags.add(new Flag(1, x, y));
-                    } else if (ID == TileID.FLAG_2.getId()) {
-                        flags.add(new Flag(2, x, y));
-                    } else if (ID == TileID.FLAG_3.getId()) {
-                        flags.add(new Flag(3, x, y));
-                    } else if (ID == TileID.FLAG_4.getId()) {
-                        flags.add(new Flag(4, x, y));
-                    }
-                }
-            }
+     * @return highest player number with a start position on this board
+     */
+    public int getStartPositionCount() {
+        int count = compiled.startCells.length - 1;
+        while (count > 0 && compiled.startCells[count] == -1) {
+            count--;
         }
+        return count;
     }
 
     /**
+     * @param position  to go from
+     * @param direction to go
+     * @return neighbour position in direction from position
+     */
+    public Vector2 getNeighbourPosition(Vector2 position, Direction direction) {
+        Vector2 neighbourPosition = new Vector2(position);
+        switch (direction) {
+            case EAST:
+                neighbourPosition.x++;
+                break;
+            case WEST:
+                neighbourPosition.x--;
+                break;
+            case NORTH:
+                neighbourPosition.y++;
+                break;
+            case SOUTH:
+                neighbourPosition.y--;
+                break;
+            default:
+                break;
+        }
+        return neighbourPosition;
+    }
+
+    /**
+     * Checks if a position is outside the map
      *
+     * @param position the position to check
+     * @return true if the position is outside of the board
      */
-    public void findLasers() {
-        for (int x = 0; x < wallLayer.getWidth(); x++) {
-            for (int y = 0; y < wallLayer.getHeight(); y++) {
-                TiledMapTileLayer.Cell cell = wallLayer.getCell(x, y);
-                if (cell != null) {
-                    int ID = cell.getTile().getId();
-                    if (ID == TileID.EAST_LASER_WALL.getId()) {
-                        lasers.add(new Laser(x, y, Direction.WEST));
-                    } else if (ID == TileID.WEST_LASER_WALL.getId()) {
-                        lasers.add(new Laser(x, y, Direction.EAST));
-                    } else if (ID == TileID.NORTH_LASER_WALL.getId()) {
-                        lasers.add(new Laser(x, y, Direction.SOUTH));
-                    } else if (ID == TileID.SOUTH_LASER_WALL.getId()) {
-                        lasers.add(new Laser(x, y, Direction.NORTH));
-                    }
-                }
-            }
+    public boolean outsideBoard(Vector2 position) {
+        return position.x < 0 ||
+                position.x >= boardWidth ||
+                position.y < 0 ||
+                position.y >= boardHeight;
+    }
+
+    /**
+     * @param position packed with {@link GridPos}
+     * @return true if the position is outside of the board
+     */
+    public boolean outsideBoard(int position) {
+        int x = GridPos.x(position);
+        int y = GridPos.y(position);
+        return x < 0 || x >= boardWidth || y < 0 || y >= boardHeight;
+    }
+
+    /**
+     * Checks if player moves on to a hole
+     *
+     * @param position that is checked
+     * @return true if the position contains a hole
+     */
+    public boolean hasHole(Vector2 position) {
+        return hasHole(GridPos.of(position));
+    }
+
+    public boolean hasHole(int position) {
+        return !outsideBoard(position) && holeCells.get(cellIndex(position));
+    }
+
+    /**
+     * @param position to check
+     * @return true if there is a repair tile, with one or two wrenches, in this position
+     */
+    public boolean hasRepairTile(Vector2 position) {
+        return hasRepairTile(GridPos.of(position));
+    }
+
+    public boolean hasRepairTile(int position) {
+        return !outsideBoard(position) && repairCells.get(cellIndex(position));
+    }
+
+    /**
+     * @param position to check
+     * @return true if there is a repair tile with two wrenches in this position
+     */
+    public boolean hasDoubleRepairTile(Vector2 position) {
+        return hasDoubleRepairTile(GridPos.of(position));
+    }
+
+    public boolean hasDoubleRepairTile(int position) {
+        return !outsideBoard(position) && doubleRepairCells.get(cellIndex(position));
+    }
+
+    /**
+     * @param position to check
+     * @return number of the flag in this position, or 0 if there is no flag
+     */
+    public int getFlagNumber(Vector2 position) {
+        return getFlagNumber(GridPos.of(position));
+    }
+
+    public int getFlagNumber(int position) {
+        return outsideBoard(position) ? 0 : flagNumbers[cellIndex(position)];
+    }
+
+    /**
+     * @param position to check
+     * @return direction of the belt, normal or express, in this position, or null if there is no belt
+     */
+    public Direction getBeltDirection(Vector2 position) {
+        return getBeltDirection(GridPos.of(position));
+    }
+
+    public Direction getBeltDirection(int position) {
+        return outsideBoard(position) ? null : getBeltDirection(GridPos.x(position), GridPos.y(position));
+    }
+
+    private Direction getBeltDirection(int x, int y) {
+        int belt = elements[cellIndex(x, y)] & BoardCompiler.BELT_MASK;
+        return belt == 0 ? null : DIRECTIONS[belt - 1];
+    }
+
+    /**
+     * @param position to check
+     * @return true if there is an express belt in this position
+     */
+    public boolean hasExpressBelt(Vector2 position) {
+        return hasExpressBelt(GridPos.of(position));
+    }
+
+    public boolean hasExpressBelt(int position) {
+        return !outsideBoard(position) && (elements[cellIndex(position)] & BoardCompiler.EXPRESS_BIT) != 0;
+    }
+
+    /**
+     * @param position to check
+     * @return how the rotate pad in this position turns robots, or null if there is no rotate pad
+     */
+    public Rotate getRotation(Vector2 position) {
+        return getRotation(GridPos.of(position));
+    }
+
+    public Rotate getRotation(int position) {
+        return outsideBoard(position) ? null : getRotation(GridPos.x(position), GridPos.y(position));
+    }
+
+    private Rotate getRotation(int x, int y) {
+        int rotate = (elements[cellIndex(x, y)] & BoardCompiler.ROTATE_MASK) >> BoardCompiler.ROTATE_SHIFT;
+        return rotate == 0 ? null : ROTATIONS[rotate - 1];
+    }
+
+    /**
+     * @param position packed with {@link GridPos}, on the board
+     * @return index of the cell in the compiled grids
+     */
+    public int cellIndex(int position) {
+        return cellIndex(GridPos.x(position), GridPos.y(position));
+    }
+
+    /**
+     * @param x of cell
+     * @param y of cell
+     * @return index of the cell in the compiled grids
+     */
+    public int cellIndex(int x, int y) {
+        return x + y * boardWidth;
+    }
+
+    /**
+     * Tells if there is possible to move in the intended {@link Direction} direction
+     *
+     * @param position  to go from
+     * @param direction to go in
+     * @return true if there is no wall blocking the way
+     */
+    public boolean canGo(Vector2 position, Direction direction) {
+        return canGo((int) position.x, (int) position.y, direction);
+    }
+
+    public boolean canGo(int position, Direction direction) {
+        return canGo(GridPos.x(position), GridPos.y(position), direction);
+    }
+
+    /**
+     * @param x         to go from
+     * @param y         to go from
+     * @param direction to go in
+     * @return true if there is no wall blocking the way
+     */
+    public boolean canGo(int x, int y, Direction direction) {
+        if (x < 0 || x >= boardWidth || y < 0 || y >= boardHeight) {
+            // Only a wall on the edge of the neighbour cell can block a position outside the board
+            int neighbour = GridPos.neighbour(GridPos.of(x, y), direction);
+            return outsideBoard(neighbour) || canGo(neighbour, direction.turnAround());
         }
+        return (walls[cellIndex(x, y)] & BoardCompiler.wallBit(direction)) == 0;
     }
 
     /**
-     * Finds all the boards repairs tiles.
+     * Checks is there is a wall to the west of a given {@link TiledMapTileLayer.Cell} cell}.
+     *
+     * @param cell to check for wall
+     * @return true if cell has a wall on west side
      */
-    public void findRepairs() {
-        for (int x = 0; x < groundLayer.getWidth(); x++) {
-            for (int y = 0; y < groundLayer.getHeight(); y++) {
+    public boolean hasWestWall(TiledMapTileLayer.Cell cell) {
+        return (BoardCompiler.getWalls(cell) & BoardCompiler.wallBit(Direction.WEST)) != 0;
+    }
 
-                TiledMapTileLayer.Cell cell = groundLayer.getCell(x, y);
-                if(cell != null){
-                    int ID =  cell.getTile().getId();
-                    if (ID == TileID.WRENCH.getId()){
-                        repairTiles.add(new Vector2(x, y));
-                    } else if (ID == TileID.DOUBLE_WRENCH.getId()){
-                        repairTiles.add(new Vector2(x, y));
-                    }
-                }
-            }
+    /**
+     * Checks is there is a wall to the east of a given {@link TiledMapTileLayer.Cell cell}.
+     *
+     * @param cell to check for wall
+     * @return true if cell has a wall on east side
+     */
+    public boolean hasEastWall(TiledMapTileLayer.Cell cell) {
+        return (BoardCompiler.getWalls(cell) & BoardCompiler.wallBit(Direction.EAST)) != 0;
+    }
+
+    /**
+     * Checks is there is a wall to the south of a given {@link TiledMapTileLayer.Cell cell}.
+     *
+     * @param cell to check for wall
+     * @return true if cell has a wall on south side
+     */
+    public boolean hasSouthWall(TiledMapTileLayer.Cell cell) {
+        return (BoardCompiler.getWalls(cell) & BoardCompiler.wallBit(Direction.SOUTH)) != 0;
+    }
+
+    /**
+     * Checks is there is a wall to the north of a given {@link TiledMapTileLayer.Cell cell}.
+     *
+     * @param cell to check for wall
+     * @return true if cell has a wall on north side
+     */
+    public boolean hasNorthWall(TiledMapTileLayer.Cell cell) {
+        return (BoardCompiler.getWalls(cell) & BoardCompiler.wallBit(Direction.NORTH)) != 0;
+    }
+
+    /**
+     * @param x         of cell to fire from
+     * @param y         of cell to fire from
+     * @param direction to fire in
+     * @return number of cells in front of the cell a laser can pass through, 0 if it can not fire at all
+     */
+    public int getFireReach(int x, int y, Direction direction) {
+        return fireReach[direction.ordinal() * boardWidth * boardHeight + cellIndex(x, y)];
+    }
+
+    /**
+     * @param position  packed with {@link GridPos}, on the board
+     * @param direction to fire in
+     * @return number of cells in front of the position a laser can pass through
+     */
+    public int getFireReach(int position, Direction direction) {
+        return getFireReach(GridPos.x(position), GridPos.y(position), direction);
+    }
+
+    /**
+     * Checks if there is possible to fire in the direction and position
+     *
+     * @param position  the tile in question.
+     * @param direction the way the fire is happening
+     * @return true if {@link #canGo(Vector2, Direction) canGo} is true and if not {@link #outsideBoard(Vector2) outsideBoard} is true.
+     */
+    public boolean canFire(Vector2 position, Direction direction) {
+        return canFire(GridPos.of(position), direction);
+    }
+
+    public boolean canFire(int position, Direction direction) {
+        if (outsideBoard(position)) {
+            return canGo(position, direction) && !outsideBoard(GridPos.neighbour(position, direction));
         }
+        return (walls[cellIndex(position)] & (BoardCompiler.wallBit(direction) << 4)) == 0;
     }
 
     // GET MAP LAYERS
@@ -356,6 +516,13 @@ public abstract class BoardLayers {
         return wallLayer;
     }
 
+    /**
+     * @return the static rules the board was made from
+     */
+    public CompiledBoard getCompiledBoard() {
+        return compiled;
+    }
+
     // GET LIST OF OBJECTS
 
     public ArrayList<Laser> getLasers() {
@@ -374,6 +541,9 @@ public abstract class BoardLayers {
         return holes;
     }
 
+    /**
+     * @return normal belts, express belts are in {@link #getExpressBelts()}
+     */
     public ArrayList<Belt> getBelts() {
         return belts;
     }
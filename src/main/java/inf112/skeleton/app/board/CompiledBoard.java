@@ -0,0 +1,70 @@
+package inf112.skeleton.app.board;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The static rules of a map, compiled by {@link BoardCompiler} into one small array or bitset per feature.
+ * Every array has one entry per cell, at index x + y * width.
+ */
+public final class CompiledBoard {
+
+    final int width;
+    final int height;
+
+    /**
+     * Walls of each cell. The lower four bits are set if a wall blocks moving out of the cell in that direction,
+     * the upper four bits if a laser can not be fired out of the cell, because of a wall or the edge of the board.
+     * See {@link BoardCompiler#wallBit(inf112.skeleton.app.enums.Direction)}.
+     */
+    final byte[] walls;
+
+    /**
+     * Board elements of each cell. The lowest three bits are the ordinal of the belt direction plus one, the
+     * next bit is set for express belts, and the two bits above that are the ordinal of the rotation of a
+     * rotate pad plus one. 0 means no element.
+     */
+    final byte[] elements;
+
+    /**
+     * Ordinal plus one of the direction a wall laser in the cell fires in, 0 if there is no laser.
+     */
+    final byte[] laserDirections;
+
+    /**
+     * Number of the flag in each cell, 0 if there is no flag.
+     */
+    final byte[] flagNumbers;
+
+    final BitSet holes;
+    final BitSet repairs;
+    final BitSet doubleRepairs;
+
+    /**
+     * Cell of the start position for each player number, -1 if the map has no start position for the number.
+     * Index 0 is not used. Replaced by the compiler if the map has a Start layer.
+     */
+    int[] startCells;
+
+    CompiledBoard(int width, int height, int maxStartNumber) {
+        this.width = width;
+        this.height = height;
+        this.walls = new byte[width * height];
+        this.elements = new byte[width * height];
+        this.laserDirections = new byte[width * height];
+        this.flagNumbers = new byte[width * height];
+        this.holes = new BitSet(width * height);
+        this.repairs = new BitSet(width * height);
+        this.doubleRepairs = new BitSet(width * height);
+        this.startCells = new int[maxStartNumber + 1];
+        Arrays.fill(startCells, -1);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
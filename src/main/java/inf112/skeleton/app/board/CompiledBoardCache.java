@@ -0,0 +1,274 @@
+package inf112.skeleton.app.board;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.BitSet;
+import java.util.function.Supplier;
+
+/**
+ * Compiled boards saved as small binary files, so a map only has to be parsed and compiled the first time
+ * it is loaded. A file is named after a hash of the map files, so a changed map is compiled again.
+ *
+ * A file is memory mapped and copied straight into the arrays of a {@link CompiledBoard}. It holds, in
+ * order: magic number, format version, width and height; walls, elements, laser directions and flag
+ * numbers with one byte per cell; holes, repairs and double repairs as a length and the bytes of the bitset;
+ * the number of start cells and the start cells.
+ *
+ * Data computed from the rules of a board, like tables for bots, can be saved in the same folder with
+ * {@link #saveData(CompiledBoard, String, ByteBuffer)}.
+ */
+public final class CompiledBoardCache {
+
+    private static final int MAGIC = 0x52524342;
+    /**
+     * Change when the file format or the meaning of what {@link BoardCompiler} writes changes, so old files
+     * are not used.
+     */
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".board";
+
+    private static final CompiledBoardCache DEFAULT =
+            new CompiledBoardCache(new File(System.getProperty("java.io.tmpdir"), "roborally-boards"));
+
+    private final File directory;
+
+    /**
+     * @param directory to keep compiled boards in, made when the first board is saved
+     */
+    public CompiledBoardCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return cache in a folder in the temporary directory of the system
+     */
+    public static CompiledBoardCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Load the compiled board of a map from the cache. The first time, the map is loaded without textures,
+     * compiled and saved.
+     *
+     * @param mapPath path to .tmx map or composite map
+     * @return the static rules of the map
+     */
+    public CompiledBoard load(String mapPath) {
+        return load(mapPath, () -> CompositeMapBuilder.load(mapPath, new HeadlessMapLoader()::load));
+    }
+
+    /**
+     * Load the compiled board of a map that is already loaded, e.g. with textures to be drawn. The first time,
+     * the loaded map is compiled and saved, so the map files are not parsed again.
+     *
+     * @param mapPath  path to .tmx map or composite map
+     * @param tiledMap loaded from the map path
+     * @return the static rules of the map
+     */
+    public CompiledBoard load(String mapPath, TiledMap tiledMap) {
+        return load(mapPath, () -> tiledMap);
+    }
+
+    private CompiledBoard load(String mapPath, Supplier<TiledMap> tiledMap) {
+        File file = getFile(mapPath);
+        if (file.isFile()) {
+            CompiledBoard board = read(file);
+            if (board != null) {
+                return board;
+            }
+        }
+        CompiledBoard board = BoardCompiler.compile(tiledMap.get());
+        write(board, file);
+        return board;
+    }
+
+    /**
+     * @param mapPath path to .tmx map or composite map
+     * @return file the compiled board of the map is saved in
+     */
+    public File getFile(String mapPath) {
+        String name = new File(mapPath).getName();
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            name = name.substring(0, dot);
+        }
+        return new File(directory, name.replaceAll("[^A-Za-z0-9]", "_") + "-" + hash(mapPath) + EXTENSION);
+    }
+
+    /**
+     * @return hex digest of the format version and the contents of all files the map is made from
+     */
+    private static String hash(String mapPath) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update((byte) VERSION);
+            for (String path : CompositeMapBuilder.getMapFiles(mapPath)) {
+                digest.update(Files.readAllBytes(new File(path).toPath()));
+            }
+            return toHex(digest);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read map " + mapPath, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return hex digest of the rules of a board, the same for every map that compiles to the same board
+     */
+    private static String hash(CompiledBoard board) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(toBuffer(board));
+            return toHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(MessageDigest digest) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.substring(0, 16);
+    }
+
+    // READ AND WRITE
+
+    /**
+     * @return the board in the file, or null if the file is not a compiled board of this version
+     */
+    private static CompiledBoard read(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            CompiledBoard board = new CompiledBoard(buffer.getInt(), buffer.getInt(), 0);
+            buffer.get(board.walls);
+            buffer.get(board.elements);
+            buffer.get(board.laserDirections);
+            buffer.get(board.flagNumbers);
+            board.holes.or(readBits(buffer));
+            board.repairs.or(readBits(buffer));
+            board.doubleRepairs.or(readBits(buffer));
+            board.startCells = new int[buffer.getInt()];
+            buffer.asIntBuffer().get(board.startCells);
+            return board;
+        } catch (IOException | RuntimeException e) {
+            // Not a file this version wrote, e.g. cut short
+            return null;
+        }
+    }
+
+    private static BitSet readBits(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return BitSet.valueOf(bytes);
+    }
+
+    private static void write(CompiledBoard board, File file) {
+        writeAtomically(toBuffer(board), file);
+    }
+
+    private static ByteBuffer toBuffer(CompiledBoard board) {
+        byte[] holes = board.holes.toByteArray();
+        byte[] repairs = board.repairs.toByteArray();
+        byte[] doubleRepairs = board.doubleRepairs.toByteArray();
+        int cells = board.width * board.height;
+        ByteBuffer buffer = ByteBuffer.allocate(4 * Integer.BYTES + 4 * cells
+                + 3 * Integer.BYTES + holes.length + repairs.length + doubleRepairs.length
+                + Integer.BYTES * (1 + board.startCells.length));
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(board.width).putInt(board.height);
+        buffer.put(board.walls).put(board.elements).put(board.laserDirections).put(board.flagNumbers);
+        buffer.putInt(holes.length).put(holes);
+        buffer.putInt(repairs.length).put(repairs);
+        buffer.putInt(doubleRepairs.length).put(doubleRepairs);
+        buffer.putInt(board.startCells.length);
+        for (int startCell : board.startCells) {
+            buffer.putInt(startCell);
+        }
+        // As a Buffer, since ByteBuffer.flip() only exists from Java 9 and the game runs on Java 8
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+
+    /**
+     * Write to a temporary file first and move it in place, so a game loading the same map never sees a
+     * half written file. A cache that can not be written is only slower, so errors are ignored.
+     */
+    private static void writeAtomically(ByteBuffer buffer, File file) {
+        File temporary = null;
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            temporary = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+            try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Computed again next time
+            if (temporary != null) {
+                temporary.delete();
+            }
+        }
+    }
+
+    // DATA COMPUTED FROM A BOARD
+
+    /**
+     * @param board     the data was computed from
+     * @param extension of the kind of data, e.g. ".flags"
+     * @return file the data is saved in, named after a hash of the rules of the board
+     */
+    public File getDataFile(CompiledBoard board, String extension) {
+        return new File(directory, "board-" + hash(board) + extension);
+    }
+
+    /**
+     * Load data saved by {@link #saveData(CompiledBoard, String, ByteBuffer)}. The caller checks that the data
+     * is of a version it can read.
+     *
+     * @param board     the data was computed from
+     * @param extension of the kind of data
+     * @return the saved data memory mapped, or null if there is none
+     */
+    public ByteBuffer loadData(CompiledBoard board, String extension) {
+        File file = getDataFile(board, extension);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Save data computed from the rules of a board next to the compiled boards, so it only has to be computed
+     * once for each map. Errors are ignored like for compiled boards.
+     *
+     * @param board     the data was computed from
+     * @param extension of the kind of data
+     * @param data      from its position to its limit
+     */
+    public void saveData(CompiledBoard board, String extension, ByteBuffer data) {
+        writeAtomically(data, getDataFile(board, extension));
+    }
+}
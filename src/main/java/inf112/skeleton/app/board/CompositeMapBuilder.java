@@ -0,0 +1,247 @@
+package inf112.skeleton.app.board;
+
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+/**
+ * Assemble one big map from several maps, e.g. official boards side by side. Each section is placed at an
+ * offset and can be turned in quarter turns counterclockwise. Tiles keep their id and get the turn as cell
+ * rotation, which is what {@link BoardCompiler} reads the direction of belts, walls and lasers from.
+ *
+ * Start positions are found like in a single map, so if several sections have the same start number the one
+ * furthest to the left is used. Flags are only taken from the first section that has any, since a game can
+ * only have one flag of each number.
+ *
+ * The built map owns the sections, disposing it disposes them.
+ */
+public class CompositeMapBuilder {
+
+    /**
+     * Extension of a text file describing a composite map. Each line is a section as
+     * "x y quarterTurns path", with the path relative to the file. Empty lines and lines starting with # are
+     * skipped.
+     */
+    public static final String EXTENSION = ".arena";
+
+    private final ArrayList<TiledMap> sections;
+    private final ArrayList<int[]> placements;
+
+    public CompositeMapBuilder() {
+        this.sections = new ArrayList<>();
+        this.placements = new ArrayList<>();
+    }
+
+    /**
+     * @param mapPath      path to .tmx map or composite map
+     * @param sectionLoader loads the .tmx maps, e.g. {@link HeadlessMapLoader} or TmxMapLoader
+     * @return the map, assembled if the path is a composite map
+     */
+    public static TiledMap load(String mapPath, Function<String, TiledMap> sectionLoader) {
+        if (!mapPath.endsWith(EXTENSION)) {
+            return sectionLoader.apply(mapPath);
+        }
+        CompositeMapBuilder builder = new CompositeMapBuilder();
+        for (String[] section : readSections(mapPath)) {
+            builder.add(sectionLoader.apply(section[3]), Integer.parseInt(section[0]),
+                    Integer.parseInt(section[1]), Integer.parseInt(section[2]));
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param mapPath path to .tmx map or composite map
+     * @return path of every file the map is made from, the map itself first
+     */
+    public static ArrayList<String> getMapFiles(String mapPath) {
+        ArrayList<String> files = new ArrayList<>();
+        files.add(mapPath);
+        if (mapPath.endsWith(EXTENSION)) {
+            for (String[] section : readSections(mapPath)) {
+                files.add(section[3]);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * @return x, y, quarter turns and path of each section in a composite map file
+     */
+    private static ArrayList<String[]> readSections(String mapPath) {
+        File file = new File(mapPath);
+        ArrayList<String[]> sections = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+", 4);
+                if (parts.length < 4) {
+                    throw new IllegalArgumentException("Bad section \"" + line + "\" in " + mapPath);
+                }
+                parts[3] = new File(file.getParentFile(), parts[3]).getPath();
+                sections.add(parts);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read map " + mapPath, e);
+        }
+        return sections;
+    }
+
+    /**
+     * @param section      map to place
+     * @param x            of the lower left corner of the section after turning it
+     * @param y            of the lower left corner of the section after turning it
+     * @param quarterTurns number of quarter turns counterclockwise
+     * @return this builder
+     */
+    public CompositeMapBuilder add(TiledMap section, int x, int y, int quarterTurns) {
+        sections.add(section);
+        placements.add(new int[]{x, y, Math.floorMod(quarterTurns, 4)});
+        return this;
+    }
+
+    /**
+     * @return map just big enough for all sections, with the layers of all sections
+     */
+    public TiledMap build() {
+        if (sections.isEmpty()) {
+            throw new IllegalStateException("A composite map needs at least one section");
+        }
+        TiledMap first = sections.get(0);
+        int tileWidth = first.getProperties().get("tilewidth", Integer.class);
+        int tileHeight = first.getProperties().get("tileheight", Integer.class);
+
+        int width = 0;
+        int height = 0;
+        for (int i = 0; i < sections.size(); i++) {
+            int[] placement = placements.get(i);
+            boolean sideways = placement[2] % 2 == 1;
+            width = Math.max(width, placement[0] + (sideways ? getHeight(sections.get(i)) : getWidth(sections.get(i))));
+            height = Math.max(height, placement[1] + (sideways ? getWidth(sections.get(i)) : getHeight(sections.get(i))));
+        }
+
+        TiledMap tiledMap = new TiledMap() {
+            @Override
+            public void dispose() {
+                super.dispose();
+                for (TiledMap section : sections) {
+                    section.dispose();
+                }
+            }
+        };
+        MapProperties properties = tiledMap.getProperties();
+        properties.put("width", width);
+        properties.put("height", height);
+        properties.put("tilewidth", tileWidth);
+        properties.put("tileheight", tileHeight);
+        for (TiledMapTileSet tileSet : first.getTileSets()) {
+            tiledMap.getTileSets().addTileSet(tileSet);
+        }
+
+        // Layers in the order they are first found, so layers drawn on top of others stay on top
+        LinkedHashMap<String, TiledMapTileLayer> layers = new LinkedHashMap<>();
+        boolean flagsTaken = false;
+        for (int i = 0; i < sections.size(); i++) {
+            boolean sectionHasFlags = false;
+            for (MapLayer mapLayer : sections.get(i).getLayers()) {
+                if (!(mapLayer instanceof TiledMapTileLayer)) {
+                    continue;
+                }
+                TiledMapTileLayer layer = layers.get(mapLayer.getName());
+                if (layer == null) {
+                    layer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
+                    layer.setName(mapLayer.getName());
+                    layers.put(mapLayer.getName(), layer);
+                }
+                if ("Flag".equals(mapLayer.getName())) {
+                    if (flagsTaken) {
+                        continue;
+                    }
+                    sectionHasFlags = copy((TiledMapTileLayer) mapLayer, layer, placements.get(i));
+                } else {
+                    copy((TiledMapTileLayer) mapLayer, layer, placements.get(i));
+                }
+            }
+            flagsTaken |= sectionHasFlags;
+        }
+        for (TiledMapTileLayer layer : layers.values()) {
+            tiledMap.getLayers().add(layer);
+        }
+        return tiledMap;
+    }
+
+    /**
+     * Copy all cells of a section layer into the composite layer, turned.
+     *
+     * @return true if any cell was copied
+     */
+    private static boolean copy(TiledMapTileLayer from, TiledMapTileLayer to, int[] placement) {
+        int width = from.getWidth();
+        int height = from.getHeight();
+        int turns = placement[2];
+        boolean copied = false;
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                TiledMapTileLayer.Cell cell = from.getCell(x, y);
+                if (cell == null || cell.getTile() == null) {
+                    continue;
+                }
+                TiledMapTileLayer.Cell turned = new TiledMapTileLayer.Cell();
+                turned.setTile(cell.getTile());
+                turned.setFlipHorizontally(cell.getFlipHorizontally());
+                turned.setFlipVertically(cell.getFlipVertically());
+                turned.setRotation((cell.getRotation() + turns) % 4);
+                to.setCell(placement[0] + turnedX(x, y, width, height, turns),
+                        placement[1] + turnedY(x, y, width, height, turns), turned);
+                copied = true;
+            }
+        }
+        return copied;
+    }
+
+    private static int turnedX(int x, int y, int width, int height, int turns) {
+        switch (turns) {
+            case 1:
+                return height - 1 - y;
+            case 2:
+                return width - 1 - x;
+            case 3:
+                return y;
+            default:
+                return x;
+        }
+    }
+
+    private static int turnedY(int x, int y, int width, int height, int turns) {
+        switch (turns) {
+            case 1:
+                return x;
+            case 2:
+                return height - 1 - y;
+            case 3:
+                return width - 1 - x;
+            default:
+                return y;
+        }
+    }
+
+    private static int getWidth(TiledMap tiledMap) {
+        return tiledMap.getProperties().get("width", Integer.class);
+    }
+
+    private static int getHeight(TiledMap tiledMap) {
+        return tiledMap.getProperties().get("height", Integer.class);
+    }
+}
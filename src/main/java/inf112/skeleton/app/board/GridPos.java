@@ -0,0 +1,77 @@
+package inf112.skeleton.app.board;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.enums.Direction;
+
+/**
+ * Positions packed into one int, with x in the upper and y in the lower 16 bits. Positions outside the board
+ * (negative coordinates) can be packed too, so a robot that fell off still has a position.
+ *
+ * The rules engine works on packed positions: they make no garbage, are compared with == and can be used
+ * as keys in int arrays. {@link Vector2} is only made where positions meet players, map layers and screens.
+ */
+public final class GridPos {
+
+    private GridPos() {
+    }
+
+    /**
+     * @param x of position
+     * @param y of position
+     * @return packed position
+     */
+    public static int of(int x, int y) {
+        return x << 16 | y & 0xFFFF;
+    }
+
+    /**
+     * @param position with whole number coordinates
+     * @return packed position
+     */
+    public static int of(Vector2 position) {
+        return of((int) position.x, (int) position.y);
+    }
+
+    public static int x(int position) {
+        return position >> 16;
+    }
+
+    public static int y(int position) {
+        return (short) position;
+    }
+
+    /**
+     * @param position  to go from
+     * @param direction to go
+     * @return packed neighbour position in direction from position
+     */
+    public static int neighbour(int position, Direction direction) {
+        switch (direction) {
+            case EAST:
+                return of(x(position) + 1, y(position));
+            case WEST:
+                return of(x(position) - 1, y(position));
+            case NORTH:
+                return of(x(position), y(position) + 1);
+            case SOUTH:
+                return of(x(position), y(position) - 1);
+            default:
+                return position;
+        }
+    }
+
+    /**
+     * @return number of steps between two positions along rows and columns
+     */
+    public static int distance(int position, int otherPosition) {
+        return Math.abs(x(position) - x(otherPosition)) + Math.abs(y(position) - y(otherPosition));
+    }
+
+    /**
+     * @param position packed position
+     * @return new vector with the coordinates of the position
+     */
+    public static Vector2 toVector(int position) {
+        return new Vector2(x(position), y(position));
+    }
+}
@@ -0,0 +1,31 @@
+package inf112.skeleton.app.board;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+
+/**
+ * Board with only the static rules of a map, loaded without textures or sounds.
+ * Used to play games without a screen, e.g. in {@link inf112.skeleton.app.engine.MatchSimulator}.
+ */
+public class HeadlessBoard extends BoardLayers {
+
+    /**
+     * Load the rules from {@link CompiledBoardCache#getDefault()}. The board has no tiled map or layers.
+     *
+     * @param mapPath path to .tmx map, or to a composite map, see {@link CompositeMapBuilder}
+     */
+    public HeadlessBoard(String mapPath) {
+        this(mapPath, CompiledBoardCache.getDefault());
+    }
+
+    /**
+     * @param mapPath path to .tmx map, or to a composite map, see {@link CompositeMapBuilder}
+     * @param cache   to load the rules from
+     */
+    public HeadlessBoard(String mapPath, CompiledBoardCache cache) {
+        super(null, cache.load(mapPath));
+    }
+
+    public HeadlessBoard(TiledMap tiledMap) {
+        super(tiledMap);
+    }
+}
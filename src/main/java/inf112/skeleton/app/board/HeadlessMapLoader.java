@@ -0,0 +1,122 @@
+package inf112.skeleton.app.board;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.util.HashMap;
+
+/**
+ * Load the tile layers of a .tmx map without loading any textures, so a board can be made without
+ * a GL context. Tiles only know their id, which is all {@link BoardLayers} needs to find objects.
+ *
+ * Only csv encoded layers are supported, which is what all maps in assets/maps use.
+ */
+public class HeadlessMapLoader {
+
+    private static final long FLIP_HORIZONTALLY = 0x80000000L;
+    private static final long FLIP_VERTICALLY = 0x40000000L;
+    private static final long FLIP_DIAGONALLY = 0x20000000L;
+    private static final long FLIP_FLAGS = FLIP_HORIZONTALLY | FLIP_VERTICALLY | FLIP_DIAGONALLY;
+
+    private final HashMap<Integer, TiledMapTile> tiles;
+
+    public HeadlessMapLoader() {
+        this.tiles = new HashMap<>();
+    }
+
+    /**
+     * @param mapPath path to .tmx file
+     * @return map with all tile layers of the file
+     */
+    public TiledMap load(String mapPath) {
+        Element root;
+        try {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new File(mapPath));
+            root = document.getDocumentElement();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not read map " + mapPath, e);
+        }
+        TiledMap tiledMap = new TiledMap();
+        MapProperties properties = tiledMap.getProperties();
+        properties.put("width", Integer.parseInt(root.getAttribute("width")));
+        properties.put("height", Integer.parseInt(root.getAttribute("height")));
+        properties.put("tilewidth", Integer.parseInt(root.getAttribute("tilewidth")));
+        properties.put("tileheight", Integer.parseInt(root.getAttribute("tileheight")));
+
+        NodeList layers = root.getElementsByTagName("layer");
+        for (int i = 0; i < layers.getLength(); i++) {
+            tiledMap.getLayers().add(loadLayer((Element) layers.item(i), properties));
+        }
+        return tiledMap;
+    }
+
+    private TiledMapTileLayer loadLayer(Element element, MapProperties properties) {
+        int width = Integer.parseInt(element.getAttribute("width"));
+        int height = Integer.parseInt(element.getAttribute("height"));
+        TiledMapTileLayer layer = new TiledMapTileLayer(width, height,
+                properties.get("tilewidth", Integer.class), properties.get("tileheight", Integer.class));
+        layer.setName(element.getAttribute("name"));
+
+        Element data = (Element) element.getElementsByTagName("data").item(0);
+        if (!"csv".equals(data.getAttribute("encoding"))) {
+            throw new IllegalArgumentException("Layer " + layer.getName() + " is not csv encoded");
+        }
+        String[] ids = data.getTextContent().trim().split("\\s*,\\s*");
+        for (int row = 0; row < height; row++) {
+            for (int x = 0; x < width; x++) {
+                long gid = Long.parseLong(ids[row * width + x]);
+                int id = (int) (gid & ~FLIP_FLAGS);
+                if (id != 0) {
+                    TiledMapTileLayer.Cell cell = makeCell(gid);
+                    cell.setTile(getTile(id));
+                    // Tiled counts rows from the top, libGDX from the bottom
+                    layer.setCell(x, height - 1 - row, cell);
+                }
+            }
+        }
+        return layer;
+    }
+
+    /**
+     * Turn the flip flags of a tile into a flipped and rotated cell, the same way TmxMapLoader does.
+     */
+    private static TiledMapTileLayer.Cell makeCell(long gid) {
+        boolean flipHorizontally = (gid & FLIP_HORIZONTALLY) != 0;
+        boolean flipVertically = (gid & FLIP_VERTICALLY) != 0;
+        TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+        if ((gid & FLIP_DIAGONALLY) == 0) {
+            cell.setFlipHorizontally(flipHorizontally);
+            cell.setFlipVertically(flipVertically);
+        } else if (flipHorizontally && flipVertically) {
+            cell.setFlipHorizontally(true);
+            cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+        } else if (flipHorizontally) {
+            cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+        } else if (flipVertically) {
+            cell.setRotation(TiledMapTileLayer.Cell.ROTATE_90);
+        } else {
+            cell.setFlipVertically(true);
+            cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+        }
+        return cell;
+    }
+
+    private TiledMapTile getTile(int id) {
+        TiledMapTile tile = tiles.get(id);
+        if (tile == null) {
+            tile = new StaticTiledMapTile(new TextureRegion());
+            tile.setId(id);
+            tiles.put(id, tile);
+        }
+        return tile;
+    }
+}
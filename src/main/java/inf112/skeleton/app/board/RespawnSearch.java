@@ -0,0 +1,153 @@
+package inf112.skeleton.app.board;
+
+import inf112.skeleton.app.enums.Direction;
+
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * Finds where a destroyed robot respawns when another robot stands on its backup position.
+ *
+ * Cells are searched in rings around the backup position, one step further out each ring, so the nearest
+ * free cell is found first and a full board is searched at most once. A cell can be used if it is on the
+ * board, has no hole, has no robot and the robot can face a direction with no robot in the two cells in
+ * front of it. Each ring and the directions are tried from a random start, so which of the equally near
+ * cells is chosen depends only on the seed.
+ */
+public final class RespawnSearch {
+
+    private static final int CLEAR_CELLS_AHEAD = 2;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final BoardLayers board;
+    private final IntPredicate occupied;
+    private final Random random;
+
+    private int position;
+    private Direction direction;
+
+    /**
+     * @param board    to respawn on
+     * @param occupied true for packed positions with a robot
+     * @param random   to choose between equally near cells
+     */
+    public RespawnSearch(BoardLayers board, IntPredicate occupied, Random random) {
+        this.board = board;
+        this.occupied = occupied;
+        this.random = random;
+    }
+
+    /**
+     * @param seed to choose between equally near cells with from now on
+     */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * Find the nearest cell to respawn in. The backup position is used with the backup direction if it is
+     * free. Otherwise, if no cell has a clear view in any direction, the nearest free cell is used with the
+     * backup direction.
+     *
+     * @param backup          position packed with {@link GridPos}
+     * @param backupDirection of robot
+     * @return true if a cell was found, see {@link #getPosition()} and {@link #getDirection()}
+     */
+    public boolean find(int backup, Direction backupDirection) {
+        if (isFree(backup)) {
+            return found(backup, backupDirection);
+        }
+        int x = GridPos.x(backup);
+        int y = GridPos.y(backup);
+        int rings = Math.max(Math.max(x, board.getBoardWidth() - 1 - x),
+                Math.max(y, board.getBoardHeight() - 1 - y));
+        int firstFree = -1;
+        for (int ring = 1; ring <= rings; ring++) {
+            int cells = 8 * ring;
+            int start = random.nextInt(cells);
+            for (int i = 0; i < cells; i++) {
+                int candidate = ringCell(x, y, ring, (start + i) % cells);
+                if (!isFree(candidate)) {
+                    continue;
+                }
+                Direction view = findClearDirection(candidate);
+                if (view != null) {
+                    return found(candidate, view);
+                }
+                if (firstFree == -1) {
+                    firstFree = candidate;
+                }
+            }
+        }
+        return firstFree != -1 && found(firstFree, backupDirection);
+    }
+
+    /**
+     * @return packed position found by the last successful {@link #find(int, Direction)}
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * @return direction found by the last successful {@link #find(int, Direction)}
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    private boolean found(int position, Direction direction) {
+        this.position = position;
+        this.direction = direction;
+        return true;
+    }
+
+    private boolean isFree(int position) {
+        return !board.outsideBoard(position) && !board.hasHole(position) && !occupied.test(position);
+    }
+
+    /**
+     * @return a direction with no robot in the two cells in front, or null
+     */
+    private Direction findClearDirection(int position) {
+        int start = random.nextInt(DIRECTIONS.length);
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            Direction candidate = DIRECTIONS[(start + i) % DIRECTIONS.length];
+            if (hasClearView(position, candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasClearView(int position, Direction direction) {
+        for (int step = 0; step < CLEAR_CELLS_AHEAD; step++) {
+            position = GridPos.neighbour(position, direction);
+            if (!board.outsideBoard(position) && occupied.test(position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cells of a ring go east along the bottom side, north along the east side, west along the top side
+     * and south along the west side.
+     *
+     * @return packed position of cell number i on the ring around x, y
+     */
+    private static int ringCell(int x, int y, int ring, int i) {
+        int side = i / (2 * ring);
+        int step = i % (2 * ring);
+        switch (side) {
+            case 0:
+                return GridPos.of(x - ring + step, y - ring);
+            case 1:
+                return GridPos.of(x + ring, y - ring + step);
+            case 2:
+                return GridPos.of(x + ring - step, y + ring);
+            default:
+                return GridPos.of(x - ring, y + ring - step);
+        }
+    }
+}
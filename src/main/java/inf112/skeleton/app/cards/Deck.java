@@ -4,13 +4,23 @@ import inf112.skeleton.app.enums.Rotate;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Random;
 import java.util.Stack;
 
 public class Deck {
     private Stack<ProgramCard> deck;
     private Stack<ProgramCard> discardPile;
+    private final Random random;
 
     public Deck() {
+        this(new Random());
+    }
+
+    /**
+     * @param random used to shuffle the deck, give a seeded random to get the same deck every time
+     */
+    public Deck(Random random) {
+        this.random = random;
         makeNewDeck();
         shuffleDeck();
     }
@@ -48,7 +58,7 @@ public class Deck {
      * Shuffles the deck
      */
     public void shuffleDeck() {
-        Collections.shuffle(deck);
+        Collections.shuffle(deck, random);
     }
 
     /**
@@ -0,0 +1,15 @@
+package inf112.skeleton.app.engine;
+
+/**
+ * Decides how long the game loop waits between the steps when a turn from {@link TurnResolver} is replayed.
+ * The game uses a clock that sleeps, automated games and tests can use one that returns at once.
+ */
+public interface AnimationClock {
+
+    /**
+     * Wait before showing the next step of the turn.
+     *
+     * @param milliseconds to wait at normal animation speed
+     */
+    void pause(int milliseconds);
+}
@@ -0,0 +1,195 @@
+package inf112.skeleton.app.engine;
+
+import inf112.skeleton.app.board.BoardLayers;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.enums.Rotate;
+import inf112.skeleton.app.objects.Laser;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Where a robot alone on a board ends up after one register, for every cell, direction and type of card.
+ * A register is the card, express belts, belts and rotate pads, played by a {@link TurnResolver} with only
+ * this robot so the table follows the same rules as a real turn, and then the board lasers. Looking up a card is then one
+ * array read instead of stepping the robot and every board element.
+ *
+ * An entry is packed into a long: the position the robot ended in or was destroyed in, packed with
+ * {@link GridPos}, its direction, the damage it took and whether it was destroyed. Use the static methods to
+ * read an entry.
+ *
+ * A table only holds for a robot that no other robot is in the way of, so callers must check the
+ * occupancy along the path themselves before trusting an entry in a game with several robots.
+ */
+public final class CardTransitionTable {
+
+    public static final int CARD_TYPES = 7;
+
+    private static final int DIRECTION_SHIFT = 32;
+    private static final int DAMAGE_SHIFT = 34;
+    private static final long DESTROYED = 1L << 40;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * A card of each type, in the order of {@link #getType(ProgramCard)}.
+     */
+    private static final ProgramCard[] TYPE_CARDS = {
+            new ProgramCard(0, 0, Rotate.RIGHT, "Right turn"),
+            new ProgramCard(0, 0, Rotate.LEFT, "Left turn"),
+            new ProgramCard(0, 0, Rotate.UTURN, "U-turn"),
+            new ProgramCard(0, -1, Rotate.NONE, "Back up"),
+            new ProgramCard(0, 1, Rotate.NONE, "Move 1"),
+            new ProgramCard(0, 2, Rotate.NONE, "Move 2"),
+            new ProgramCard(0, 3, Rotate.NONE, "Move 3"),
+    };
+
+    // The boards are only weakly held, a table does not keep its board alive
+    private static final Map<BoardLayers, CardTransitionTable> TABLES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int width;
+
+    /**
+     * Entry for each cell x + y * width, direction and type of card.
+     */
+    private final long[] transitions;
+
+    private CardTransitionTable(BoardLayers board) {
+        this.width = board.getBoardWidth();
+        this.transitions = new long[width * board.getBoardHeight() * DIRECTIONS.length * CARD_TYPES];
+        SoloRegister register = new SoloRegister(board);
+        for (int y = 0; y < board.getBoardHeight(); y++) {
+            for (int x = 0; x < width; x++) {
+                for (Direction direction : DIRECTIONS) {
+                    for (int type = 0; type < CARD_TYPES; type++) {
+                        transitions[index(GridPos.of(x, y), direction, type)] =
+                                register.play(GridPos.of(x, y), direction, TYPE_CARDS[type]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param board to get the table of
+     * @return the table of this board, made the first time it is asked for
+     */
+    public static CardTransitionTable of(BoardLayers board) {
+        return TABLES.computeIfAbsent(board, CardTransitionTable::new);
+    }
+
+    /**
+     * @return entry with these values, also a key for an end state
+     */
+    static long pack(int position, Direction direction, int damage, boolean destroyed) {
+        return position & 0xFFFFFFFFL
+                | (long) direction.ordinal() << DIRECTION_SHIFT
+                | (long) Math.min(damage, 0x3F) << DAMAGE_SHIFT
+                | (destroyed ? DESTROYED : 0);
+    }
+
+    /**
+     * @param position  on the board, packed with {@link GridPos}
+     * @param direction robot is facing
+     * @param type      of card, see {@link #getType(ProgramCard)}
+     * @return packed entry
+     */
+    public long get(int position, Direction direction, int type) {
+        return transitions[index(position, direction, type)];
+    }
+
+    private int index(int position, Direction direction, int type) {
+        int cell = GridPos.x(position) + GridPos.y(position) * width;
+        return (cell * DIRECTIONS.length + direction.ordinal()) * CARD_TYPES + type;
+    }
+
+    /**
+     * @param card to look up
+     * @return right turn, left turn, U-turn, back up, move 1, move 2 and move 3 are 0 to 6, -1 for a card
+     * that is not in the deck
+     */
+    public static int getType(ProgramCard card) {
+        if (card.getRotate() != Rotate.NONE) {
+            return card.getRotate().ordinal();
+        }
+        int distance = card.getDistance();
+        if (distance == -1) {
+            return 3;
+        }
+        return distance >= 1 && distance <= 3 ? 3 + distance : -1;
+    }
+
+    /**
+     * @return position packed with {@link GridPos} of an entry
+     */
+    public static int getPosition(long entry) {
+        return (int) entry;
+    }
+
+    public static Direction getDirection(long entry) {
+        return DIRECTIONS[(int) (entry >>> DIRECTION_SHIFT) & 3];
+    }
+
+    public static int getDamage(long entry) {
+        return (int) (entry >>> DAMAGE_SHIFT) & 0x3F;
+    }
+
+    /**
+     * @return true if the robot fell off the board or into a hole
+     */
+    public static boolean isDestroyed(long entry) {
+        return (entry & DESTROYED) != 0;
+    }
+
+    /**
+     * Plays one register with a {@link TurnResolver} that only has one robot.
+     */
+    static class SoloRegister {
+
+        private final BoardLayers board;
+        private final Robot robot;
+        private final TurnResolver resolver;
+
+        /**
+         * Number of lasers hitting each cell x + y * width. A robot alone on the board is hit by every laser
+         * with a beam through its cell, so lasers are counted once instead of fired for every register.
+         */
+        private final int[] laserHits;
+
+        SoloRegister(BoardLayers board) {
+            this.board = board;
+            this.robot = new Robot(1, 0, Direction.NORTH);
+            this.resolver = new TurnResolver(board, Collections.singletonList(robot));
+            this.laserHits = new int[board.getBoardWidth() * board.getBoardHeight()];
+            for (Laser laser : board.getLasers()) {
+                for (int cell : laser.getBeam()) {
+                    laserHits[cell]++;
+                }
+            }
+        }
+
+        /**
+         * @param position  on the board, packed with {@link GridPos}
+         * @param direction robot is facing
+         * @param card      to play
+         * @return packed entry
+         */
+        long play(int position, Direction direction, ProgramCard card) {
+            robot.setGridPosition(position);
+            robot.setDirection(direction);
+            robot.setBeltDirection(null);
+            robot.setDestroyed(false);
+            robot.setCard(0, card);
+            resolver.playCard(robot, 0);
+            resolver.activateBelts(true);
+            resolver.activateBelts(false);
+            resolver.activateRotatePads();
+            resolver.getEvents().clear();
+            int damage = robot.isDestroyed() ? 0 : laserHits[board.cellIndex(robot.getGridPosition())];
+            return pack(robot.getGridPosition(), robot.getDirection(), damage, robot.isDestroyed());
+        }
+    }
+}
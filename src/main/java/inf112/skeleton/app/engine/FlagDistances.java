@@ -0,0 +1,234 @@
+package inf112.skeleton.app.engine;
+
+import inf112.skeleton.app.board.BoardLayers;
+import inf112.skeleton.app.board.CompiledBoard;
+import inf112.skeleton.app.board.CompiledBoardCache;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.objects.Flag;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * For every flag on a board, the fewest registers a robot needs from each cell and direction to end a
+ * register on the flag, if it can choose any card each register and no other robot is in the way. Walls,
+ * holes, belts and rotate pads count as in a real turn, since the moves come from the
+ * {@link CardTransitionTable} of the board.
+ *
+ * The distances to a flag are found with one breadth first search backwards from the flag over the moves
+ * of the table. They are saved with {@link CompiledBoardCache#saveData}, so they are only computed the
+ * first time a map is used, and kept in memory for each board after that.
+ */
+public final class FlagDistances {
+
+    public static final int UNREACHABLE = -1;
+
+    private static final String EXTENSION = ".flags";
+    private static final int MAGIC = 0x52524644;
+    /**
+     * Change when the rules behind {@link CardTransitionTable} change, so old files are not used.
+     */
+    private static final int VERSION = 1;
+    private static final int UNREACHABLE_BYTE = 0xFF;
+    private static final int MAX_DISTANCE = 0xFE;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // The boards are only weakly held, distances do not keep their board alive
+    private static final Map<BoardLayers, FlagDistances> DISTANCES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int width;
+    private final int height;
+
+    /**
+     * For flag number i at index i - 1, the distance from each state (x + y * width) * 4 + direction ordinal
+     * as an unsigned byte, 0xFF if the flag can not be reached.
+     */
+    private final byte[][] distances;
+
+    private FlagDistances(int width, int height, byte[][] distances) {
+        this.width = width;
+        this.height = height;
+        this.distances = distances;
+    }
+
+    /**
+     * @param board to get the distances of
+     * @return distances of this board, loaded from {@link CompiledBoardCache#getDefault()} or computed the
+     * first time they are asked for
+     */
+    public static FlagDistances of(BoardLayers board) {
+        return DISTANCES.computeIfAbsent(board, key -> load(key, CompiledBoardCache.getDefault()));
+    }
+
+    /**
+     * Load the distances of a board from a cache, or compute and save them if they are not there.
+     *
+     * @param board to get the distances of
+     * @param cache to load from and save in
+     * @return distances to every flag on the board
+     */
+    public static FlagDistances load(BoardLayers board, CompiledBoardCache cache) {
+        CompiledBoard compiled = board.getCompiledBoard();
+        FlagDistances saved = read(cache.loadData(compiled, EXTENSION), board);
+        if (saved != null) {
+            return saved;
+        }
+        FlagDistances computed = compute(board);
+        cache.saveData(compiled, EXTENSION, computed.toBuffer());
+        return computed;
+    }
+
+    /**
+     * @param flagNumber of flag to reach
+     * @param position   packed with {@link GridPos}
+     * @param direction  robot is facing
+     * @return fewest registers to end a register on the flag, or {@link #UNREACHABLE}
+     */
+    public int getDistance(int flagNumber, int position, Direction direction) {
+        int x = GridPos.x(position);
+        int y = GridPos.y(position);
+        if (flagNumber < 1 || flagNumber > distances.length || x < 0 || x >= width || y < 0 || y >= height) {
+            return UNREACHABLE;
+        }
+        int distance = distances[flagNumber - 1][(x + y * width) * DIRECTIONS.length + direction.ordinal()] & 0xFF;
+        return distance == UNREACHABLE_BYTE ? UNREACHABLE : distance;
+    }
+
+    /**
+     * @param robot to find the distance for
+     * @return fewest registers to the next flag the robot needs, 0 if it has all flags
+     */
+    public int getDistanceToNextFlag(Robot robot) {
+        if (robot.getFlagsCollected() >= distances.length) {
+            return 0;
+        }
+        return getDistance(robot.getFlagsCollected() + 1, robot.getGridPosition(), robot.getDirection());
+    }
+
+    public int getFlagCount() {
+        return distances.length;
+    }
+
+    // COMPUTE
+
+    private static FlagDistances compute(BoardLayers board) {
+        CardTransitionTable table = CardTransitionTable.of(board);
+        int width = board.getBoardWidth();
+        int states = width * board.getBoardHeight() * DIRECTIONS.length;
+
+        // Turn the moves around: the states that reach state s with one card are
+        // predecessors[firstPredecessor[s]] until predecessors[firstPredecessor[s + 1]]
+        int[] successors = new int[states * CardTransitionTable.CARD_TYPES];
+        int[] firstPredecessor = new int[states + 1];
+        for (int state = 0; state < states; state++) {
+            int position = GridPos.of(state / DIRECTIONS.length % width, state / DIRECTIONS.length / width);
+            Direction direction = DIRECTIONS[state % DIRECTIONS.length];
+            for (int type = 0; type < CardTransitionTable.CARD_TYPES; type++) {
+                long entry = table.get(position, direction, type);
+                int successor = -1;
+                if (!board.hasHole(position) && !CardTransitionTable.isDestroyed(entry)) {
+                    successor = board.cellIndex(CardTransitionTable.getPosition(entry)) * DIRECTIONS.length
+                            + CardTransitionTable.getDirection(entry).ordinal();
+                    firstPredecessor[successor + 1]++;
+                }
+                successors[state * CardTransitionTable.CARD_TYPES + type] = successor;
+            }
+        }
+        for (int state = 0; state < states; state++) {
+            firstPredecessor[state + 1] += firstPredecessor[state];
+        }
+        int[] predecessors = new int[firstPredecessor[states]];
+        int[] filled = Arrays.copyOf(firstPredecessor, states);
+        for (int i = 0; i < successors.length; i++) {
+            if (successors[i] != -1) {
+                predecessors[filled[successors[i]]++] = i / CardTransitionTable.CARD_TYPES;
+            }
+        }
+
+        int flagCount = 0;
+        for (Flag flag : board.getFlags()) {
+            flagCount = Math.max(flagCount, flag.getFlagnr());
+        }
+        byte[][] distances = new byte[flagCount][];
+        int[] queue = new int[states];
+        for (Flag flag : board.getFlags()) {
+            byte[] distance = new byte[states];
+            Arrays.fill(distance, (byte) UNREACHABLE_BYTE);
+            int head = 0;
+            int tail = 0;
+            int flagCell = board.cellIndex(GridPos.of(flag.getPosition()));
+            for (Direction direction : DIRECTIONS) {
+                int state = flagCell * DIRECTIONS.length + direction.ordinal();
+                distance[state] = 0;
+                queue[tail++] = state;
+            }
+            while (head < tail) {
+                int state = queue[head++];
+                int next = Math.min((distance[state] & 0xFF) + 1, MAX_DISTANCE);
+                for (int i = firstPredecessor[state]; i < firstPredecessor[state + 1]; i++) {
+                    int predecessor = predecessors[i];
+                    if ((distance[predecessor] & 0xFF) == UNREACHABLE_BYTE) {
+                        distance[predecessor] = (byte) next;
+                        queue[tail++] = predecessor;
+                    }
+                }
+            }
+            distances[flag.getFlagnr() - 1] = distance;
+        }
+        for (int i = 0; i < flagCount; i++) {
+            if (distances[i] == null) {
+                // A flag number that is missing on the map can not be reached
+                distances[i] = new byte[states];
+                Arrays.fill(distances[i], (byte) UNREACHABLE_BYTE);
+            }
+        }
+        return new FlagDistances(width, board.getBoardHeight(), distances);
+    }
+
+    // READ AND WRITE
+
+    /**
+     * @return distances in the buffer, or null if there are none or they are not for this board and version
+     */
+    private static FlagDistances read(ByteBuffer buffer, BoardLayers board) {
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            if (width != board.getBoardWidth() || height != board.getBoardHeight()) {
+                return null;
+            }
+            byte[][] distances = new byte[buffer.getInt()][width * height * DIRECTIONS.length];
+            for (byte[] distance : distances) {
+                buffer.get(distance);
+            }
+            return new FlagDistances(width, height, distances);
+        } catch (RuntimeException e) {
+            // Not a file this version wrote, e.g. cut short
+            return null;
+        }
+    }
+
+    private ByteBuffer toBuffer() {
+        int states = width * height * DIRECTIONS.length;
+        ByteBuffer buffer = ByteBuffer.allocate(5 * Integer.BYTES + distances.length * states);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height).putInt(distances.length);
+        for (byte[] distance : distances) {
+            buffer.put(distance);
+        }
+        // Buffer.flip(), the ByteBuffer override is missing on Java 8
+        ((Buffer) buffer).flip();
+        return buffer;
+    }
+}
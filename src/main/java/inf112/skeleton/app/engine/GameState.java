@@ -0,0 +1,270 @@
+package inf112.skeleton.app.engine;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.BoardLayers;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.objects.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable snapshot of all robots on a board. The board is shared by all states, and the state of
+ * the robots is kept in one small array per field. Changing a field copies only that array and shares
+ * the rest, so copying or branching a state costs O(robots) and never O(board).
+ *
+ * Robots are referred to by index, in the order they were given.
+ */
+public final class GameState {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final byte NO_DIRECTION = -1;
+
+    private final BoardLayers board;
+    private final int[] playerNumbers;
+    // Positions packed with GridPos
+    private final int[] positions;
+    private final int[] backupPositions;
+    private final byte[] directions;
+    private final byte[] backupDirections;
+    private final byte[] beltDirections;
+    private final byte[] damageTokens;
+    private final byte[] lifeTokens;
+    private final byte[] flagsCollected;
+    private final boolean[] poweredDown;
+    private final boolean[] destroyed;
+    private final ProgramCard[][] programs;
+
+    private GameState(BoardLayers board, int[] playerNumbers, int[] positions, int[] backupPositions,
+                      byte[] directions, byte[] backupDirections, byte[] beltDirections, byte[] damageTokens,
+                      byte[] lifeTokens, byte[] flagsCollected, boolean[] poweredDown, boolean[] destroyed,
+                      ProgramCard[][] programs) {
+        this.board = board;
+        this.playerNumbers = playerNumbers;
+        this.positions = positions;
+        this.backupPositions = backupPositions;
+        this.directions = directions;
+        this.backupDirections = backupDirections;
+        this.beltDirections = beltDirections;
+        this.damageTokens = damageTokens;
+        this.lifeTokens = lifeTokens;
+        this.flagsCollected = flagsCollected;
+        this.poweredDown = poweredDown;
+        this.destroyed = destroyed;
+        this.programs = programs;
+    }
+
+    /**
+     * @param board  robots are on
+     * @param robots to take a snapshot of
+     * @return state with the robots in the same order
+     */
+    public static GameState of(BoardLayers board, List<Robot> robots) {
+        int size = robots.size();
+        int[] playerNumbers = new int[size];
+        int[] positions = new int[size];
+        int[] backupPositions = new int[size];
+        byte[] directions = new byte[size];
+        byte[] backupDirections = new byte[size];
+        byte[] beltDirections = new byte[size];
+        byte[] damageTokens = new byte[size];
+        byte[] lifeTokens = new byte[size];
+        byte[] flagsCollected = new byte[size];
+        boolean[] poweredDown = new boolean[size];
+        boolean[] destroyed = new boolean[size];
+        ProgramCard[][] programs = new ProgramCard[size][];
+        for (int i = 0; i < size; i++) {
+            Robot robot = robots.get(i);
+            playerNumbers[i] = robot.getPlayerNumber();
+            positions[i] = robot.getGridPosition();
+            backupPositions[i] = robot.getBackupGridPosition();
+            directions[i] = toByte(robot.getDirection());
+            backupDirections[i] = toByte(robot.getBackupDirection());
+            beltDirections[i] = toByte(robot.getBeltDirection());
+            damageTokens[i] = (byte) robot.getDamageTokens();
+            lifeTokens[i] = (byte) robot.getLifeTokens();
+            flagsCollected[i] = (byte) robot.getFlagsCollected();
+            poweredDown[i] = robot.isPoweredDown();
+            destroyed[i] = robot.isDestroyed();
+            programs[i] = new ProgramCard[TurnResolver.REGISTERS];
+            for (int register = 0; register < TurnResolver.REGISTERS; register++) {
+                programs[i][register] = robot.getCard(register);
+            }
+        }
+        return new GameState(board, playerNumbers, positions, backupPositions, directions, backupDirections,
+                beltDirections, damageTokens, lifeTokens, flagsCollected, poweredDown, destroyed, programs);
+    }
+
+    /**
+     * @param board   players are on
+     * @param players to take a snapshot of
+     * @return state with the players in the same order
+     */
+    public static GameState ofPlayers(BoardLayers board, List<Player> players) {
+        ArrayList<Robot> robots = new ArrayList<>();
+        for (Player player : players) {
+            robots.add(new Robot(player));
+        }
+        return of(board, robots);
+    }
+
+    /**
+     * @return new mutable robots with this state, e.g. to give to {@link TurnResolver}
+     */
+    public ArrayList<Robot> toRobots() {
+        ArrayList<Robot> robots = new ArrayList<>();
+        for (int i = 0; i < playerNumbers.length; i++) {
+            Robot robot = new Robot(playerNumbers[i], positions[i], getDirection(i));
+            robot.setBackup(backupPositions[i], toDirection(backupDirections[i]));
+            robot.setBeltDirection(toDirection(beltDirections[i]));
+            robot.setDamageTokens(damageTokens[i]);
+            robot.setLifeTokens(lifeTokens[i]);
+            robot.setFlagsCollected(flagsCollected[i]);
+            robot.setPoweredDown(poweredDown[i]);
+            robot.setDestroyed(destroyed[i]);
+            for (int register = 0; register < TurnResolver.REGISTERS; register++) {
+                robot.setCard(register, programs[i][register]);
+            }
+            robots.add(robot);
+        }
+        return robots;
+    }
+
+    /**
+     * Resolve a turn from this state. This state is not changed.
+     *
+     * @return end state and events of the turn
+     */
+    public TurnResult resolveTurn() {
+        return new TurnResolver(board, toRobots()).resolve();
+    }
+
+    // CHANGE STATE
+
+    /**
+     * @param robot     index of robot
+     * @param position  new position
+     * @param direction new direction
+     * @return copy of this state where the robot has moved
+     */
+    public GameState withPosition(int robot, Vector2 position, Direction direction) {
+        int[] newPositions = positions.clone();
+        newPositions[robot] = GridPos.of(position);
+        byte[] newDirections = directions.clone();
+        newDirections[robot] = toByte(direction);
+        return new GameState(board, playerNumbers, newPositions, backupPositions, newDirections, backupDirections,
+                beltDirections, damageTokens, lifeTokens, flagsCollected, poweredDown, destroyed, programs);
+    }
+
+    /**
+     * @param robot        index of robot
+     * @param damageTokens new number of damage tokens
+     * @return copy of this state where the robot has this much damage
+     */
+    public GameState withDamageTokens(int robot, int damageTokens) {
+        byte[] newDamageTokens = this.damageTokens.clone();
+        newDamageTokens[robot] = (byte) damageTokens;
+        return new GameState(board, playerNumbers, positions, backupPositions, directions, backupDirections,
+                beltDirections, newDamageTokens, lifeTokens, flagsCollected, poweredDown, destroyed, programs);
+    }
+
+    /**
+     * @param robot   index of robot
+     * @param program cards for the registers, in order
+     * @return copy of this state where the robot has this program
+     */
+    public GameState withProgram(int robot, ProgramCard... program) {
+        ProgramCard[][] newPrograms = programs.clone();
+        newPrograms[robot] = new ProgramCard[TurnResolver.REGISTERS];
+        System.arraycopy(program, 0, newPrograms[robot], 0, Math.min(program.length, TurnResolver.REGISTERS));
+        return new GameState(board, playerNumbers, positions, backupPositions, directions, backupDirections,
+                beltDirections, damageTokens, lifeTokens, flagsCollected, poweredDown, destroyed, newPrograms);
+    }
+
+    // GET STATE
+
+    public BoardLayers getBoard() {
+        return board;
+    }
+
+    public int getRobotCount() {
+        return playerNumbers.length;
+    }
+
+    /**
+     * @param playerNumber of robot
+     * @return index of robot with this player number, or -1
+     */
+    public int indexOf(int playerNumber) {
+        for (int i = 0; i < playerNumbers.length; i++) {
+            if (playerNumbers[i] == playerNumber) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getPlayerNumber(int robot) {
+        return playerNumbers[robot];
+    }
+
+    public int getX(int robot) {
+        return GridPos.x(positions[robot]);
+    }
+
+    public int getY(int robot) {
+        return GridPos.y(positions[robot]);
+    }
+
+    public Vector2 getPosition(int robot) {
+        return GridPos.toVector(positions[robot]);
+    }
+
+    public Direction getDirection(int robot) {
+        return toDirection(directions[robot]);
+    }
+
+    public Vector2 getBackupPosition(int robot) {
+        return GridPos.toVector(backupPositions[robot]);
+    }
+
+    public Direction getBackupDirection(int robot) {
+        return toDirection(backupDirections[robot]);
+    }
+
+    public int getDamageTokens(int robot) {
+        return damageTokens[robot];
+    }
+
+    public int getLifeTokens(int robot) {
+        return lifeTokens[robot];
+    }
+
+    public int getFlagsCollected(int robot) {
+        return flagsCollected[robot];
+    }
+
+    public boolean isPoweredDown(int robot) {
+        return poweredDown[robot];
+    }
+
+    public boolean isDestroyed(int robot) {
+        return destroyed[robot];
+    }
+
+    public ProgramCard getCard(int robot, int register) {
+        return programs[robot][register];
+    }
+
+    // PACKING
+
+    private static byte toByte(Direction direction) {
+        return direction == null ? NO_DIRECTION : (byte) direction.ordinal();
+    }
+
+    private static Direction toDirection(byte direction) {
+        return direction == NO_DIRECTION ? null : DIRECTIONS[direction];
+    }
+}
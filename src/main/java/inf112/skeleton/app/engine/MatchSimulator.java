@@ -0,0 +1,221 @@
+package inf112.skeleton.app.engine;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.BoardLayers;
+import inf112.skeleton.app.board.CompositeMapBuilder;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.board.RespawnSearch;
+import inf112.skeleton.app.cards.Deck;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.enums.TurnEventType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Play many complete games on a map without a screen, sounds or waiting, spread over all cores
+ * with a {@link ForkJoinPool}. Every game gets its own seed, so a run can be repeated.
+ *
+ * Each turn the robots are dealt cards from a new {@link Deck}, choose a program with a
+ * {@link ProgramStrategy} and the turn is resolved by {@link TurnResolver}. Destroyed robots
+ * respawn at their backup position at the end of the turn. Power down is not simulated.
+ */
+public class MatchSimulator {
+
+    public static final int MAX_TURNS = 100;
+    private static final int GAMES_PER_TASK = 8;
+    private static final int CARDS_DEALT = 9;
+
+    private final BoardLayers board;
+    private final int numberOfPlayers;
+    private final ProgramStrategy strategy;
+
+    /**
+     * @param board           to play on, only read so it can be shared between threads
+     * @param numberOfPlayers robots in each game
+     * @param strategy        to choose programs with
+     */
+    public MatchSimulator(BoardLayers board, int numberOfPlayers, ProgramStrategy strategy) {
+        this.board = board;
+        this.numberOfPlayers = numberOfPlayers;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Play games on all cores.
+     *
+     * @param games to play
+     * @param seed  of first game, game number i uses seed + i
+     * @return statistics of all games
+     */
+    public SimulationReport run(int games, long seed) {
+        return run(games, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param games to play
+     * @param seed  of first game, game number i uses seed + i
+     * @param pool  to play the games in
+     * @return statistics of all games
+     */
+    public SimulationReport run(int games, long seed, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        SimulationReport report = pool.invoke(new GamesTask(seed, 0, games));
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * Play one game until a robot has all flags, all robots are dead or {@link #MAX_TURNS} is reached.
+     *
+     * @param seed of game
+     * @return statistics of this game
+     */
+    public SimulationReport playGame(long seed) {
+        SimulationReport report = new SimulationReport(board.getFlags().size());
+        Random random = new Random(seed);
+        ArrayList<Robot> robots = new ArrayList<>();
+        for (int playerNumber = 1; playerNumber <= numberOfPlayers; playerNumber++) {
+            Vector2 startPosition = board.getStartPosition(playerNumber);
+            if (startPosition != null) {
+                robots.add(new Robot(playerNumber, startPosition, Direction.EAST));
+            }
+        }
+        for (int turn = 1; turn <= MAX_TURNS; turn++) {
+            ArrayList<Robot> activeRobots = new ArrayList<>();
+            for (Robot robot : robots) {
+                if (robot.getLifeTokens() > 0) {
+                    activeRobots.add(robot);
+                }
+            }
+            if (activeRobots.isEmpty()) {
+                report.addGame(turn - 1, false);
+                return report;
+            }
+            Deck deck = new Deck(random);
+            for (Robot robot : activeRobots) {
+                programRobot(robot, deck, random);
+            }
+            TurnResult result = new TurnResolver(board, activeRobots).resolve();
+            for (TurnEvent event : result.getEvents()) {
+                if (event.getType() == TurnEventType.FLAG_TAKEN) {
+                    report.addFlagTaken(event.getValue(), turn);
+                }
+            }
+            if (result.hasWinner()) {
+                report.addGame(turn, true);
+                return report;
+            }
+            respawnRobots(activeRobots, random);
+        }
+        report.addGame(MAX_TURNS, false);
+        return report;
+    }
+
+    /**
+     * Deal cards and fill the registers that are not locked by damage.
+     */
+    private void programRobot(Robot robot, Deck deck, Random random) {
+        int damage = robot.getDamageTokens();
+        int lockedRegisters = Math.min(TurnResolver.REGISTERS, Math.max(0, damage - 4));
+        int openRegisters = TurnResolver.REGISTERS - lockedRegisters;
+        ArrayList<ProgramCard> hand = new ArrayList<>();
+        for (int card = 0; card < CARDS_DEALT - damage; card++) {
+            hand.add(deck.drawCard());
+        }
+        if (openRegisters == 0) {
+            return;
+        }
+        List<ProgramCard> program = strategy.program(robot, hand, openRegisters, random);
+        for (int register = 0; register < openRegisters; register++) {
+            robot.setCard(register, program.get(register));
+        }
+    }
+
+    /**
+     * Put destroyed robots with lives left back on their backup position, or on the nearest free position
+     * found by {@link RespawnSearch} if another robot is there.
+     */
+    private void respawnRobots(ArrayList<Robot> robots, Random random) {
+        BitSet occupied = new BitSet(board.getBoardWidth() * board.getBoardHeight());
+        for (Robot robot : robots) {
+            if (!robot.isDestroyed()) {
+                occupied.set(board.cellIndex(robot.getGridPosition()));
+            }
+        }
+        RespawnSearch search = new RespawnSearch(board, position -> occupied.get(board.cellIndex(position)), random);
+        for (Robot robot : robots) {
+            if (!robot.isDestroyed() || robot.getLifeTokens() <= 0) {
+                continue;
+            }
+            if (search.find(robot.getBackupGridPosition(), robot.getBackupDirection())) {
+                robot.setGridPosition(search.getPosition());
+                robot.setDirection(search.getDirection());
+            } else {
+                robot.setGridPosition(robot.getBackupGridPosition());
+                robot.setDirection(robot.getBackupDirection());
+            }
+            occupied.set(board.cellIndex(robot.getGridPosition()));
+            robot.setDestroyed(false);
+        }
+    }
+
+    /**
+     * Split the games in halves until there are few enough to play in one thread.
+     */
+    private class GamesTask extends RecursiveTask<SimulationReport> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        GamesTask(long seed, int from, int to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationReport compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                SimulationReport report = new SimulationReport(board.getFlags().size());
+                for (int game = from; game < to; game++) {
+                    report.add(playGame(seed + game));
+                }
+                return report;
+            }
+            int middle = (from + to) / 2;
+            GamesTask left = new GamesTask(seed, from, middle);
+            left.fork();
+            SimulationReport report = new GamesTask(seed, middle, to).compute();
+            report.add(left.join());
+            return report;
+        }
+    }
+
+    /**
+     * Play games from the command line.
+     *
+     * @param args map name or path, number of games, number of players and seed
+     */
+    public static void main(String[] args) {
+        String map = args.length > 0 ? args[0] : "Risky Exchange";
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.currentTimeMillis();
+        String mapPath = map.endsWith(".tmx") || map.endsWith(CompositeMapBuilder.EXTENSION) ? map
+                : "assets/maps/" + map + ".tmx";
+
+        MatchSimulator simulator = new MatchSimulator(new HeadlessBoard(mapPath), players, ProgramStrategy.RANDOM);
+        System.out.println("Playing " + games + " games with " + players + " robots on " + map
+                + " using " + ForkJoinPool.commonPool().getParallelism() + " threads, seed " + seed);
+        System.out.print(simulator.run(games, seed));
+    }
+}
@@ -0,0 +1,33 @@
+package inf112.skeleton.app.engine;
+
+import inf112.skeleton.app.cards.ProgramCard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Chooses the program of a robot from the cards it was dealt. Used by {@link MatchSimulator}
+ * to play games without players; a scripted strategy can be given as a lambda.
+ */
+public interface ProgramStrategy {
+
+    /**
+     * Choose random cards from the hand.
+     */
+    ProgramStrategy RANDOM = (robot, hand, openRegisters, random) -> {
+        ArrayList<ProgramCard> cards = new ArrayList<>(hand);
+        Collections.shuffle(cards, random);
+        return new ArrayList<>(cards.subList(0, openRegisters));
+    };
+
+    /**
+     * @param robot         to program
+     * @param hand          cards dealt to the robot
+     * @param openRegisters number of registers that are not locked by damage
+     * @param random        to use for any random choice, so games can be repeated
+     * @return openRegisters cards from the hand, in the order they should be played
+     */
+    List<ProgramCard> program(Robot robot, List<ProgramCard> hand, int openRegisters, Random random);
+}
@@ -0,0 +1,178 @@
+package inf112.skeleton.app.engine;
+
+import inf112.skeleton.app.board.BoardLayers;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Direction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Answers "where can this program take me": every end state a robot can reach by playing some of its cards
+ * in any order, for choosing cards, showing hints and for bots.
+ *
+ * Each register is looked up in the {@link CardTransitionTable} of the board, so an ordering of cards is a
+ * few array reads. Cards that do the same thing are only tried once in each register. Other robots, and
+ * repairs at the end of the turn, are not taken into account.
+ *
+ * A service is not thread safe, use one per thread.
+ */
+public class ReachabilityService {
+
+    private static final int KIND_BITS = 4;
+
+    private final BoardLayers board;
+    private final CardTransitionTable table;
+
+    // For cards that are not in the deck, and so not in the table
+    private final CardTransitionTable.SoloRegister soloRegister;
+
+    /**
+     * @param board to find end states on
+     */
+    public ReachabilityService(BoardLayers board) {
+        this.board = board;
+        this.table = CardTransitionTable.of(board);
+        this.soloRegister = new CardTransitionTable.SoloRegister(board);
+    }
+
+    /**
+     * @param robot         position, direction and damage to start from
+     * @param cards         cards the robot can choose from
+     * @param openRegisters number of cards to play
+     * @return every distinct end state, each with one program that ends there
+     */
+    public ArrayList<ReachableState> findEndStates(Robot robot, List<ProgramCard> cards, int openRegisters) {
+        return findEndStates(robot.getGridPosition(), robot.getDirection(), robot.getDamageTokens(),
+                cards, openRegisters);
+    }
+
+    /**
+     * @param position      packed with {@link GridPos}
+     * @param direction     robot is facing
+     * @param damageTokens  robot has before the program, so the states where it is destroyed are known
+     * @param cards         cards the robot can choose from
+     * @param openRegisters number of cards to play
+     * @return every distinct end state, each with one program that ends there
+     */
+    public ArrayList<ReachableState> findEndStates(int position, Direction direction, int damageTokens,
+                                                   List<ProgramCard> cards, int openRegisters) {
+        Search search = new Search(cards, Math.min(openRegisters, cards.size()), damageTokens);
+        search.play(0, position, direction, 0);
+        return new ArrayList<>(search.states.values());
+    }
+
+    /**
+     * @return entry of {@link CardTransitionTable} for one register
+     */
+    private long playRegister(int position, Direction direction, ProgramCard card, int type) {
+        if (type == -1) {
+            return soloRegister.play(position, direction, card);
+        }
+        return table.get(position, direction, type);
+    }
+
+    /**
+     * Depth first search over the orderings of the cards, one search per query.
+     */
+    private class Search {
+
+        private final List<ProgramCard> cards;
+        private final int[] kinds;
+        private final int openRegisters;
+        private final int damageTokens;
+        private final boolean[] used;
+        private final ProgramCard[] program;
+        // Number of unused cards of each kind, four bits per kind, or -1 if a card is not in the deck
+        private long remaining;
+        // Position, direction, damage and remaining cards already searched from
+        private final HashSet<Long> searched;
+        // End states by packed position, direction, damage and destroyed, in the order they were found
+        private final LinkedHashMap<Long, ReachableState> states;
+
+        Search(List<ProgramCard> cards, int openRegisters, int damageTokens) {
+            this.cards = cards;
+            this.kinds = new int[cards.size()];
+            for (int i = 0; i < kinds.length; i++) {
+                kinds[i] = CardTransitionTable.getType(cards.get(i));
+                if (kinds[i] == -1 || remaining == -1) {
+                    remaining = -1;
+                } else {
+                    remaining += 1L << KIND_BITS * kinds[i];
+                }
+            }
+            this.openRegisters = openRegisters;
+            this.damageTokens = damageTokens;
+            this.used = new boolean[cards.size()];
+            this.program = new ProgramCard[openRegisters];
+            this.searched = new HashSet<>();
+            this.states = new LinkedHashMap<>();
+        }
+
+        void play(int register, int position, Direction direction, int damageTaken) {
+            if (register == openRegisters) {
+                addState(position, direction, damageTaken, false, register);
+                return;
+            }
+            // The same cards left from the same state give the same end states, however the state was reached
+            if (remaining != -1 && !searched.add(remaining << 28 | (long) board.cellIndex(position) << 8
+                    | direction.ordinal() << 6 | Math.min(damageTaken, 63))) {
+                return;
+            }
+            for (int i = 0; i < cards.size(); i++) {
+                if (used[i] || isSameAsUnusedCardBefore(i)) {
+                    continue;
+                }
+                long result = playRegister(position, direction, cards.get(i), kinds[i]);
+                used[i] = true;
+                useCard(i, -1);
+                program[register] = cards.get(i);
+                int newPosition = CardTransitionTable.getPosition(result);
+                Direction newDirection = CardTransitionTable.getDirection(result);
+                int newDamage = damageTaken + CardTransitionTable.getDamage(result);
+                if (CardTransitionTable.isDestroyed(result)
+                        || damageTokens + newDamage >= TurnResolver.MAX_DAMAGE_TOKENS) {
+                    addState(newPosition, newDirection, newDamage, true, register + 1);
+                } else {
+                    play(register + 1, newPosition, newDirection, newDamage);
+                }
+                used[i] = false;
+                useCard(i, 1);
+            }
+        }
+
+        private void useCard(int card, int change) {
+            if (remaining != -1) {
+                remaining += (long) change << KIND_BITS * kinds[card];
+            }
+        }
+
+        /**
+         * Cards that do the same thing give the same end states, so only the first unused one is played.
+         */
+        private boolean isSameAsUnusedCardBefore(int card) {
+            if (kinds[card] == -1) {
+                return false;
+            }
+            for (int i = 0; i < card; i++) {
+                if (!used[i] && kinds[i] == kinds[card]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void addState(int position, Direction direction, int damageTaken, boolean destroyed,
+                              int cardsPlayed) {
+            long key = CardTransitionTable.pack(position, direction, damageTaken, destroyed);
+            if (!states.containsKey(key)) {
+                states.put(key, new ReachableState(position, direction, damageTaken, destroyed,
+                        new ArrayList<>(Arrays.asList(program).subList(0, cardsPlayed))));
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package inf112.skeleton.app.engine;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Direction;
+
+import java.util.List;
+
+/**
+ * Where a robot can end up after playing a program, found by {@link ReachabilityService}.
+ */
+public class ReachableState {
+
+    private final int position;
+    private final Direction direction;
+    private final int damageTaken;
+    private final boolean destroyed;
+    private final List<ProgramCard> program;
+
+    /**
+     * @param position    packed with {@link GridPos}, where the robot ended or was destroyed
+     * @param direction   robot is facing
+     * @param damageTaken from lasers during the program
+     * @param destroyed   true if the robot fell off the board, into a hole or took too much damage
+     * @param program     one program that ends here, in the order the cards are played
+     */
+    public ReachableState(int position, Direction direction, int damageTaken, boolean destroyed,
+                          List<ProgramCard> program) {
+        this.position = position;
+        this.direction = direction;
+        this.damageTaken = damageTaken;
+        this.destroyed = destroyed;
+        this.program = program;
+    }
+
+    public Vector2 getPosition() {
+        return GridPos.toVector(position);
+    }
+
+    /**
+     * @return position packed with {@link GridPos}
+     */
+    public int getGridPosition() {
+        return position;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public int getDamageTaken() {
+        return damageTaken;
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    /**
+     * @return cards to play to end here. If the robot is destroyed, only the cards until it was destroyed.
+     */
+    public List<ProgramCard> getProgram() {
+        return program;
+    }
+
+    @Override
+    public String toString() {
+        return getPosition() + " " + direction + " damage " + damageTaken + (destroyed ? " destroyed" : "");
+    }
+}
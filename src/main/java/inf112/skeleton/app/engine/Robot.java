@@ -0,0 +1,195 @@
+package inf112.skeleton.app.engine;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.objects.player.Player;
+
+/**
+ * The part of a {@link Player} that the rules care about. {@link TurnResolver} works on robots
+ * so a turn can be resolved without touching the players, the board layers or any sound.
+ *
+ * Positions are kept packed with {@link GridPos}. The {@link Vector2} methods are for the code around the engine.
+ */
+public class Robot {
+
+    private final int playerNumber;
+    private final ProgramCard[] program;
+    private int position;
+    private int backupPosition;
+    private Direction direction;
+    private Direction backupDirection;
+    private Direction beltDirection;
+    private int damageTokens;
+    private int lifeTokens;
+    private int flagsCollected;
+    private boolean poweredDown;
+    private boolean destroyed;
+
+    public Robot(int playerNumber, Vector2 position, Direction direction) {
+        this(playerNumber, GridPos.of(position), direction);
+    }
+
+    /**
+     * @param playerNumber of robot
+     * @param position     packed with {@link GridPos}
+     * @param direction    robot is facing
+     */
+    public Robot(int playerNumber, int position, Direction direction) {
+        this.playerNumber = playerNumber;
+        this.program = new ProgramCard[TurnResolver.REGISTERS];
+        this.position = position;
+        this.direction = direction;
+        this.backupPosition = position;
+        this.backupDirection = direction;
+        this.lifeTokens = 3;
+    }
+
+    /**
+     * Copy the rule state and the selected cards of a player.
+     *
+     * @param player to copy
+     */
+    public Robot(Player player) {
+        this(player.getPlayerNumber(), player.getPosition(), player.getDirection());
+        this.backupPosition = GridPos.of(player.getBackupPosition());
+        this.backupDirection = player.getBackupDirection();
+        this.beltDirection = player.getBeltPushDir();
+        this.damageTokens = player.getDamageTokens();
+        this.lifeTokens = player.getLifeTokens();
+        this.flagsCollected = player.getFlagsCollected().size();
+        this.poweredDown = player.isPoweredDown();
+        for (int register = 0; register < TurnResolver.REGISTERS; register++) {
+            program[register] = player.getRegisters().getCard(register);
+        }
+    }
+
+    public int getPlayerNumber() {
+        return playerNumber;
+    }
+
+    /**
+     * @param register to get card from
+     * @return card in register, or null if the register is empty
+     */
+    public ProgramCard getCard(int register) {
+        return program[register];
+    }
+
+    public void setCard(int register, ProgramCard card) {
+        program[register] = card;
+    }
+
+    /**
+     * @return new vector with the position of the robot
+     */
+    public Vector2 getPosition() {
+        return GridPos.toVector(position);
+    }
+
+    public void setPosition(Vector2 position) {
+        this.position = GridPos.of(position);
+    }
+
+    /**
+     * @return position packed with {@link GridPos}
+     */
+    public int getGridPosition() {
+        return position;
+    }
+
+    public void setGridPosition(int position) {
+        this.position = position;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * @return new vector with the backup position of the robot
+     */
+    public Vector2 getBackupPosition() {
+        return GridPos.toVector(backupPosition);
+    }
+
+    public int getBackupGridPosition() {
+        return backupPosition;
+    }
+
+    public Direction getBackupDirection() {
+        return backupDirection;
+    }
+
+    public void setBackup(Vector2 position, Direction direction) {
+        setBackup(GridPos.of(position), direction);
+    }
+
+    public void setBackup(int position, Direction direction) {
+        this.backupPosition = position;
+        this.backupDirection = direction;
+    }
+
+    /**
+     * @return direction of the last belt that moved this robot, or null if the robot has moved since
+     */
+    public Direction getBeltDirection() {
+        return beltDirection;
+    }
+
+    public void setBeltDirection(Direction beltDirection) {
+        this.beltDirection = beltDirection;
+    }
+
+    public int getDamageTokens() {
+        return damageTokens;
+    }
+
+    public void setDamageTokens(int damageTokens) {
+        this.damageTokens = damageTokens;
+    }
+
+    public int getLifeTokens() {
+        return lifeTokens;
+    }
+
+    public void setLifeTokens(int lifeTokens) {
+        this.lifeTokens = lifeTokens;
+    }
+
+    public int getFlagsCollected() {
+        return flagsCollected;
+    }
+
+    public void setFlagsCollected(int flagsCollected) {
+        this.flagsCollected = flagsCollected;
+    }
+
+    public boolean isPoweredDown() {
+        return poweredDown;
+    }
+
+    public void setPoweredDown(boolean poweredDown) {
+        this.poweredDown = poweredDown;
+    }
+
+    /**
+     * @return true if the robot has been destroyed this turn and waits for respawn
+     */
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    public void setDestroyed(boolean destroyed) {
+        this.destroyed = destroyed;
+    }
+
+    public String toString() {
+        return "Robot " + playerNumber;
+    }
+}
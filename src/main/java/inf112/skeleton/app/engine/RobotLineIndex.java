@@ -0,0 +1,123 @@
+package inf112.skeleton.app.engine;
+
+import inf112.skeleton.app.board.BoardLayers;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.enums.Direction;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Robots on the board sorted by row and by column, so the first robot along a line from a cell is found
+ * with a binary search instead of walking the line cell by cell.
+ *
+ * The index is a snapshot: it must be made again after robots have moved.
+ */
+class RobotLineIndex {
+
+    private final BoardLayers board;
+
+    // Keys y * width + x and x * height + y of each robot, sorted, with the index of the robot at the same place
+    private final int[] rowKeys;
+    private final int[] rowRobots;
+    private final int[] columnKeys;
+    private final int[] columnRobots;
+
+    /**
+     * @param board  robots are on
+     * @param robots to index, destroyed robots and robots outside the board are left out
+     */
+    RobotLineIndex(BoardLayers board, List<Robot> robots) {
+        this.board = board;
+        int width = board.getBoardWidth();
+        int height = board.getBoardHeight();
+        long[] rows = new long[robots.size()];
+        long[] columns = new long[robots.size()];
+        int size = 0;
+        for (int i = 0; i < robots.size(); i++) {
+            Robot robot = robots.get(i);
+            int position = robot.getGridPosition();
+            if (robot.isDestroyed() || board.outsideBoard(position)) {
+                continue;
+            }
+            int x = GridPos.x(position);
+            int y = GridPos.y(position);
+            rows[size] = (long) (y * width + x) << 32 | i;
+            columns[size] = (long) (x * height + y) << 32 | i;
+            size++;
+        }
+        Arrays.sort(rows, 0, size);
+        Arrays.sort(columns, 0, size);
+        this.rowKeys = new int[size];
+        this.rowRobots = new int[size];
+        this.columnKeys = new int[size];
+        this.columnRobots = new int[size];
+        for (int i = 0; i < size; i++) {
+            rowKeys[i] = (int) (rows[i] >>> 32);
+            rowRobots[i] = (int) rows[i];
+            columnKeys[i] = (int) (columns[i] >>> 32);
+            columnRobots[i] = (int) columns[i];
+        }
+    }
+
+    /**
+     * @param x         of cell to look from, not included
+     * @param y         of cell to look from, not included
+     * @param direction to look in
+     * @param distance  number of cells to look at
+     * @return index of the closest robot at most distance cells away in direction, or -1
+     */
+    int firstRobot(int x, int y, Direction direction, int distance) {
+        int width = board.getBoardWidth();
+        int height = board.getBoardHeight();
+        switch (direction) {
+            case EAST:
+                return after(rowKeys, rowRobots, y * width + x, y * width + Math.min(width - 1, x + distance));
+            case WEST:
+                return before(rowKeys, rowRobots, y * width + x, y * width + Math.max(0, x - distance));
+            case NORTH:
+                return after(columnKeys, columnRobots, x * height + y, x * height + Math.min(height - 1, y + distance));
+            case SOUTH:
+                return before(columnKeys, columnRobots, x * height + y, x * height + Math.max(0, y - distance));
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * @return robot with the smallest key in (from, to], or -1
+     */
+    private static int after(int[] keys, int[] robots, int from, int to) {
+        int i = lowerBound(keys, from + 1);
+        return i < keys.length && keys[i] <= to ? robots[i] : -1;
+    }
+
+    /**
+     * @return robot with the largest key in [to, from), or -1
+     */
+    private static int before(int[] keys, int[] robots, int from, int to) {
+        int i = lowerBound(keys, from) - 1;
+        if (i < 0 || keys[i] < to) {
+            return -1;
+        }
+        // Robots sharing a cell are sorted by index, take the first like TurnResolver.getRobot
+        return robots[lowerBound(keys, keys[i])];
+    }
+
+    /**
+     * @return first index with a key of at least key, or keys.length
+     */
+    private static int lowerBound(int[] keys, int key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
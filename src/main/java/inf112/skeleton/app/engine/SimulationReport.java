@@ -0,0 +1,120 @@
+package inf112.skeleton.app.engine;
+
+/**
+ * Statistics from games played by {@link MatchSimulator}. Reports from games played in parallel are
+ * combined with {@link #add(SimulationReport)}.
+ */
+public class SimulationReport {
+
+    private final long[] flagTurns;
+    private final int[] flagsTaken;
+    private int games;
+    private int wins;
+    private long turnsPlayed;
+    private long turnsToWin;
+    private long elapsedNanos;
+
+    /**
+     * @param numberOfFlags on the board
+     */
+    public SimulationReport(int numberOfFlags) {
+        this.flagTurns = new long[numberOfFlags];
+        this.flagsTaken = new int[numberOfFlags];
+    }
+
+    /**
+     * A robot picked up a flag.
+     *
+     * @param flagNumber of flag, starting at 1
+     * @param turn       the flag was picked up in, starting at 1
+     */
+    public void addFlagTaken(int flagNumber, int turn) {
+        flagTurns[flagNumber - 1] += turn;
+        flagsTaken[flagNumber - 1]++;
+    }
+
+    /**
+     * @param turns played in the game
+     * @param won   true if a robot picked up all flags
+     */
+    public void addGame(int turns, boolean won) {
+        games++;
+        turnsPlayed += turns;
+        if (won) {
+            wins++;
+            turnsToWin += turns;
+        }
+    }
+
+    /**
+     * Add all statistics from another report to this one.
+     *
+     * @param other report
+     */
+    public void add(SimulationReport other) {
+        for (int flag = 0; flag < flagTurns.length; flag++) {
+            flagTurns[flag] += other.flagTurns[flag];
+            flagsTaken[flag] += other.flagsTaken[flag];
+        }
+        games += other.games;
+        wins += other.wins;
+        turnsPlayed += other.turnsPlayed;
+        turnsToWin += other.turnsToWin;
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public long getTurnsPlayed() {
+        return turnsPlayed;
+    }
+
+    /**
+     * @return average number of turns in games that someone won, or 0 if no games were won
+     */
+    public double getAverageTurnsToWin() {
+        return wins == 0 ? 0 : (double) turnsToWin / wins;
+    }
+
+    /**
+     * @param flagNumber of flag, starting at 1
+     * @return average turn robots picked up this flag in, or 0 if no robot picked it up
+     */
+    public double getAverageTurnForFlag(int flagNumber) {
+        int taken = flagsTaken[flagNumber - 1];
+        return taken == 0 ? 0 : (double) flagTurns[flagNumber - 1] / taken;
+    }
+
+    /**
+     * @param flagNumber of flag, starting at 1
+     * @return how many times a robot picked up this flag
+     */
+    public int getTimesTaken(int flagNumber) {
+        return flagsTaken[flagNumber - 1];
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games / (elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder();
+        stringBuilder.append(String.format("%d games, %d won, %.1f games/sec%n", games, wins, getGamesPerSecond()));
+        stringBuilder.append(String.format("Average turns to win: %.2f%n", getAverageTurnsToWin()));
+        for (int flag = 1; flag <= flagTurns.length; flag++) {
+            stringBuilder.append(String.format("Flag %d: taken %d times, average turn %.2f%n",
+                    flag, getTimesTaken(flag), getAverageTurnForFlag(flag)));
+        }
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package inf112.skeleton.app.engine;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.enums.TurnEventType;
+import inf112.skeleton.app.enums.TurnPhase;
+
+/**
+ * Something that happened to a robot while {@link TurnResolver} resolved a turn.
+ * Events with the same tick happen at the same time, so the GUI animates them together.
+ */
+public class TurnEvent {
+
+    private final int tick;
+    private final int register;
+    private final TurnPhase phase;
+    private final TurnEventType type;
+    private final int playerNumber;
+    private final int position;
+    private final Direction direction;
+    private final int value;
+    private final ProgramCard card;
+
+    /**
+     * @param tick         when the event happened, increasing through the turn
+     * @param register     register being resolved
+     * @param phase        phase of the register
+     * @param type         what happened
+     * @param playerNumber robot it happened to, 0 if a board laser fired
+     * @param position     where the robot ended up, or where a laser beam starts, packed with {@link GridPos}
+     * @param direction    direction the robot faces after the event, or the direction of a laser beam
+     * @param value        damage, repair, flag number or laser beam length depending on type
+     * @param card         card that was played, null for other events
+     */
+    public TurnEvent(int tick, int register, TurnPhase phase, TurnEventType type, int playerNumber,
+                     int position, Direction direction, int value, ProgramCard card) {
+        this.tick = tick;
+        this.register = register;
+        this.phase = phase;
+        this.type = type;
+        this.playerNumber = playerNumber;
+        this.position = position;
+        this.direction = direction;
+        this.value = value;
+        this.card = card;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public int getRegister() {
+        return register;
+    }
+
+    public TurnPhase getPhase() {
+        return phase;
+    }
+
+    public TurnEventType getType() {
+        return type;
+    }
+
+    public int getPlayerNumber() {
+        return playerNumber;
+    }
+
+    /**
+     * @return new vector with the position of the event
+     */
+    public Vector2 getPosition() {
+        return GridPos.toVector(position);
+    }
+
+    public int getGridPosition() {
+        return position;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public ProgramCard getCard() {
+        return card;
+    }
+
+    public String toString() {
+        return tick + " " + phase + " " + type + " " + playerNumber + " " + position + " " + direction + " " + value;
+    }
+}
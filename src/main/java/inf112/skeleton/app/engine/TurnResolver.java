@@ -0,0 +1,718 @@
+package inf112.skeleton.app.engine;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.BoardLayers;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.enums.Rotate;
+import inf112.skeleton.app.enums.TurnEventType;
+import inf112.skeleton.app.enums.TurnPhase;
+import inf112.skeleton.app.objects.Laser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Resolves a turn for a list of {@link Robot}s on a board without sleeping, playing sounds
+ * or touching the map layers. Everything that happens is recorded as {@link TurnEvent}s,
+ * so the GUI can replay the turn at animation speed afterwards.
+ *
+ * Each register is resolved in this order:
+ * <ol>
+ *     <li>Robots play their cards in order of priority</li>
+ *     <li>Express belts move, then all belts move</li>
+ *     <li>Rotate pads turn</li>
+ *     <li>Robot lasers fire, then board lasers fire</li>
+ *     <li>Robots touch flags and repair tiles</li>
+ * </ol>
+ * At the end of the turn robots on flags and repair tiles are repaired.
+ */
+public class TurnResolver {
+
+    public static final int REGISTERS = 5;
+    public static final int MAX_DAMAGE_TOKENS = 10;
+
+    // Belt target of a robot that does not move
+    private static final int NO_TARGET = Integer.MIN_VALUE;
+
+    private final BoardLayers board;
+    private final ArrayList<Robot> robots;
+    private final ArrayList<TurnEvent> events;
+
+    /**
+     * Index + 1 of the robot in each cell x + y * width, 0 for empty cells, and the first robot in the list
+     * if robots share a cell. Kept up to date when the resolver moves or destroys a robot, and checked against
+     * the robots at the start of each phase, so robots changed from outside are seen from the next phase.
+     */
+    private final int[] occupancy;
+
+    // Number of robots in each cell, to know when a cell is shared
+    private final int[] robotsInCell;
+
+    // Cell each robot is marked in, -1 if it is destroyed or off the board
+    private final int[] markedCells;
+
+    private final IdentityHashMap<Robot, Integer> indices;
+
+    /**
+     * While belts move, index + 1 of the robot moving into each cell, or -1 if several robots move into it.
+     * Has a border of one cell around the board, since belts can move robots off the board.
+     */
+    private final int[] beltMovers;
+
+    /**
+     * Robots in the row found by {@link #getPushChainLength(int, Direction)}, nearest first.
+     */
+    private final Robot[] chain;
+
+    private int tick;
+    private int register;
+    private TurnPhase phase;
+
+    /**
+     * @param board  static board the robots are on
+     * @param robots robots to resolve the turn for, these are changed while resolving
+     */
+    public TurnResolver(BoardLayers board, List<Robot> robots) {
+        this.board = board;
+        this.robots = new ArrayList<>(robots);
+        this.events = new ArrayList<>();
+        this.occupancy = new int[board.getBoardWidth() * board.getBoardHeight()];
+        this.robotsInCell = new int[occupancy.length];
+        this.markedCells = new int[robots.size()];
+        Arrays.fill(markedCells, -1);
+        this.indices = new IdentityHashMap<>();
+        for (int i = 0; i < robots.size(); i++) {
+            indices.put(this.robots.get(i), i);
+        }
+        this.beltMovers = new int[(board.getBoardWidth() + 2) * (board.getBoardHeight() + 2)];
+        this.chain = new Robot[robots.size()];
+        this.tick = 0;
+        this.register = 0;
+        this.phase = TurnPhase.CARDS;
+        updateOccupancy();
+    }
+
+    /**
+     * Resolve all registers, or until a robot has picked up all flags.
+     *
+     * @return end state of the robots and the events on the way there
+     */
+    public TurnResult resolve() {
+        for (int cardNumber = 0; cardNumber < REGISTERS; cardNumber++) {
+            playRegister(cardNumber);
+            activateBelts(true);
+            activateBelts(false);
+            activateRotatePads();
+            fireRobotLasers();
+            destroyDamagedRobots();
+            fireWallLasers();
+            destroyDamagedRobots();
+            touchCheckpoints(false);
+            if (getWinner() != null) {
+                return getResult();
+            }
+        }
+        touchCheckpoints(true);
+        return getResult();
+    }
+
+    /**
+     * @return the robots and events so far
+     */
+    public TurnResult getResult() {
+        return new TurnResult(board, robots, events, getWinner());
+    }
+
+    public ArrayList<TurnEvent> getEvents() {
+        return events;
+    }
+
+    public ArrayList<Robot> getRobots() {
+        return robots;
+    }
+
+    /**
+     * @param playerNumber of robot
+     * @return robot with this player number, or null
+     */
+    public Robot getRobot(int playerNumber) {
+        for (Robot robot : robots) {
+            if (robot.getPlayerNumber() == playerNumber) {
+                return robot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return first robot that has picked up all flags on the board, or null
+     */
+    public Robot getWinner() {
+        for (Robot robot : robots) {
+            if (!board.getFlags().isEmpty() && robot.getFlagsCollected() == board.getFlags().size()) {
+                return robot;
+            }
+        }
+        return null;
+    }
+
+    // CARDS
+
+    /**
+     * All robots that are powered up and have a card in this register play it, highest priority first.
+     *
+     * @param cardNumber register to play
+     */
+    public void playRegister(int cardNumber) {
+        this.register = cardNumber;
+        ArrayList<Robot> order = new ArrayList<>();
+        for (Robot robot : robots) {
+            if (!robot.isDestroyed() && !robot.isPoweredDown() && robot.getCard(cardNumber) != null) {
+                order.add(robot);
+            }
+        }
+        order.sort((robot1, robot2) ->
+                robot2.getCard(cardNumber).getPriority() - robot1.getCard(cardNumber).getPriority());
+        updateOccupancy();
+        for (Robot robot : order) {
+            if (!robot.isDestroyed()) {
+                resolveCard(robot, cardNumber);
+            }
+        }
+    }
+
+    /**
+     * Rotate or move a robot according to the card in a register.
+     *
+     * @param robot      to play card
+     * @param cardNumber register with card
+     */
+    public void playCard(Robot robot, int cardNumber) {
+        updateOccupancy();
+        resolveCard(robot, cardNumber);
+    }
+
+    private void resolveCard(Robot robot, int cardNumber) {
+        this.register = cardNumber;
+        this.phase = TurnPhase.CARDS;
+        ProgramCard card = robot.getCard(cardNumber);
+        robot.setBeltDirection(null);
+        nextTick();
+        addEvent(TurnEventType.CARD_PLAYED, robot, 0, card);
+        switch (card.getRotate()) {
+            case RIGHT:
+                rotate(robot, robot.getDirection().turnRight());
+                break;
+            case LEFT:
+                rotate(robot, robot.getDirection().turnLeft());
+                break;
+            case UTURN:
+                rotate(robot, robot.getDirection().turnAround());
+                break;
+            case NONE:
+                if (card.getDistance() == -1) {
+                    step(robot, robot.getDirection().turnAround());
+                } else {
+                    for (int distance = 0; distance < card.getDistance(); distance++) {
+                        if (distance > 0) {
+                            nextTick();
+                        }
+                        if (!step(robot, robot.getDirection())) {
+                            break;
+                        }
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Move a robot one step outside of a card, pushing all robots in front of it if possible,
+     * e.g. for {@link inf112.skeleton.app.board.Board#movePlayer}.
+     *
+     * @param robot     to move
+     * @param direction to move in
+     * @return true if the robot moved and is still on the board
+     */
+    public boolean moveRobot(Robot robot, Direction direction) {
+        this.phase = TurnPhase.CARDS;
+        nextTick();
+        updateOccupancy();
+        return step(robot, direction);
+    }
+
+    /**
+     * Move a robot one step, pushing all robots in front of it if possible.
+     *
+     * @param robot     to move
+     * @param direction to move in
+     * @return true if the robot moved and is still on the board
+     */
+    private boolean step(Robot robot, Direction direction) {
+        if (!board.canGo(robot.getGridPosition(), direction)) {
+            addEvent(TurnEventType.BLOCKED, robot, 0, null);
+            return false;
+        }
+        int target = GridPos.neighbour(robot.getGridPosition(), direction);
+        int pushed = getPushChainLength(target, direction);
+        if (pushed < 0) {
+            return false;
+        }
+        pushChain(pushed, direction);
+        move(robot, target, TurnEventType.MOVED);
+        return !robot.isDestroyed();
+    }
+
+    /**
+     * Find the row of robots standing from a cell and on in a direction, and check that a robot moving
+     * into the cell can push all of them one step. The row is kept until the next call, so a following
+     * push does not have to find it again. Each cell is one lookup in the occupancy grid, so this is cheap
+     * enough for bots to call when planning moves.
+     *
+     * @param position  packed with {@link GridPos}, of the first cell in the row
+     * @param direction to push in
+     * @return number of robots in the row, 0 if the cell is empty, or -1 if a wall stops one of them
+     */
+    public int getPushChainLength(int position, Direction direction) {
+        int length = collectChain(position, direction);
+        for (int i = 0; i < length; i++) {
+            if (!board.canGo(chain[i].getGridPosition(), direction)) {
+                return -1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Put the row of robots standing from a cell and on in a direction in {@link #chain}, nearest first.
+     *
+     * @return number of robots in the row
+     */
+    private int collectChain(int position, Direction direction) {
+        int length = 0;
+        Robot robot = getRobotAt(position);
+        while (robot != null) {
+            chain[length++] = robot;
+            position = GridPos.neighbour(position, direction);
+            robot = getRobotAt(position);
+        }
+        return length;
+    }
+
+    /**
+     * Push the row of robots last put in {@link #chain} one step,
+     * farthest robot first so the events come in the same order as before.
+     *
+     * @param length    of the row
+     * @param direction to push in
+     */
+    private void pushChain(int length, Direction direction) {
+        for (int i = length - 1; i >= 0; i--) {
+            Robot robot = chain[i];
+            move(robot, GridPos.neighbour(robot.getGridPosition(), direction), TurnEventType.PUSHED);
+        }
+    }
+
+    /**
+     * Put robot in a new position, and destroy it if it left the board or fell in a hole.
+     */
+    private void move(Robot robot, int position, TurnEventType type) {
+        robot.setGridPosition(position);
+        updateCell(indices.get(robot));
+        if (type != TurnEventType.BELTED) {
+            robot.setBeltDirection(null);
+        }
+        addEvent(type, robot, 0, null);
+        if (board.outsideBoard(position) || board.hasHole(position)) {
+            destroy(robot);
+        }
+    }
+
+    private void rotate(Robot robot, Direction direction) {
+        robot.setDirection(direction);
+        addEvent(TurnEventType.ROTATED, robot, 0, null);
+    }
+
+    // BOARD ELEMENTS
+
+    /**
+     * Move all robots standing on a belt one step in the direction of the belt. All belts move at the same time:
+     * robots moving to the same position stay where they are, and robots standing still in front of a belt
+     * are pushed if possible.
+     *
+     * A robot on a belt that turns compared to the last belt that moved it is turned the same way.
+     *
+     * @param onlyExpress true to only move express belts
+     */
+    public void activateBelts(boolean onlyExpress) {
+        this.phase = onlyExpress ? TurnPhase.EXPRESS_BELTS : TurnPhase.BELTS;
+        if (board.getExpressBelts().isEmpty() && (onlyExpress || board.getBelts().isEmpty())) {
+            return;
+        }
+        nextTick();
+        updateOccupancy();
+        Direction[] pushDirections = new Direction[robots.size()];
+        int[] targets = new int[robots.size()];
+        Arrays.fill(targets, NO_TARGET);
+        for (int i = 0; i < robots.size(); i++) {
+            Robot robot = robots.get(i);
+            if (robot.isDestroyed() || onlyExpress && !board.hasExpressBelt(robot.getGridPosition())) {
+                continue;
+            }
+            Direction beltDirection = board.getBeltDirection(robot.getGridPosition());
+            if (beltDirection == null) {
+                continue;
+            }
+            Direction lastPush = robot.getBeltDirection();
+            if (lastPush != null && beltDirection == lastPush.turnRight()) {
+                rotate(robot, robot.getDirection().turnRight());
+            } else if (lastPush != null && beltDirection == lastPush.turnLeft()) {
+                rotate(robot, robot.getDirection().turnLeft());
+            }
+            robot.setBeltDirection(beltDirection);
+            if (board.canGo(robot.getGridPosition(), beltDirection)) {
+                pushDirections[i] = beltDirection;
+                targets[i] = GridPos.neighbour(robot.getGridPosition(), beltDirection);
+            }
+        }
+        cancelBlockedBeltMoves(targets);
+        // A robot standing still can have been pushed into the path of a later move, so look the cell up again
+        for (int i = 0; i < robots.size(); i++) {
+            if (targets[i] != NO_TARGET) {
+                int standing = getRobotIndexAt(targets[i]);
+                if (standing != -1 && targets[standing] == NO_TARGET) {
+                    pushChain(collectChain(targets[i], pushDirections[i]), pushDirections[i]);
+                }
+            }
+        }
+        for (int i = 0; i < robots.size(); i++) {
+            if (targets[i] != NO_TARGET) {
+                move(robots.get(i), targets[i], TurnEventType.BELTED);
+            }
+        }
+    }
+
+    /**
+     * Stop belt moves where two or more robots would end up in the same position, or where a robot would run
+     * into a robot that stands still and can not be pushed. Stopping one robot can block the robot moving
+     * into its cell, so stopped robots are followed back along the belts until nothing more is stopped.
+     *
+     * Moves into each cell are counted in {@link #beltMovers}, so every robot is looked at a constant number
+     * of times, and which moves are stopped does not depend on the order of the robots.
+     *
+     * @param targets position each robot moves to, set to NO_TARGET for moves that are stopped
+     */
+    private void cancelBlockedBeltMoves(int[] targets) {
+        int[] targetCells = new int[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] != NO_TARGET) {
+                int cell = paddedCell(targets[i]);
+                targetCells[i] = cell;
+                beltMovers[cell] = beltMovers[cell] == 0 ? i + 1 : -1;
+            }
+        }
+        // Robots that stand still, each is put here once
+        int[] standing = new int[targets.length];
+        int size = 0;
+        for (int i = 0; i < targets.length; i++) {
+            if (targets[i] == NO_TARGET) {
+                if (!robots.get(i).isDestroyed()) {
+                    standing[size++] = i;
+                }
+            } else if (beltMovers[targetCells[i]] < 0) {
+                targets[i] = NO_TARGET;
+                standing[size++] = i;
+            }
+        }
+        while (size > 0) {
+            int mover = beltMovers[paddedCell(robots.get(standing[--size]).getGridPosition())] - 1;
+            if (mover < 0 || targets[mover] == NO_TARGET) {
+                continue;
+            }
+            if (getPushChainLength(targets[mover], robots.get(mover).getBeltDirection()) < 0) {
+                targets[mover] = NO_TARGET;
+                standing[size++] = mover;
+            }
+        }
+        for (int i = 0; i < targets.length; i++) {
+            if (targetCells[i] != 0) {
+                beltMovers[targetCells[i]] = 0;
+            }
+        }
+    }
+
+    /**
+     * @param position on the board or next to it, packed with {@link GridPos}
+     * @return index of the position in {@link #beltMovers}
+     */
+    private int paddedCell(int position) {
+        return GridPos.x(position) + 1 + (GridPos.y(position) + 1) * (board.getBoardWidth() + 2);
+    }
+
+    /**
+     * Turn all robots standing on a rotate pad.
+     */
+    public void activateRotatePads() {
+        this.phase = TurnPhase.ROTATE_PADS;
+        nextTick();
+        for (Robot robot : robots) {
+            if (robot.isDestroyed()) {
+                continue;
+            }
+            Rotate rotation = board.getRotation(robot.getGridPosition());
+            if (rotation == null) {
+                continue;
+            }
+            switch (rotation) {
+                case LEFT:
+                    rotate(robot, robot.getDirection().turnLeft());
+                    break;
+                case RIGHT:
+                    rotate(robot, robot.getDirection().turnRight());
+                    break;
+                case UTURN:
+                    rotate(robot, robot.getDirection().turnAround());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    // LASERS
+
+    /**
+     * All robots fire their laser in the direction they are facing. The robot hit is found with a search in
+     * a {@link RobotLineIndex} within the reach of the laser, instead of walking the beam.
+     */
+    public void fireRobotLasers() {
+        this.phase = TurnPhase.ROBOT_LASERS;
+        nextTick();
+        updateOccupancy();
+        RobotLineIndex index = new RobotLineIndex(board, robots);
+        for (Robot robot : robots) {
+            int position = robot.getGridPosition();
+            Direction direction = robot.getDirection();
+            if (robot.isDestroyed() || !board.canFire(position, direction)) {
+                continue;
+            }
+            int start = GridPos.neighbour(position, direction);
+            if (board.outsideBoard(position)) {
+                fire(robot.getPlayerNumber(), start, direction);
+                continue;
+            }
+            int reach = board.getFireReach(position, direction);
+            int hit = index.firstRobot(GridPos.x(position), GridPos.y(position), direction, reach);
+            Robot target = hit == -1 ? null : robots.get(hit);
+            int length = target == null ? reach : GridPos.distance(position, target.getGridPosition());
+            events.add(new TurnEvent(tick, register, phase, TurnEventType.LASER_FIRED, robot.getPlayerNumber(),
+                    start, direction, length, null));
+            if (target != null) {
+                damage(target);
+            }
+        }
+    }
+
+    /**
+     * All lasers on the board fire. Each beam only has to find the first robot along its precomputed cells.
+     */
+    public void fireWallLasers() {
+        this.phase = TurnPhase.WALL_LASERS;
+        nextTick();
+        updateOccupancy();
+        for (Laser laser : board.getLasers()) {
+            int[] beam = laser.getBeam();
+            int length = 0;
+            int hit = 0;
+            while (hit == 0 && length < beam.length) {
+                hit = occupancy[beam[length]];
+                length++;
+            }
+            events.add(new TurnEvent(tick, register, phase, TurnEventType.LASER_FIRED, 0,
+                    GridPos.of(laser.getStartPosition()), laser.getDirection(), length, null));
+            if (hit > 0) {
+                damage(robots.get(hit - 1));
+            }
+        }
+    }
+
+    /**
+     * Fire a laser beam until it hits a robot or a wall, or leaves the board.
+     *
+     * @param shooter   player number of robot firing, 0 for board lasers
+     * @param start     first position of the beam
+     * @param direction of the beam
+     */
+    private void fire(int shooter, int start, Direction direction) {
+        int position = start;
+        int length = 1;
+        Robot target = getRobotAt(position);
+        while (target == null && board.canFire(position, direction)) {
+            position = GridPos.neighbour(position, direction);
+            target = getRobotAt(position);
+            length++;
+        }
+        events.add(new TurnEvent(tick, register, phase, TurnEventType.LASER_FIRED, shooter,
+                start, direction, length, null));
+        if (target != null) {
+            damage(target);
+        }
+    }
+
+    private void damage(Robot robot) {
+        robot.setDamageTokens(robot.getDamageTokens() + 1);
+        addEvent(TurnEventType.LASERED, robot, 1, null);
+    }
+
+    /**
+     * Destroy all robots with too much damage.
+     */
+    public void destroyDamagedRobots() {
+        for (Robot robot : robots) {
+            if (!robot.isDestroyed() && robot.getDamageTokens() >= MAX_DAMAGE_TOKENS) {
+                destroy(robot);
+            }
+        }
+    }
+
+    private void destroy(Robot robot) {
+        robot.setDestroyed(true);
+        robot.setLifeTokens(robot.getLifeTokens() - 1);
+        robot.setDamageTokens(0);
+        robot.setBeltDirection(null);
+        updateCell(indices.get(robot));
+        addEvent(TurnEventType.DIED, robot, 0, null);
+    }
+
+    // CHECKPOINTS
+
+    /**
+     * Robots on repair tiles and flags get a new backup position, and robots pick up the next flag.
+     *
+     * @param repair true at the end of the turn, when robots on repair tiles and flags are repaired
+     */
+    public void touchCheckpoints(boolean repair) {
+        this.phase = TurnPhase.CHECKPOINTS;
+        nextTick();
+        for (Robot robot : robots) {
+            if (robot.isDestroyed()) {
+                continue;
+            }
+            int flagNumber = board.getFlagNumber(robot.getGridPosition());
+            if (board.hasRepairTile(robot.getGridPosition()) || flagNumber > 0) {
+                touch(robot, repair);
+            }
+            if (flagNumber > 0 && flagNumber == robot.getFlagsCollected() + 1) {
+                robot.setFlagsCollected(flagNumber);
+                addEvent(TurnEventType.FLAG_TAKEN, robot, flagNumber, null);
+            }
+        }
+    }
+
+    private void touch(Robot robot, boolean repair) {
+        robot.setBackup(robot.getGridPosition(), robot.getDirection());
+        addEvent(TurnEventType.BACKUP_SET, robot, 0, null);
+        if (repair && robot.getDamageTokens() > 0) {
+            robot.setDamageTokens(robot.getDamageTokens() - 1);
+            addEvent(TurnEventType.REPAIRED, robot, 1, null);
+        }
+    }
+
+    // HELPERS
+
+    /**
+     * @param position to check
+     * @return robot on the board in this position, or null
+     */
+    public Robot getRobot(Vector2 position) {
+        return getRobotAt(GridPos.of(position));
+    }
+
+    /**
+     * Looks the position up in the occupancy grid, which has robots as they were at the start of the last
+     * phase and every move the resolver has made since.
+     *
+     * @param position packed with {@link GridPos}
+     * @return robot on the board in this position, or null
+     */
+    public Robot getRobotAt(int position) {
+        int index = getRobotIndexAt(position);
+        return index == -1 ? null : robots.get(index);
+    }
+
+    /**
+     * @param position packed with {@link GridPos}
+     * @return index of robot on the board in this position, or -1
+     */
+    private int getRobotIndexAt(int position) {
+        if (board.outsideBoard(position)) {
+            return -1;
+        }
+        return occupancy[board.cellIndex(position)] - 1;
+    }
+
+    /**
+     * Mark every robot in {@link #occupancy} where it is now. Only robots that have changed cell since they
+     * were marked change the grid.
+     */
+    private void updateOccupancy() {
+        for (int i = 0; i < robots.size(); i++) {
+            updateCell(i);
+        }
+    }
+
+    /**
+     * Move the mark of a robot in {@link #occupancy} to the cell it is in now.
+     *
+     * @param index of robot
+     */
+    private void updateCell(int index) {
+        Robot robot = robots.get(index);
+        int position = robot.getGridPosition();
+        int cell = robot.isDestroyed() || board.outsideBoard(position) ? -1 : board.cellIndex(position);
+        int oldCell = markedCells[index];
+        if (cell == oldCell) {
+            return;
+        }
+        markedCells[index] = cell;
+        if (oldCell != -1) {
+            robotsInCell[oldCell]--;
+            if (occupancy[oldCell] == index + 1) {
+                occupancy[oldCell] = robotsInCell[oldCell] == 0 ? 0 : firstRobotMarkedIn(oldCell) + 1;
+            }
+        }
+        if (cell != -1) {
+            robotsInCell[cell]++;
+            if (occupancy[cell] == 0 || index < occupancy[cell] - 1) {
+                occupancy[cell] = index + 1;
+            }
+        }
+    }
+
+    /**
+     * Only needed when robots share a cell, which the rules do not let happen after a move.
+     */
+    private int firstRobotMarkedIn(int cell) {
+        for (int i = 0; i < markedCells.length; i++) {
+            if (markedCells[i] == cell) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void nextTick() {
+        tick++;
+    }
+
+    private void addEvent(TurnEventType type, Robot robot, int value, ProgramCard card) {
+        events.add(new TurnEvent(tick, register, phase, type, robot.getPlayerNumber(),
+                robot.getGridPosition(), robot.getDirection(), value, card));
+    }
+}
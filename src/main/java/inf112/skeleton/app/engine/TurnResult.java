@@ -0,0 +1,55 @@
+package inf112.skeleton.app.engine;
+
+import inf112.skeleton.app.board.BoardLayers;
+
+import java.util.ArrayList;
+
+/**
+ * End state of the robots after a turn, and the events that got them there.
+ */
+public class TurnResult {
+
+    private final BoardLayers board;
+    private final ArrayList<Robot> robots;
+    private final ArrayList<TurnEvent> events;
+    private final Robot winner;
+
+    public TurnResult(BoardLayers board, ArrayList<Robot> robots, ArrayList<TurnEvent> events, Robot winner) {
+        this.board = board;
+        this.robots = robots;
+        this.events = events;
+        this.winner = winner;
+    }
+
+    /**
+     * @return all robots, including robots destroyed during the turn
+     */
+    public ArrayList<Robot> getRobots() {
+        return robots;
+    }
+
+    /**
+     * @return snapshot of the robots after the turn
+     */
+    public GameState getState() {
+        return GameState.of(board, robots);
+    }
+
+    /**
+     * @return events in the order they happened
+     */
+    public ArrayList<TurnEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * @return the robot that picked up its last flag, or null if nobody won this turn
+     */
+    public Robot getWinner() {
+        return winner;
+    }
+
+    public boolean hasWinner() {
+        return winner != null;
+    }
+}
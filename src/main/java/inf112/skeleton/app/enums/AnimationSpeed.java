@@ -0,0 +1,31 @@
+package inf112.skeleton.app.enums;
+
+/**
+ * How fast a resolved turn is shown on the board. Every pause in the game loop is scaled by the factor.
+ */
+public enum AnimationSpeed {
+    NORMAL("Normal", 1f),
+    FAST("Fast", 0.3f),
+    INSTANT("Instant", 0f);
+
+    private final String name;
+    private final float factor;
+
+    AnimationSpeed(String name, float factor) {
+        this.name = name;
+        this.factor = factor;
+    }
+
+    /**
+     * @param milliseconds pause at normal speed
+     * @return pause at this speed
+     */
+    public int scale(int milliseconds) {
+        return Math.round(milliseconds * factor);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
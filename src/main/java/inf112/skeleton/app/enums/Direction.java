@@ -1,9 +1,5 @@
 package inf112.skeleton.app.enums;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-
 public enum Direction {
     WEST,
     EAST,
@@ -60,11 +56,5 @@ public enum Direction {
                 return null;
         }
     }
-
-    public static List<Direction> getDirectionRandomOrder() {
-        List<Direction> directions = Arrays.asList(Direction.values());
-        Collections.shuffle(directions);
-        return directions;
-    }
 }
 
@@ -2,11 +2,13 @@ package inf112.skeleton.app.enums;
 
 /**
  * Messages to communicate between Host and Client.
+ * The ordinal is the type byte of a frame on the wire, see {@link inf112.skeleton.app.lan.FrameCodec}.
  */
 public enum Messages {
     QUIT, HOST_LEAVES, CLOSED,
     DECK_BEGIN, DECK_END, HERE_IS_MAP, YOUR_NUMBER, PLAYERS,
     START_TURN, CONTINUE_TURN,
     POWERING_DOWN, POWER_UP, CONTINUE_POWER_DOWN,
-    STOP_THREAD;
+    STOP_THREAD,
+    CARD;
 }
@@ -0,0 +1,19 @@
+package inf112.skeleton.app.enums;
+
+/**
+ * What happened to a robot in a {@link inf112.skeleton.app.engine.TurnEvent}.
+ */
+public enum TurnEventType {
+    CARD_PLAYED,
+    MOVED,
+    PUSHED,
+    BLOCKED,
+    BELTED,
+    ROTATED,
+    LASER_FIRED,
+    LASERED,
+    DIED,
+    BACKUP_SET,
+    FLAG_TAKEN,
+    REPAIRED
+}
@@ -0,0 +1,14 @@
+package inf112.skeleton.app.enums;
+
+/**
+ * The phases of a register, in the order they are resolved.
+ */
+public enum TurnPhase {
+    CARDS,
+    EXPRESS_BELTS,
+    BELTS,
+    ROTATE_PADS,
+    ROBOT_LASERS,
+    WALL_LASERS,
+    CHECKPOINTS
+}
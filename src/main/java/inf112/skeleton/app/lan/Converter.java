@@ -8,7 +8,7 @@ import java.util.ArrayList;
 
 /**
  * Convert from a string to a programcard and vica verca.
- * Used to send cards between sockets.
+ * This was the text sent between sockets before {@link FrameCodec}.
  */
 public class Converter {
 
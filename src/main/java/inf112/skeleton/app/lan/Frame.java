@@ -0,0 +1,171 @@
+package inf112.skeleton.app.lan;
+
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Messages;
+
+import java.util.Objects;
+
+/**
+ * One message between host and clients, sent and received with a {@link FrameCodec}.
+ * A frame has a type, the number of the player it is from if any, and a card, a number or a map path
+ * depending on the type.
+ */
+public final class Frame {
+
+    private static final Messages[] MESSAGES = Messages.values();
+
+    // Frames without a player or values are the same every time, so they are only made once
+    private static final Frame[] PLAIN_FRAMES = new Frame[MESSAGES.length];
+
+    static {
+        for (Messages type : MESSAGES) {
+            PLAIN_FRAMES[type.ordinal()] = new Frame(type, 0, null, 0, null);
+        }
+    }
+
+    private final Messages type;
+    private final int playerNumber;
+    private final ProgramCard card;
+    private final int number;
+    private final String mapPath;
+
+    private Frame(Messages type, int playerNumber, ProgramCard card, int number, String mapPath) {
+        this.type = type;
+        this.playerNumber = playerNumber;
+        this.card = card;
+        this.number = number;
+        this.mapPath = mapPath;
+    }
+
+    /**
+     * @param type of message, e.g. {@link Messages#START_TURN}
+     * @return frame that is not from a player
+     */
+    public static Frame of(Messages type) {
+        return PLAIN_FRAMES[type.ordinal()];
+    }
+
+    /**
+     * @param playerNumber of player sending
+     * @param type         of message, e.g. {@link Messages#POWER_UP}
+     * @return frame from a player
+     */
+    public static Frame fromPlayer(int playerNumber, Messages type) {
+        return playerNumber == 0 ? of(type) : new Frame(type, playerNumber, null, 0, null);
+    }
+
+    /**
+     * @param card in the deck
+     * @return frame with a card that is not from a player
+     */
+    public static Frame card(ProgramCard card) {
+        return card(0, card);
+    }
+
+    /**
+     * @param playerNumber of player who selected the card
+     * @param card         selected
+     * @return frame with a card from a player
+     */
+    public static Frame card(int playerNumber, ProgramCard card) {
+        return new Frame(Messages.CARD, playerNumber, card, 0, null);
+    }
+
+    /**
+     * @param type   {@link Messages#YOUR_NUMBER} or {@link Messages#PLAYERS}
+     * @param number player number or number of players
+     * @return frame with a number
+     */
+    public static Frame number(Messages type, int number) {
+        return new Frame(type, 0, null, number, null);
+    }
+
+    /**
+     * @param mapPath of map chosen by host
+     * @return frame with map path
+     */
+    public static Frame mapPath(String mapPath) {
+        return new Frame(Messages.HERE_IS_MAP, 0, null, 0, mapPath);
+    }
+
+    public Messages getType() {
+        return type;
+    }
+
+    /**
+     * @return true if the frame is attached to a player
+     */
+    public boolean isFromPlayer() {
+        return playerNumber != 0;
+    }
+
+    /**
+     * @return number of player sending this frame, 0 if it is not from a player
+     */
+    public int getPlayerNumber() {
+        return playerNumber;
+    }
+
+    /**
+     * @return the card of a {@link Messages#CARD} frame
+     */
+    public ProgramCard getCard() {
+        return card;
+    }
+
+    /**
+     * @return the number of a {@link Messages#YOUR_NUMBER} or {@link Messages#PLAYERS} frame
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     * @return the map path of a {@link Messages#HERE_IS_MAP} frame
+     */
+    public String getMapPath() {
+        return mapPath;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Frame)) {
+            return false;
+        }
+        Frame frame = (Frame) other;
+        return type == frame.type && playerNumber == frame.playerNumber && number == frame.number
+                && Objects.equals(mapPath, frame.mapPath) && isSameCard(card, frame.card);
+    }
+
+    private static boolean isSameCard(ProgramCard card, ProgramCard other) {
+        if (card == null || other == null) {
+            return card == other;
+        }
+        return card.equals(other) && Objects.equals(card.getName(), other.getName());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, playerNumber, number, mapPath, card == null ? 0 : card.getPriority());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder string = new StringBuilder();
+        if (isFromPlayer()) {
+            string.append(playerNumber).append(' ');
+        }
+        string.append(type);
+        if (card != null) {
+            string.append(' ').append(card);
+        } else if (mapPath != null) {
+            string.append(' ').append(mapPath);
+        } else if (type == Messages.YOUR_NUMBER || type == Messages.PLAYERS) {
+            string.append(' ').append(number);
+        }
+        return string.toString();
+    }
+}
@@ -0,0 +1,284 @@
+package inf112.skeleton.app.lan;
+
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Messages;
+import inf112.skeleton.app.enums.Rotate;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes and reads {@link Frame}s as bytes, used by host and clients instead of the text of {@link Converter}.
+ *
+ * A frame is its length as a varint followed by that many bytes: the type as one byte, the ordinal of
+ * {@link Messages}, and the player number as a varint, 0 if the frame is not from a player. Then, by type:
+ * <ul>
+ *     <li>{@link Messages#CARD}: priority as a varint, which is the id of the card in the deck, one byte with the
+ *     rotation and distance, and one byte with the index of the name among the names in the deck, or 0xFF
+ *     followed by the name as a string for other names</li>
+ *     <li>{@link Messages#YOUR_NUMBER} and {@link Messages#PLAYERS}: the number as a varint</li>
+ *     <li>{@link Messages#HERE_IS_MAP}: the map path as a string</li>
+ * </ul>
+ * A varint is seven bits per byte, lowest first, with the high bit set on every byte but the last, and a string is
+ * its length in bytes as a varint followed by UTF-8. Only numbers that are not negative are sent, so a varint that
+ * reads as a negative number is not a frame.
+ *
+ * A codec keeps a buffer for the frame it is writing or reading, so it is not thread safe, use one per thread.
+ *
+ * Buffers are cleared, flipped and limited as a {@link Buffer}, since the ByteBuffer overrides of these methods
+ * only exist from Java 9, and a build on a newer JDK would not run on Java 8.
+ */
+public class FrameCodec {
+
+    public static final int MAX_FRAME_LENGTH = 4096;
+
+    /**
+     * Names of the cards in the deck, sent as their index.
+     */
+    private static final String[] CARD_NAMES = {
+            "Move 1", "Move 2", "Move 3", "Back up",
+            "Right turn", "Left turn", "U-turn", "Right rotate", "Left rotate"
+    };
+    private static final int OTHER_NAME = 0xFF;
+    private static final Messages[] MESSAGES = Messages.values();
+    private static final Rotate[] ROTATIONS = Rotate.values();
+
+    private final ByteBuffer payload = ByteBuffer.allocate(MAX_FRAME_LENGTH);
+
+    /**
+     * @param frame to write
+     * @param out   to write the frame to
+     */
+    public void write(Frame frame, DataOutput out) throws IOException {
+        ((Buffer) payload).clear();
+        putPayload(frame, payload);
+        writeVarint(out, payload.position());
+        out.write(payload.array(), 0, payload.position());
+    }
+
+    /**
+     * @param in to read from
+     * @return next frame in input
+     * @throws IOException if input ends or is not a frame
+     */
+    public Frame read(DataInput in) throws IOException {
+        int length = readVarint(in);
+        if (length > MAX_FRAME_LENGTH) {
+            throw new StreamCorruptedException("Frame is too long: " + length);
+        }
+        ((Buffer) payload).clear();
+        in.readFully(payload.array(), 0, length);
+        ((Buffer) payload).limit(length);
+        return getPayload(payload);
+    }
+
+    /**
+     * @param frame to write
+     * @param out   to put the frame in at its position
+     */
+    public void encode(Frame frame, ByteBuffer out) {
+        ((Buffer) payload).clear();
+        putPayload(frame, payload);
+        ((Buffer) payload).flip();
+        putVarint(out, payload.remaining());
+        out.put(payload);
+    }
+
+    /**
+     * @param in to get a frame from at its position
+     * @return next frame in buffer
+     * @throws IOException if buffer ends or is not a frame
+     */
+    public Frame decode(ByteBuffer in) throws IOException {
+        int length;
+        try {
+            length = getVarint(in);
+        } catch (BufferUnderflowException e) {
+            throw new StreamCorruptedException("Frame is cut short");
+        }
+        if (length > in.remaining()) {
+            throw new StreamCorruptedException("Frame is cut short");
+        }
+        int limit = in.limit();
+        ((Buffer) in).limit(in.position() + length);
+        try {
+            return getPayload(in);
+        } finally {
+            ((Buffer) in).limit(limit);
+        }
+    }
+
+    // PAYLOAD
+
+    private static void putPayload(Frame frame, ByteBuffer out) {
+        out.put((byte) frame.getType().ordinal());
+        putVarint(out, frame.getPlayerNumber());
+        switch (frame.getType()) {
+            case CARD:
+                putCard(frame.getCard(), out);
+                break;
+            case YOUR_NUMBER:
+            case PLAYERS:
+                putVarint(out, frame.getNumber());
+                break;
+            case HERE_IS_MAP:
+                putString(frame.getMapPath(), out);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return frame in the buffer, which must end where the frame ends
+     */
+    private static Frame getPayload(ByteBuffer in) throws StreamCorruptedException {
+        try {
+            int type = in.get() & 0xFF;
+            if (type >= MESSAGES.length) {
+                throw new StreamCorruptedException("Unknown type of frame: " + type);
+            }
+            int playerNumber = getVarint(in);
+            Frame frame;
+            switch (MESSAGES[type]) {
+                case CARD:
+                    frame = Frame.card(playerNumber, getCard(in));
+                    break;
+                case YOUR_NUMBER:
+                case PLAYERS:
+                    frame = Frame.number(MESSAGES[type], getVarint(in));
+                    break;
+                case HERE_IS_MAP:
+                    frame = Frame.mapPath(getString(in));
+                    break;
+                default:
+                    frame = Frame.fromPlayer(playerNumber, MESSAGES[type]);
+                    break;
+            }
+            if (in.hasRemaining()) {
+                throw new StreamCorruptedException("Frame is longer than its type: " + MESSAGES[type]);
+            }
+            return frame;
+        } catch (BufferUnderflowException e) {
+            throw new StreamCorruptedException("Frame is cut short");
+        }
+    }
+
+    private static void putCard(ProgramCard card, ByteBuffer out) {
+        if (card.getDistance() < -1 || card.getDistance() > 6) {
+            throw new IllegalArgumentException("Distance can not be sent: " + card.getDistance());
+        }
+        putVarint(out, card.getPriority());
+        out.put((byte) (card.getRotate().ordinal() << 3 | card.getDistance() + 1));
+        int name = getNameIndex(card.getName());
+        out.put((byte) name);
+        if (name == OTHER_NAME) {
+            putString(card.getName(), out);
+        }
+    }
+
+    private static ProgramCard getCard(ByteBuffer in) throws StreamCorruptedException {
+        int priority = getVarint(in);
+        int move = in.get() & 0xFF;
+        if (move >> 3 >= ROTATIONS.length) {
+            throw new StreamCorruptedException("Unknown rotation of card: " + (move >> 3));
+        }
+        int name = in.get() & 0xFF;
+        String cardName;
+        if (name == OTHER_NAME) {
+            cardName = getString(in);
+        } else if (name < CARD_NAMES.length) {
+            cardName = CARD_NAMES[name];
+        } else {
+            throw new StreamCorruptedException("Unknown name of card: " + name);
+        }
+        return new ProgramCard(priority, (move & 7) - 1, ROTATIONS[move >> 3], cardName);
+    }
+
+    private static int getNameIndex(String name) {
+        for (int i = 0; i < CARD_NAMES.length; i++) {
+            if (CARD_NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        return OTHER_NAME;
+    }
+
+    private static void putString(String string, ByteBuffer out) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        putVarint(out, bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) throws StreamCorruptedException {
+        int length = getVarint(in);
+        if (length > in.remaining()) {
+            throw new StreamCorruptedException("String is cut short");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // VARINTS
+
+    private static void putVarint(ByteBuffer out, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Only positive numbers can be sent: " + value);
+        }
+        while (value > 0x7F) {
+            out.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer in) throws StreamCorruptedException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return checkVarint(value);
+            }
+        }
+        throw new StreamCorruptedException("Varint is too long");
+    }
+
+    private static void writeVarint(DataOutput out, int value) throws IOException {
+        while (value > 0x7F) {
+            out.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return checkVarint(value);
+            }
+        }
+        throw new StreamCorruptedException("Varint is too long");
+    }
+
+    /**
+     * @return value, if it could have been written by this codec
+     * @throws StreamCorruptedException if the value is negative, e.g. a length that would make reading fail
+     */
+    private static int checkVarint(int value) throws StreamCorruptedException {
+        if (value < 0) {
+            throw new StreamCorruptedException("Varint is negative: " + value);
+        }
+        return value;
+    }
+}
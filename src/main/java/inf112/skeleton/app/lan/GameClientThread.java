@@ -6,10 +6,11 @@ import inf112.skeleton.app.enums.Messages;
 import inf112.skeleton.app.objects.player.Player;
 import inf112.skeleton.app.screens.menuscreen.MenuScreenActors;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
 import java.net.Socket;
 import java.util.Stack;
 import java.util.concurrent.Semaphore;
@@ -21,10 +22,12 @@ public class GameClientThread extends Thread {
 
     private final Socket clientSideSocket;
     private int myPlayerNumber;
-    private PrintWriter writer;
-    private BufferedReader reader;
+    private DataOutputStream output;
+    private DataInputStream input;
     private final RallyGame game;
-    private final Converter converter;
+    // One codec for reading in this thread, and one for sending, which other threads do
+    private final FrameCodec inputCodec;
+    private final FrameCodec outputCodec;
     private final Semaphore continueListening;
     private Stack<ProgramCard> stack;
     private boolean receivingDeck;
@@ -33,90 +36,84 @@ public class GameClientThread extends Thread {
     public GameClientThread(RallyGame game, Socket clientSideSocket) {
         this.clientSideSocket = clientSideSocket;
         this.game = game;
-        this.converter = new Converter();
+        this.inputCodec = new FrameCodec();
+        this.outputCodec = new FrameCodec();
         this.continueListening = new Semaphore(1);
         continueListening.tryAcquire();
         try {
-            this.writer = new PrintWriter(clientSideSocket.getOutputStream(), true);
-            this.reader = new BufferedReader(new InputStreamReader(clientSideSocket.getInputStream()));
+            this.output = new DataOutputStream(new BufferedOutputStream(clientSideSocket.getOutputStream()));
+            this.input = new DataInputStream(new BufferedInputStream(clientSideSocket.getInputStream()));
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Listen for messages from server. If no messages match, it is a {@link ProgramCard} and should
-     * be added to the player is belongs to (it is discarded if it is yours, since you have selected cards)
+     * Listen for messages from server. A {@link ProgramCard} from a player should be added to the player
+     * it belongs to (it is discarded if it is yours, since you have selected cards)
      *
      */
     @Override
     public void run() {
 
         while (true) {
-            String message = getMessage();
+            Frame message = getMessage();
             if (message == null) {
                 break;
             }
-            if (message.equals(Messages.STOP_THREAD.toString())) {
+            Messages type = message.getType();
+            if (type == Messages.STOP_THREAD) {
                 return;
             }
-            if (message.equals(Messages.HOST_LEAVES.toString())) {
+            if (type == Messages.HOST_LEAVES) {
                 printMessageFinishTurnAndCloseSocket();
                 return;
             }
-            if (message.equals(Messages.CONTINUE_TURN.toString())) {
+            if (type == Messages.CONTINUE_TURN) {
                 game.continueTurn();
                 waitForTurnToFinish();
             }
-            else if (message.equals(Messages.START_TURN.toString())) {
+            else if (type == Messages.START_TURN) {
                 game.startTurn();
                 waitForTurnToFinish();
             }
-            else if (message.contains(Messages.HERE_IS_MAP.toString())){
+            else if (type == Messages.HERE_IS_MAP){
                 giveMapToGameAndTellMapIsReceived(message);
             }
-            else if (message.equals(Messages.DECK_BEGIN.toString())) {
+            else if (type == Messages.DECK_BEGIN) {
                 createNewDeckAndWaitForCardsForThisDeck();
             }
-            else if (message.equals(Messages.DECK_END.toString())){
+            else if (type == Messages.DECK_END){
                 giveDeckToGameAndTellStartValuesAreReceived();
             }
-            else if (message.contains(Messages.YOUR_NUMBER.toString())) {
-                myPlayerNumber = converter.getMyPlayerNumber(message);
+            else if (type == Messages.YOUR_NUMBER) {
+                myPlayerNumber = message.getNumber();
                 game.setPlayerNumber(myPlayerNumber);
             }
-            else if (message.contains(Messages.PLAYERS.toString())) {
-                game.setNumberOfPlayers(converter.getNumbersOfPlayers(message));
+            else if (type == Messages.PLAYERS) {
+                game.setNumberOfPlayers(message.getNumber());
             }
-            else if (receivingDeck) {
+            else if (receivingDeck && type == Messages.CARD && !message.isFromPlayer()) {
                 addReceivedCardToDeck(message);
             }
-            else if (converter.isMessageFromAnotherPlayer(message)) {
-                int playerNumber = converter.getPlayerNumberFromMessage(message);
+            else if (message.isFromPlayer()) {
+                int playerNumber = message.getPlayerNumber();
                 Player player = game.getBoard().getPlayer(playerNumber);
-                String messageFromPlayer = converter.getMessageFromPlayer(message);
-                if (messageFromPlayer.equals(Messages.QUIT.toString())) {
+                if (type == Messages.QUIT) {
                     printMessageFinishTurnAndCloseSocket(playerNumber);
                     return;
                 }
-                if (messageFromPlayer.equals(Messages.POWERING_DOWN.toString())) {
+                if (type == Messages.POWERING_DOWN) {
                     player.setPoweringDown(true);
                     game.displayPlayersPoweringDown();
                 }
-                else if (messageFromPlayer.equals(Messages.POWER_UP.toString())) {
+                else if (type == Messages.POWER_UP) {
                     player.setPoweredDown(false);
                     game.removePoweredDownPlayer(player);
                 }
-                else {
-                    try {
-                        ProgramCard card = converter.convertToCard(messageFromPlayer);
-                        // Your player have already selected cards
-                        if (myPlayerNumber != playerNumber) {
-                            player.addSelectedCard(card);
-                        }
-                    } catch (NotProgramCardException e) {
-                        e.printStackTrace();
-                    }
+                // Your player have already selected cards
+                else if (type == Messages.CARD && myPlayerNumber != playerNumber) {
+                    player.addSelectedCard(message.getCard());
                 }
             }
         }
@@ -142,17 +139,12 @@ public class GameClientThread extends Thread {
     }
 
     /**
-     * Get the card from the message using {@link Converter#convertToCard(String)} and add it to Deck
+     * Add the card in the message to Deck
      *
-     * @param message
+     * @param message with a card from server
      */
-    public void addReceivedCardToDeck(String message) {
-        try {
-            ProgramCard card = converter.convertToCard(message);
-            this.stack.add(card);
-        } catch (NotProgramCardException e) {
-            e.printStackTrace();
-        }
+    public void addReceivedCardToDeck(Frame message) {
+        this.stack.add(message.getCard());
     }
 
     /**
@@ -160,8 +152,8 @@ public class GameClientThread extends Thread {
      *
      * @param message from server
      */
-    public void giveMapToGameAndTellMapIsReceived(String message) {
-        game.setMapPath(converter.getMapPath(message));
+    public void giveMapToGameAndTellMapIsReceived(Frame message) {
+        game.setMapPath(message.getMapPath());
         System.out.println("Got map");
         game.getMenuScreenActors().haveReceivedMapPath();
     }
@@ -206,11 +198,11 @@ public class GameClientThread extends Thread {
 
     /**
      *
-     * @return message from this socket. Close socket if error.
+     * @return message from this socket, null when the socket is closed. Close socket if error.
      */
-    public String getMessage() {
+    public Frame getMessage() {
         try {
-            return reader.readLine();
+            return inputCodec.read(input);
         } catch (IOException e) {
             try {
                 // Close socket if exception
@@ -222,16 +214,21 @@ public class GameClientThread extends Thread {
         return null;
     }
 
-    public void setReader(BufferedReader reader) {
-        this.reader = reader;
+    public void setInput(DataInputStream input) {
+        this.input = input;
     }
 
     /**
      * Send a message to server.
      * @param message message to be sent
      */
-    public void sendMessage(String message) {
-        writer.println(message);
+    public synchronized void sendMessage(Frame message) {
+        try {
+            outputCodec.write(message, output);
+            output.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
     /**
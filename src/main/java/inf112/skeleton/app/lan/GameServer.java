@@ -19,7 +19,6 @@ public class GameServer {
 
     private final ArrayList<GameServerThreads> clients;
     private final RallyGame game;
-    private final Converter converter;
     private boolean allClientsHaveSelectedCardsOrIsPoweredDown;
     private Deck deck;
     private boolean serverHasConfirmed;
@@ -33,7 +32,6 @@ public class GameServer {
     public GameServer(RallyGame game) {
         this.clients = new ArrayList<>();
         this.game = game;
-        this.converter = new Converter();
         this.deck = new Deck();
         deck.shuffleDeck();
         game.setDeck(deck.getDeck());
@@ -106,9 +104,9 @@ public class GameServer {
             int numberOfPlayers = getNumberOfConnectedClients() + 1;
             game.setNumberOfPlayers(numberOfPlayers);
             System.out.println("Connected! :D");
-            sendToAll(converter.createNumberOfPlayersMessage(numberOfPlayers));
+            sendToAll(Frame.number(Messages.PLAYERS, numberOfPlayers));
             if (mapPath!=null) {
-                sendToAll(converter.createMapPathMessage(mapPath));
+                sendToAll(Frame.mapPath(mapPath));
             }
             serverSocket.close();
 
@@ -155,7 +153,7 @@ public class GameServer {
      * @param client to send to
      */
     public void sendPlayerNumberAndDeck(GameServerThreads client, int playerNumber, Deck deck) {
-        client.sendMessage(converter.createPlayerNumberMessage(playerNumber));
+        client.sendMessage(Frame.number(Messages.YOUR_NUMBER, playerNumber));
         sendDeck(client, deck);
     }
 
@@ -177,7 +175,7 @@ public class GameServer {
      * Send a message to all connecting clients.
      * @param message
      */
-    public void sendToAll(String message) {
+    public void sendToAll(Frame message) {
         for (GameServerThreads thread : clients) {
             thread.sendMessage(message);
         }
@@ -188,7 +186,7 @@ public class GameServer {
      * @param player player not to send message to
      * @param message to send
      */
-    public void sendToAllExcept(Player player, String message) {
+    public void sendToAllExcept(Player player, Frame message) {
         for (GameServerThreads thread : clients) {
             if (thread.getPlayerNumber() != player.getPlayerNumber()) {
                 thread.sendMessage(message);
@@ -259,12 +257,12 @@ public class GameServer {
     public void sendDeck(GameServerThreads client, Deck deck) {
         Stack<ProgramCard> stack = deck.getDeck();
         Iterator iter = stack.iterator();
-        client.sendMessage(Messages.DECK_BEGIN.toString());
+        client.sendMessage(Frame.of(Messages.DECK_BEGIN));
         while (iter.hasNext()) {
             ProgramCard card = (ProgramCard) iter.next();
-            client.sendMessage(converter.convertToString(card));
+            client.sendMessage(Frame.card(card));
         }
-        client.sendMessage(Messages.DECK_END.toString());
+        client.sendMessage(Frame.of(Messages.DECK_END));
     }
 
     /**
@@ -19,32 +19,35 @@ public class GameServerThreads extends Thread {
     private final Socket serverSideSocket;
     private final int playerNumber;
     private final GameServer server;
-    private PrintWriter writer;
-    private BufferedReader reader;
+    private DataOutputStream output;
+    private DataInputStream input;
     private final RallyGame game;
-    private final Converter converter;
+    // One codec for reading in this thread, and one for sending, which other threads do
+    private final FrameCodec inputCodec;
+    private final FrameCodec outputCodec;
     private final Semaphore continueListening;
-    private String sentMessage;
+    private Frame sentMessage;
 
     public GameServerThreads(GameServer server, RallyGame game, Socket serverSideSocket, int playerNumber) {
         this.serverSideSocket = serverSideSocket;
         this.playerNumber = playerNumber;
         this.server = server;
         this.game = game;
-        this.converter = new Converter();
+        this.inputCodec = new FrameCodec();
+        this.outputCodec = new FrameCodec();
         this.continueListening = new Semaphore(1);
         continueListening.tryAcquire();
         try {
-            reader = new BufferedReader(new InputStreamReader(serverSideSocket.getInputStream()));
-            writer = new PrintWriter(serverSideSocket.getOutputStream(), true);
+            input = new DataInputStream(new BufferedInputStream(serverSideSocket.getInputStream()));
+            output = new DataOutputStream(new BufferedOutputStream(serverSideSocket.getOutputStream()));
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * Receive messages from client. If none of the messages match, then it is a {@link ProgramCard}.
-     * The player who sent this Programcard will have it added to its {@link Registers}.
+     * Receive messages from client. The player who sent a {@link ProgramCard} will have it added to
+     * its {@link Registers}.
      *
      * When all clients have sent their cards, the {@link GameServer} will be notified, and it will wait until
      * the host confirm its cards before sending cards to the clients and start the turn. If a client is the last
@@ -52,72 +55,67 @@ public class GameServerThreads extends Thread {
      * cards to players and tell them to start the turn.
      */
     public void run() {
-        try {
-            while (true) {
-                String message = getMessage();
-                if (message == null) {
-                    break;
-                }
-                if (message.equals(Messages.STOP_THREAD.toString())) {
+        while (true) {
+            Frame message = getMessage();
+            if (message == null) {
+                break;
+            }
+            Messages type = message.getType();
+            if (type == Messages.STOP_THREAD) {
+                return;
+            }
+            if (message.isFromPlayer()) {
+                Player player = game.getBoard().getPlayer(message.getPlayerNumber());
+                if (type == Messages.QUIT) {
+                    endConnectionWithPlayerAndTellOtherPlayersThatThisPlayerLeft(player);
+                    game.quitPlaying();
                     return;
                 }
-                if (converter.isMessageFromAnotherPlayer(message)) {
-                    int playerNumber = converter.getPlayerNumberFromMessage(message);
-                    String messageFromPlayer = converter.getMessageFromPlayer(message);
-                    Player player = game.getBoard().getPlayer(playerNumber);
-                    if (messageFromPlayer.equals(Messages.QUIT.toString())) {
-                        endConnectionWithPlayerAndTellOtherPlayersThatThisPlayerLeft(player);
-                        game.quitPlaying();
-                        return;
-                    }
-                    if (messageFromPlayer.equals(Messages.POWERING_DOWN.toString())) {
-                        player.setPoweringDown(true);
-                        server.sendToAllExcept(player, message);
-                        game.displayPlayersPoweringDown();
-                    }
-                    else if (messageFromPlayer.equals(Messages.CONTINUE_POWER_DOWN.toString())) {
-                        player.setConfirmedPowerUpOrContinuePowerDown(true);
-                        if (allPoweredDownClientsHaveConfirmed()) {
-                            if (server.serverHasConfirmed()) {
-                                continueTurn();
-                            } else {
-                                server.setAllPoweredDownClientsHaveConfirmed(true);
-                            }
+                if (type == Messages.POWERING_DOWN) {
+                    player.setPoweringDown(true);
+                    server.sendToAllExcept(player, message);
+                    game.displayPlayersPoweringDown();
+                }
+                else if (type == Messages.CONTINUE_POWER_DOWN) {
+                    player.setConfirmedPowerUpOrContinuePowerDown(true);
+                    if (allPoweredDownClientsHaveConfirmed()) {
+                        if (server.serverHasConfirmed()) {
+                            continueTurn();
+                        } else {
+                            server.setAllPoweredDownClientsHaveConfirmed(true);
                         }
                     }
-                    else if (messageFromPlayer.equals(Messages.POWER_UP.toString())) {
-                        player.setPoweredDown(false);
-                        player.setConfirmedPowerUpOrContinuePowerDown(true);
-                        game.removePoweredDownPlayer(player);
-                        server.sendToAllExcept(player, message);
-                        if (allPoweredDownClientsHaveConfirmed()) {
-                            if (server.serverHasConfirmed()) {
-                                continueTurn();
-                            } else {
-                                server.setAllPoweredDownClientsHaveConfirmed(true);
-                            }
+                }
+                else if (type == Messages.POWER_UP) {
+                    player.setPoweredDown(false);
+                    player.setConfirmedPowerUpOrContinuePowerDown(true);
+                    game.removePoweredDownPlayer(player);
+                    server.sendToAllExcept(player, message);
+                    if (allPoweredDownClientsHaveConfirmed()) {
+                        if (server.serverHasConfirmed()) {
+                            continueTurn();
+                        } else {
+                            server.setAllPoweredDownClientsHaveConfirmed(true);
                         }
                     }
-                    else {
-                        ProgramCard card = converter.convertToCard(messageFromPlayer);
-                        addSelectedCard(player, card);
-                        System.out.println(card);
-                        if (allPlayersHaveSelectedCardsOrInPowerDown() && server.serverHasConfirmed()) {
-                            System.out.println("Server has confirmed");
-                            server.sendSelectedCardsToAll();
-                            server.sendToAll(Messages.START_TURN.toString());
-                            server.setServerHasConfirmed(false);
-                            game.startTurn();
-                            waitForTurnToFinish();
-                        }
-                        if (allClientsHaveSelectedCardsOrInPowerDown()) {
-                            server.setAllClientsHaveSelectedCardsOrIsPoweredDown(true);
-                        }
+                }
+                else if (type == Messages.CARD) {
+                    ProgramCard card = message.getCard();
+                    addSelectedCard(player, card);
+                    System.out.println(card);
+                    if (allPlayersHaveSelectedCardsOrInPowerDown() && server.serverHasConfirmed()) {
+                        System.out.println("Server has confirmed");
+                        server.sendSelectedCardsToAll();
+                        server.sendToAll(Frame.of(Messages.START_TURN));
+                        server.setServerHasConfirmed(false);
+                        game.startTurn();
+                        waitForTurnToFinish();
+                    }
+                    if (allClientsHaveSelectedCardsOrInPowerDown()) {
+                        server.setAllClientsHaveSelectedCardsOrIsPoweredDown(true);
                     }
                 }
             }
-        } catch (NotProgramCardException e) {
-            e.printStackTrace();
         }
     }
 
@@ -130,7 +128,7 @@ public class GameServerThreads extends Thread {
     public void continueTurn() {
         server.setAllPoweredDownClientsHaveConfirmed(false);
         server.setServerHasConfirmed(false);
-        server.sendToAll(Messages.CONTINUE_TURN.toString());
+        server.sendToAll(Frame.of(Messages.CONTINUE_TURN));
         game.continueTurn();
         waitForTurnToFinish();
     }
@@ -140,7 +138,7 @@ public class GameServerThreads extends Thread {
      * @param player to end connection with
      */
     private void endConnectionWithPlayerAndTellOtherPlayersThatThisPlayerLeft(Player player) {
-        server.sendToAllExcept(player, converter.createQuitMessage(player.getPlayerNumber()));
+        server.sendToAllExcept(player, Frame.fromPlayer(player.getPlayerNumber(), Messages.QUIT));
         System.out.println("Player " + playerNumber + " is leaving...");
         server.disconnect(playerNumber);
         server.remove(playerNumber);
@@ -148,11 +146,11 @@ public class GameServerThreads extends Thread {
 
     /**
      *
-     * @return message from this socket. Close socket if error.
+     * @return message from this socket, null when the socket is closed. Close socket if error.
      */
-    public String getMessage() {
+    public Frame getMessage() {
         try {
-            return reader.readLine();
+            return inputCodec.read(input);
         } catch (IOException e) {
             try {
                 // Close socket if exception
@@ -220,13 +218,15 @@ public class GameServerThreads extends Thread {
 
     /**
      * Send given player's selected cards to this client. Player in
-     * power down do not send out their cards.
+     * power down do not send out their cards, and registers without a card are skipped.
      * @param player
      */
     public void sendSelectedCards(Player player) {
         if (!player.isPoweredDown()) {
             for (Register register : player.getRegisters().getRegisters()) {
-                sendMessage(converter.convertToString(player.getPlayerNumber(), register.getProgramCard()));
+                if (register.getProgramCard() != null) {
+                    sendMessage(Frame.card(player.getPlayerNumber(), register.getProgramCard()));
+                }
             }
         }
     }
@@ -235,10 +235,14 @@ public class GameServerThreads extends Thread {
      * Send a message to this client.
      * @param message
      */
-    public void sendMessage(String message) {
+    public synchronized void sendMessage(Frame message) {
         this.sentMessage = message;
-        writer.println(message);
-
+        try {
+            outputCodec.write(message, output);
+            output.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
     public int getPlayerNumber() {
@@ -253,15 +257,15 @@ public class GameServerThreads extends Thread {
         }
     }
 
-    public void setReader(BufferedReader reader) {
-        this.reader = reader;
+    public void setInput(DataInputStream input) {
+        this.input = input;
     }
 
     /**
      *
      * @return the last sent message to the client
      */
-    public String getLastSentMessage() {
+    public Frame getLastSentMessage() {
         return sentMessage;
     }
 
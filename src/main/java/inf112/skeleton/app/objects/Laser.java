@@ -1,31 +1,28 @@
 package inf112.skeleton.app.objects;
 
 import com.badlogic.gdx.math.Vector2;
-import inf112.skeleton.app.RallyGame;
 import inf112.skeleton.app.enums.Direction;
 
 public class Laser {
 
     private final Vector2 startPosition;
     private final Direction direction;
+    private final int[] beam;
 
     public Laser(int x, int y, Direction direction) {
-        this.startPosition = new Vector2(x, y);
-        this.direction = direction;
-    }
-
-    public void fire(RallyGame game) {
-        fire(game, startPosition);
+        this(x, y, direction, new int[0]);
     }
 
-    public void fire(RallyGame game, Vector2 position) {
-        game.getBoard().addLaser(position, direction);
-        if (game.getBoard().hasPlayer(position)) {
-            game.hitByLaser.play(game.getSoundVolume());
-            game.getBoard().getPlayer(position).handleDamage();
-        } else if (game.getBoard().canFire(position, this.direction)) {
-            fire(game, game.getBoard().getNeighbourPosition(position, direction));
-        }
+    /**
+     * @param x         of the wall the laser is mounted on
+     * @param y         of the wall the laser is mounted on
+     * @param direction the laser fires in
+     * @param beam      cells the beam passes through when nothing is in the way, from the start position
+     */
+    public Laser(int x, int y, Direction direction, int[] beam) {
+        this.startPosition = new Vector2(x, y);
+        this.direction = direction;
+        this.beam = beam;
     }
 
     public Direction getDirection() {
@@ -35,4 +32,13 @@ public class Laser {
     public Vector2 getStartPosition() {
         return this.startPosition;
     }
+
+    /**
+     * Walls never move, so the longest beam is found once when the board is loaded.
+     *
+     * @return cells x + y * width the beam passes through until a wall or the edge of the board stops it
+     */
+    public int[] getBeam() {
+        return beam;
+    }
 }
@@ -2,8 +2,9 @@ package inf112.skeleton.app.objects.player;
 
 
 import com.badlogic.gdx.math.Vector2;
-import inf112.skeleton.app.RallyGame;
 import inf112.skeleton.app.board.Board;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.board.RespawnSearch;
 import inf112.skeleton.app.cards.Deck;
 import inf112.skeleton.app.cards.ProgramCard;
 import inf112.skeleton.app.cards.Registers;
@@ -12,7 +13,6 @@ import inf112.skeleton.app.enums.TileID;
 import inf112.skeleton.app.objects.Flag;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 
 public class Player {
@@ -40,6 +40,7 @@ public class Player {
     private int damageTokens;
     private int lifeTokens;
     private final String color;
+    private Board board;
 
     public Player(Vector2 position, int playerNumber) {
         this(position, playerNumber, "white");
@@ -69,6 +70,14 @@ public class Player {
     }
 
     public int getTileInt() {
+        return getTileInt(direction);
+    }
+
+    /**
+     * @param direction robot is facing
+     * @return id of the tile with the robot of this player facing the direction
+     */
+    public int getTileInt(Direction direction) {
         return tiles.get(direction);
     }
 
@@ -237,21 +246,19 @@ public class Player {
         return alternativeBackupDirection;
     }
 
-
+    /**
+     * Choose the nearest free position around a position as alternative backup, see {@link RespawnSearch}.
+     * If there is no free position on the board, the position itself is used.
+     *
+     * @param board    player respawns on
+     * @param position to search around
+     */
     public void chooseAlternativeBackupPosition(Board board, Vector2 position) {
-        ArrayList<Vector2> possiblePositions = board.getNeighbourhood(position);
-        Collections.shuffle(possiblePositions);
-        for (Vector2 pos : possiblePositions) {
-            for (Direction dir : Direction.getDirectionRandomOrder()) {
-                if (board.validRespawnPosition(pos, dir)) {
-                    setAlternativeBackup(pos, dir);
-                    return;
-                }
-            }
-        }
-        setAlternativeBackup(board.getStartPosition(getPlayerNumber()), Direction.EAST);
-        if (board.hasPlayer(board.getStartPosition(getPlayerNumber()))) {
-            chooseAlternativeBackupPosition(board, alternativeBackupPosition);
+        RespawnSearch search = board.getRespawnSearch();
+        if (search.find(GridPos.of(position), getBackupDirection())) {
+            setAlternativeBackup(GridPos.toVector(search.getPosition()), search.getDirection());
+        } else {
+            setAlternativeBackup(position, getBackupDirection());
         }
     }
 
@@ -270,10 +277,21 @@ public class Player {
     }
 
     /**
-     * Set's the position to the player
+     * Set's the position to the player, and tells the board the player is on about it
      */
     public void setPosition(Vector2 pos) {
+        Vector2 oldPosition = this.position;
         this.position = new Vector2(pos);
+        if (board != null) {
+            board.updatePlayerPosition(this, oldPosition);
+        }
+    }
+
+    /**
+     * @param board the player has been added to
+     */
+    public void setBoard(Board board) {
+        this.board = board;
     }
 
     /**
@@ -305,22 +323,6 @@ public class Player {
         }
     }
 
-    public void fire(RallyGame game) {
-        if (game.getBoard().canFire(position, direction)) {
-            fire(game, game.getBoard().getNeighbourPosition(position, direction));
-        }
-    }
-
-    public void fire(RallyGame game, Vector2 position) {
-        game.getBoard().addLaser(position, direction);
-        if (game.getBoard().hasPlayer(position)) {
-            game.hitByLaser.play(game.getSoundVolume());
-            game.getBoard().getPlayer(position).handleDamage();
-        } else if (game.getBoard().canFire(position, direction)) {
-            fire(game, game.getBoard().getNeighbourPosition(position, direction));
-        }
-    }
-
     /**
      * Update the selected cards for this player.
      * Used for testing, so that we can decide what card the player is going to play, and then test that the player
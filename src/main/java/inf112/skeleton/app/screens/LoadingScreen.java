@@ -1,33 +1,65 @@
 package inf112.skeleton.app.screens;
 
-import com.badlogic.gdx.scenes.scene2d.InputEvent;
-import com.badlogic.gdx.scenes.scene2d.InputListener;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import inf112.skeleton.app.GameAssets;
 import inf112.skeleton.app.RallyGame;
-import inf112.skeleton.app.screens.menuscreen.MenuScreen;
 import inf112.skeleton.app.screens.standardscreen.StandardScreen;
 
-
+/**
+ * Shown while {@link GameAssets} loads, with a bar for how much is loaded. Assets are loaded a few
+ * milliseconds each frame, so the window keeps drawing. Goes on to the menu when everything is loaded.
+ */
 public class LoadingScreen extends StandardScreen {
 
+    private static final int LOAD_MILLISECONDS_PER_FRAME = 15;
+
+    private final ShapeRenderer shapeRenderer;
+    private boolean loaded;
 
     public LoadingScreen(final RallyGame game) {
         super(game);
 
-        Image background = new Image(game.getActorImages().getDrawable("Loading screen background"));
+        Image background = new Image(game.getAssets().getTexture(GameAssets.LOADING_SCREEN_BACKGROUND));
         background.setSize(camera.viewportWidth, camera.viewportHeight);
-        background.addListener(new InputListener() {
-            @Override
-            public void touchUp(InputEvent event, float x, float y, int pointer, int button) {
-                game.getScreen().dispose();
-                game.setScreen(new MenuScreen(game));
-            }
-
-            @Override
-            public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
-                return true;
-            }
-        });
         stage.addActor(background);
+
+        this.shapeRenderer = new ShapeRenderer();
+    }
+
+    @Override
+    public void show() {
+        // The settings need the assets that are loading, so only the stage gets input
+        Gdx.input.setInputProcessor(stage);
+    }
+
+    @Override
+    public void render(float v) {
+        if (!loaded && game.getAssets().update(LOAD_MILLISECONDS_PER_FRAME)) {
+            loaded = true;
+            game.finishLoading();
+            return;
+        }
+        super.render(v);
+
+        float width = camera.viewportWidth * 0.6f;
+        float height = camera.viewportHeight * 0.03f;
+        float x = (camera.viewportWidth - width) / 2f;
+        float y = camera.viewportHeight * 0.08f;
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(Color.DARK_GRAY);
+        shapeRenderer.rect(x, y, width, height);
+        shapeRenderer.setColor(Color.WHITE);
+        shapeRenderer.rect(x, y, width * game.getAssets().getProgress(), height);
+        shapeRenderer.end();
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        shapeRenderer.dispose();
     }
 }
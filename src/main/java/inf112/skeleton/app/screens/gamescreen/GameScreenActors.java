@@ -22,8 +22,8 @@ import java.util.ArrayList;
 
 public class GameScreenActors {
 
-    public final float mapHeight = 12;
-    public final float mapWidth = 16;
+    public final float mapHeight;
+    public final float mapWidth;
     public final float programCardRatio = 0.72f;
     private final float labelFontScale;
 
@@ -66,6 +66,8 @@ public class GameScreenActors {
 
         screenWidth = game.getScreen().viewport.getScreenWidth();
         screenHeight = game.getScreen().viewport.getScreenHeight();
+        mapHeight = game.getBoard().getBoardHeight();
+        mapWidth = game.getBoard().getBoardWidth();
         mapRightPx = (screenHeight / mapHeight) * mapWidth;
 
         programCardWidth = (screenWidth - mapRightPx) / 3f;
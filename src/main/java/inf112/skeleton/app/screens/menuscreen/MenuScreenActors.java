@@ -12,6 +12,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
 import inf112.skeleton.app.RallyGame;
+import inf112.skeleton.app.board.CompositeMapBuilder;
 import inf112.skeleton.app.screens.gamescreen.GameScreen;
 
 import java.io.File;
@@ -110,7 +111,7 @@ public class MenuScreenActors {
              */
             @Override
             public void touchUp(InputEvent event, float x, float y, int pointer, int button) {
-                game.getServer().setMapPath("assets/maps/" + selectMap.getSelected() + ".tmx");
+                game.getServer().setMapPath(getMapPath(selectMap.getSelected()));
                 game.getServer().stopConnectingToClients();
                 game.setupGame();
                 game.setScreen(new GameScreen(game));
@@ -254,11 +255,22 @@ public class MenuScreenActors {
         for (String fileType : Objects.requireNonNull(maps.list())) {
             if (fileType.endsWith(".tmx")) {
                 mapArray.add(fileType.substring(0, fileType.length() - 4));
+            } else if (fileType.endsWith(CompositeMapBuilder.EXTENSION)) {
+                mapArray.add(fileType.substring(0, fileType.length() - CompositeMapBuilder.EXTENSION.length()));
             }
         }
         return mapArray;
     }
 
+    /**
+     * @param map name of map in the map list
+     * @return path to the .tmx file of the map, or to the composite map if there is no .tmx file
+     */
+    private String getMapPath(String map) {
+        String mapPath = "assets/maps/" + map + ".tmx";
+        return new File(mapPath).exists() ? mapPath : "assets/maps/" + map + CompositeMapBuilder.EXTENSION;
+    }
+
     public void initializeBackground() {
         Image background = new Image(game.getActorImages().getDrawable("Menu screen background"));
         background.setSize(screenWidth, screenHeight);
@@ -11,14 +11,17 @@ import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.SelectBox;
 import com.badlogic.gdx.scenes.scene2d.ui.Slider;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import inf112.skeleton.app.RallyGame;
+import inf112.skeleton.app.enums.AnimationSpeed;
 
 public class SettingsScreen extends StandardScreen {
 
     private Slider musicSlider;
     private Slider soundSlider;
+    private SelectBox<AnimationSpeed> speedSelect;
 
     public float volume;
 
@@ -57,6 +60,8 @@ public class SettingsScreen extends StandardScreen {
         initializeMusicVolumeLabel();
         initializeSoundVolumeSlider();
         initializeSoundVolumeLabel();
+        initializeAnimationSpeedSelect();
+        initializeAnimationSpeedLabel();
         initializeFullscreenButton();
         initializeBackButton();
 
@@ -148,6 +153,27 @@ public class SettingsScreen extends StandardScreen {
         stage.addActor(label);
     }
 
+    public void initializeAnimationSpeedSelect() {
+        speedSelect = new SelectBox<>(game.getDefaultSkin());
+        speedSelect.setItems(AnimationSpeed.values());
+        speedSelect.setSelected(RallyGame.animationSpeed);
+        speedSelect.setPosition(camera.viewportWidth*0.2f, camera.viewportHeight*0.41f);
+        speedSelect.setWidth(camera.viewportWidth*0.5f);
+        speedSelect.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                RallyGame.animationSpeed = speedSelect.getSelected();
+            }
+        });
+        stage.addActor(speedSelect);
+    }
+
+    public void initializeAnimationSpeedLabel() {
+        Label label = new Label("Animation Speed", game.getTextSkin(), "button", Color.WHITE);
+        label.setPosition(camera.viewportWidth*0.5f - label.getPrefWidth()*1.1f, speedSelect.getY() + label.getPrefHeight()*0.7f);
+        label.setFontScale(0.5f);
+        stage.addActor(label);
+    }
 
     public void initializeBackground() {
         Image background = new Image(game.getActorImages().getDrawable("Menu screen background"));
@@ -0,0 +1,86 @@
+package inf112.skeleton.app;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.BoardCompiler;
+import inf112.skeleton.app.board.BoardLayers;
+import inf112.skeleton.app.board.CompiledBoard;
+import inf112.skeleton.app.board.CompiledBoardCache;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.board.HeadlessMapLoader;
+import inf112.skeleton.app.enums.TileID;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class BoardCompilerTest {
+
+    private static final String MAP_PATH = "assets/maps/Risky Exchange.tmx";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TiledMap tiledMap;
+    private HeadlessBoard board;
+
+    @Before
+    public void setUp() {
+        this.tiledMap = new HeadlessMapLoader().load(MAP_PATH);
+        this.board = new HeadlessBoard(MAP_PATH, new CompiledBoardCache(folder.getRoot()));
+    }
+
+    @Test
+    public void compiledBoardHasSizeOfMapTest() {
+        CompiledBoard compiled = BoardCompiler.compile(tiledMap);
+        assertEquals(board.getBoardWidth(), compiled.getWidth());
+        assertEquals(board.getBoardHeight(), compiled.getHeight());
+    }
+
+    @Test
+    public void startPositionIsOnStartTileTest() {
+        TiledMapTileLayer groundLayer = (TiledMapTileLayer) tiledMap.getLayers().get("Ground");
+        Vector2 startPosition = board.getStartPosition(1);
+        int id = groundLayer.getCell((int) startPosition.x, (int) startPosition.y).getTile().getId();
+        assertEquals(TileID.START_POS1.getId(), id);
+    }
+
+    @Test
+    public void unknownStartNumberHasNoPositionTest() {
+        assertNull(board.getStartPosition(0));
+        assertNull(board.getStartPosition(100));
+    }
+
+    @Test
+    public void startLayerCanHaveMoreThanEightStartsTest() {
+        TiledMapTileLayer groundLayer = (TiledMapTileLayer) tiledMap.getLayers().get("Ground");
+        TiledMapTileLayer startLayer = new TiledMapTileLayer(groundLayer.getWidth(), groundLayer.getHeight(),
+                (int) groundLayer.getTileWidth(), (int) groundLayer.getTileHeight());
+        startLayer.setName("Start");
+        int top = groundLayer.getHeight() - 1;
+        for (int x = 0; x < 10; x++) {
+            startLayer.setCell(x, top, groundLayer.getCell(x, top));
+        }
+        tiledMap.getLayers().add(startLayer);
+
+        BoardLayers boardWithStartLayer = new BoardLayers(tiledMap) {
+        };
+        assertEquals(10, boardWithStartLayer.getStartPositionCount());
+        assertEquals(new Vector2(0, top), boardWithStartLayer.getStartPosition(1));
+        assertEquals(new Vector2(9, top), boardWithStartLayer.getStartPosition(10));
+        assertNull(boardWithStartLayer.getStartPosition(11));
+    }
+
+    @Test
+    public void tilesWithoutRulesAreEmptyTest() {
+        Vector2 startPosition = board.getStartPosition(1);
+        assertFalse(board.hasHole(startPosition));
+        assertNull(board.getBeltDirection(startPosition));
+        assertEquals(0, board.getFlagNumber(startPosition));
+    }
+}
@@ -2,9 +2,11 @@ package inf112.skeleton.app;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.headless.HeadlessApplication;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.Vector2;
 import inf112.skeleton.app.board.Board;
 import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.objects.Belt;
 import inf112.skeleton.app.objects.Flag;
 import inf112.skeleton.app.objects.player.Player;
 import org.junit.Before;
@@ -351,6 +353,52 @@ public class BoardTest {
         assertEquals(playerToBeStoppedByWall, board.getPlayer(northWallPosition));
     }
 
+    @Test
+    public void flagNumberIsFoundInFlagPositionTest() {
+        for (Flag flag : flags) {
+            assertEquals(flag.getFlagnr(), board.getFlagNumber(flag.getPosition()));
+        }
+    }
+
+    @Test
+    public void holesAreFoundInHolePositionsTest() {
+        for (Vector2 hole : holes) {
+            assertTrue(board.hasHole(hole));
+        }
+        assertFalse(board.hasHole(new Vector2(-1, 0)));
+    }
+
+    @Test
+    public void beltDirectionIsFoundInBeltPositionsTest() {
+        for (Belt belt : board.getBelts()) {
+            assertEquals(belt.getDirection(), board.getBeltDirection(belt.getPosition()));
+            assertFalse(board.hasExpressBelt(belt.getPosition()));
+        }
+        for (Belt belt : board.getExpressBelts()) {
+            assertEquals(belt.getDirection(), board.getBeltDirection(belt.getPosition()));
+            assertTrue(board.hasExpressBelt(belt.getPosition()));
+        }
+    }
+
+    @Test
+    public void robotTileFollowsDirectionOfPlayerTest() {
+        TiledMapTileLayer playerLayer = (TiledMapTileLayer) board.getTiledMap().getLayers().get("Player");
+        board.addPlayer(player);
+        player.setDirection(Direction.NORTH);
+        board.addPlayer(player);
+        TiledMapTileLayer.Cell cell = playerLayer.getCell((int) player.getPosition().x, (int) player.getPosition().y);
+        assertEquals(player.getTileInt(Direction.NORTH), cell.getTile().getId());
+    }
+
+    @Test
+    public void playerIsFoundAfterPositionIsChangedTest() {
+        board.addPlayer(player);
+        Vector2 newPosition = new Vector2(2, 3);
+        player.setPosition(newPosition);
+        assertEquals(player, board.getPlayer(newPosition));
+        assertFalse(board.hasPlayer(startPosition));
+    }
+
     @Test
     public void maxNumberOfPlayersTest() {
         RallyGame game = new RallyGame();
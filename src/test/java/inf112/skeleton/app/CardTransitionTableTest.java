@@ -0,0 +1,86 @@
+package inf112.skeleton.app;
+
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.board.HeadlessMapLoader;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.engine.CardTransitionTable;
+import inf112.skeleton.app.engine.Robot;
+import inf112.skeleton.app.engine.TurnResolver;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.enums.Rotate;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CardTransitionTableTest {
+
+    private static final ProgramCard[] CARDS = {
+            new ProgramCard(80, 0, Rotate.RIGHT, "Right turn"),
+            new ProgramCard(70, 0, Rotate.LEFT, "Left turn"),
+            new ProgramCard(10, 0, Rotate.UTURN, "U-turn"),
+            new ProgramCard(430, -1, Rotate.NONE, "Back up"),
+            new ProgramCard(490, 1, Rotate.NONE, "Move 1"),
+            new ProgramCard(670, 2, Rotate.NONE, "Move 2"),
+            new ProgramCard(790, 3, Rotate.NONE, "Move 3"),
+    };
+
+    private HeadlessBoard board;
+    private CardTransitionTable table;
+
+    @Before
+    public void setUp() {
+        this.board = new HeadlessBoard(new HeadlessMapLoader().load("assets/maps/Risky Exchange.tmx"));
+        this.table = CardTransitionTable.of(board);
+    }
+
+    @Test
+    public void tableIsMadeOncePerBoardTest() {
+        assertSame(table, CardTransitionTable.of(board));
+    }
+
+    @Test
+    public void cardTypesAreInTableOrderTest() {
+        for (int type = 0; type < CARDS.length; type++) {
+            assertEquals(type, CardTransitionTable.getType(CARDS[type]));
+        }
+    }
+
+    @Test
+    public void drivingOffBoardIsDestroyedTest() {
+        assertTrue(CardTransitionTable.isDestroyed(table.get(GridPos.of(0, 0), Direction.WEST, 4)));
+    }
+
+    @Test
+    public void everyEntryIsWhereTurnResolverEndsTest() {
+        for (int x = 0; x < board.getBoardWidth(); x++) {
+            for (int y = 0; y < board.getBoardHeight(); y++) {
+                for (Direction direction : Direction.values()) {
+                    for (int type = 0; type < CARDS.length; type++) {
+                        Robot robot = new Robot(1, GridPos.of(x, y), direction);
+                        robot.setCard(0, CARDS[type]);
+                        TurnResolver resolver = new TurnResolver(board, Collections.singletonList(robot));
+                        resolver.playCard(robot, 0);
+                        resolver.activateBelts(true);
+                        resolver.activateBelts(false);
+                        resolver.activateRotatePads();
+                        resolver.fireWallLasers();
+
+                        long entry = table.get(GridPos.of(x, y), direction, type);
+                        assertEquals(robot.isDestroyed(), CardTransitionTable.isDestroyed(entry));
+                        if (!robot.isDestroyed()) {
+                            assertEquals(robot.getGridPosition(), CardTransitionTable.getPosition(entry));
+                            assertEquals(robot.getDirection(), CardTransitionTable.getDirection(entry));
+                            assertEquals(robot.getDamageTokens(), CardTransitionTable.getDamage(entry));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
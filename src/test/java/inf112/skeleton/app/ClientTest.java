@@ -5,7 +5,8 @@ import inf112.skeleton.app.board.Board;
 import inf112.skeleton.app.cards.ProgramCard;
 import inf112.skeleton.app.enums.Messages;
 import inf112.skeleton.app.enums.Rotate;
-import inf112.skeleton.app.lan.Converter;
+import inf112.skeleton.app.lan.Frame;
+import inf112.skeleton.app.lan.FrameCodec;
 import inf112.skeleton.app.lan.GameClientThread;
 import inf112.skeleton.app.objects.player.Player;
 import inf112.skeleton.app.screens.menuscreen.MenuScreenActors;
@@ -15,7 +16,10 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -31,7 +35,6 @@ import static org.mockito.Mockito.when;
 public class ClientTest {
 
     private GameClientThread client;
-    private Converter converter;
     private ProgramCard programcard;
     private Player player1;
 
@@ -47,9 +50,6 @@ public class ClientTest {
     @Mock
     private Board board;
 
-    @Mock
-    private BufferedReader reader;
-
     @Mock
     private MenuScreenActors menuScreenActors;
 
@@ -65,14 +65,29 @@ public class ClientTest {
             e.printStackTrace();
         }
         this.client = new GameClientThread(game, socket);
-        this.converter = new Converter();
         this.programcard = new ProgramCard(10, 2, Rotate.NONE, "Move 2");
         this.player1 = new Player(new Vector2(0,0), 1);
         when(game.getBoard()).thenReturn(board);
         when(board.getPlayer(1)).thenReturn(player1);
         when(game.getMenuScreenActors()).thenReturn(menuScreenActors);
-        // Reader is decided in each test
-        client.setReader(reader);
+        // Input is decided in each test
+    }
+
+    /**
+     * @return input with these frames, as the client reads them from the socket
+     */
+    private DataInputStream framesOf(Frame... frames) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        FrameCodec codec = new FrameCodec();
+        try {
+            for (Frame frame : frames) {
+                codec.write(frame, output);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
     }
 
     /**
@@ -89,12 +104,9 @@ public class ClientTest {
 
     @Test
     public void clientGetCorrectPlayerNumberTest() {
-        try {
-            when(reader.readLine()).thenReturn(converter.createPlayerNumberMessage(3))
-            .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        client.setInput(framesOf(
+                Frame.number(Messages.YOUR_NUMBER, 3),
+                Frame.of(Messages.STOP_THREAD)));
         client.start();
         waitForThread(client);
         verify(game).setPlayerNumber(3);
@@ -102,11 +114,9 @@ public class ClientTest {
 
     @Test
     public void clientGetCorrectNumberOfPlayersTest() {
-        try {
-            when(reader.readLine()).thenReturn(converter.createNumberOfPlayersMessage(4)).thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        client.setInput(framesOf(
+                Frame.number(Messages.PLAYERS, 4),
+                Frame.of(Messages.STOP_THREAD)));
         client.start();
         waitForThread(client);
         verify(game).setNumberOfPlayers(4);
@@ -114,14 +124,10 @@ public class ClientTest {
 
     @Test
     public void whenReceivingProgramCardFromServerCorrectPlayerIsExtractedTest() {
-        String programCardAsString = converter.convertToString(1, programcard);
-        try {
-            when(reader.readLine())
-                    .thenReturn(programCardAsString)
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        Frame programCardFrame = Frame.card(1, programcard);
+        client.setInput(framesOf(
+                programCardFrame,
+                Frame.of(Messages.STOP_THREAD)));
         client.start();
         waitForThread(client);
         assertEquals(programcard.toString(), player1.getRegisters().getCard(0).toString());
@@ -130,20 +136,16 @@ public class ClientTest {
 
     @Test
     public void onlyAddingCardsToDeckWhenReceivingDeckIsTrueTest() {
-        String programCardString = converter.convertToString(programcard);
+        Frame programCardFrame = Frame.card(programcard);
         Player player = new Player(new Vector2(0,0), 1);
-        String programCardNotBelongingToDeck = converter.convertToString(1, programcard);
-        try {
-            when(reader.readLine())
-                    .thenReturn(Messages.DECK_BEGIN.toString())
-                    .thenReturn(programCardString)
-                    .thenReturn(Messages.DECK_END.toString())
-                    .thenReturn(programCardNotBelongingToDeck)
-                    .thenReturn(Messages.STOP_THREAD.toString());
-            when(board.getPlayer(1)).thenReturn(player);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        Frame programCardNotBelongingToDeck = Frame.card(1, programcard);
+        when(board.getPlayer(1)).thenReturn(player);
+        client.setInput(framesOf(
+                Frame.of(Messages.DECK_BEGIN),
+                programCardFrame,
+                Frame.of(Messages.DECK_END),
+                programCardNotBelongingToDeck,
+                Frame.of(Messages.STOP_THREAD)));
         client.start();
         waitForThread(client);
         assertEquals(1, client.getStackOfDeck().size());
@@ -151,13 +153,9 @@ public class ClientTest {
 
     @Test
     public void receivingCorrectMapTest() {
-        try {
-            when(reader.readLine())
-                    .thenReturn(converter.createMapPathMessage("assets/maps/Risky Exchange.tmx"))
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        client.setInput(framesOf(
+                Frame.mapPath("assets/maps/Risky Exchange.tmx"),
+                Frame.of(Messages.STOP_THREAD)));
         client.start();
         waitForThread(client);
         verify(game).setMapPath("assets/maps/Risky Exchange.tmx");
@@ -165,13 +163,9 @@ public class ClientTest {
 
     @Test
     public void playerOneSendsPoweringDownTest() {
-        try {
-            when(reader.readLine())
-                    .thenReturn(converter.createMessageFromPlayer(1, Messages.POWERING_DOWN))
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        client.setInput(framesOf(
+                Frame.fromPlayer(1, Messages.POWERING_DOWN),
+                Frame.of(Messages.STOP_THREAD)));
         client.start();
         waitForThread(client);
         assertTrue(player1.isPoweringDown());
@@ -179,13 +173,9 @@ public class ClientTest {
 
     @Test
     public void playerOneSendsPowerUpTest() {
-        try {
-            when(reader.readLine())
-                    .thenReturn(converter.createMessageFromPlayer(1, Messages.POWER_UP))
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        client.setInput(framesOf(
+                Frame.fromPlayer(1, Messages.POWER_UP),
+                Frame.of(Messages.STOP_THREAD)));
         client.start();
         waitForThread(client);
         assertFalse(player1.isPoweredDown());
@@ -193,13 +183,9 @@ public class ClientTest {
 
     @Test
     public void playerOneSendsPowerDownIsRegisteredTest() {
-        try {
-            when(reader.readLine())
-                    .thenReturn(converter.createMessageFromPlayer(1, Messages.POWERING_DOWN))
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        client.setInput(framesOf(
+                Frame.fromPlayer(1, Messages.POWERING_DOWN),
+                Frame.of(Messages.STOP_THREAD)));
         client.start();
         waitForThread(client);
         assertTrue(player1.isPoweringDown());
@@ -207,13 +193,9 @@ public class ClientTest {
 
     @Test
     public void playerOneSendsPowerUpIsRemovedFromPoweredDownInGameTest() {
-        try {
-            when(reader.readLine())
-                    .thenReturn(converter.createMessageFromPlayer(1, Messages.POWER_UP))
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        client.setInput(framesOf(
+                Frame.fromPlayer(1, Messages.POWER_UP),
+                Frame.of(Messages.STOP_THREAD)));
         client.start();
         waitForThread(client);
         verify(game).removePoweredDownPlayer(player1);
@@ -221,13 +203,9 @@ public class ClientTest {
 
     @Test
     public void continueTurnWhenServerSendsContinueMessage() {
-        try {
-            when(reader.readLine())
-                    .thenReturn(Messages.CONTINUE_TURN.toString())
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        client.setInput(framesOf(
+                Frame.of(Messages.CONTINUE_TURN),
+                Frame.of(Messages.STOP_THREAD)));
         // Do not wait for doTurn to finish
         client.continueListening();
         client.start();
@@ -237,13 +215,9 @@ public class ClientTest {
 
     @Test
     public void client2SendsQuitMessageTest() {
-        try {
-            when(reader.readLine())
-                    .thenReturn(converter.createQuitMessage(2))
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        client.setInput(framesOf(
+                Frame.fromPlayer(2, Messages.QUIT),
+                Frame.of(Messages.STOP_THREAD)));
         // Do not wait for doTurn to finish
         client.continueListening();
         client.start();
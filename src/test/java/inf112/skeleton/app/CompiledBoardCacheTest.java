@@ -0,0 +1,85 @@
+package inf112.skeleton.app;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.BoardLayers;
+import inf112.skeleton.app.board.CompiledBoard;
+import inf112.skeleton.app.board.CompiledBoardCache;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.board.HeadlessMapLoader;
+import inf112.skeleton.app.enums.Direction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledBoardCacheTest {
+
+    private static final String MAP_PATH = "assets/maps/Risky Exchange.tmx";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private CompiledBoardCache cache;
+    private HeadlessBoard board;
+
+    @Before
+    public void setUp() {
+        this.cache = new CompiledBoardCache(folder.getRoot());
+        this.board = new HeadlessBoard(new HeadlessMapLoader().load(MAP_PATH));
+    }
+
+    @Test
+    public void boardIsSavedOnFirstLoadTest() {
+        File file = cache.getFile(MAP_PATH);
+        assertFalse(file.exists());
+        cache.load(MAP_PATH);
+        assertTrue(file.isFile());
+    }
+
+    @Test
+    public void loadedMapIsSavedOnFirstLoadTest() {
+        File file = cache.getFile(MAP_PATH);
+        cache.load(MAP_PATH, new HeadlessMapLoader().load(MAP_PATH));
+        assertTrue(file.isFile());
+        BoardLayers cachedBoard = new BoardLayers(null, cache.load(MAP_PATH)) {
+        };
+        assertEquals(board.getStartPosition(1), cachedBoard.getStartPosition(1));
+    }
+
+    @Test
+    public void savedBoardHasSameRulesAsMapTest() {
+        cache.load(MAP_PATH);
+        CompiledBoard compiled = cache.load(MAP_PATH);
+        BoardLayers cachedBoard = new BoardLayers(null, compiled) {
+        };
+        for (int x = 0; x < board.getBoardWidth(); x++) {
+            for (int y = 0; y < board.getBoardHeight(); y++) {
+                Vector2 position = new Vector2(x, y);
+                assertEquals(board.hasHole(position), cachedBoard.hasHole(position));
+                assertEquals(board.hasRepairTile(position), cachedBoard.hasRepairTile(position));
+                assertEquals(board.getFlagNumber(position), cachedBoard.getFlagNumber(position));
+                assertEquals(board.getBeltDirection(position), cachedBoard.getBeltDirection(position));
+                for (Direction direction : Direction.values()) {
+                    assertEquals(board.canGo(position, direction), cachedBoard.canGo(position, direction));
+                }
+            }
+        }
+        assertEquals(board.getStartPosition(1), cachedBoard.getStartPosition(1));
+        assertEquals(board.getLasers().size(), cachedBoard.getLasers().size());
+    }
+
+    @Test
+    public void brokenFileIsCompiledAgainTest() throws IOException {
+        File file = cache.getFile(MAP_PATH);
+        Files.write(file.toPath(), new byte[]{1, 2, 3});
+        assertEquals(board.getBoardWidth(), cache.load(MAP_PATH).getWidth());
+    }
+}
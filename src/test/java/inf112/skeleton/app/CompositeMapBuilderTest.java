@@ -0,0 +1,101 @@
+package inf112.skeleton.app;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.CompiledBoardCache;
+import inf112.skeleton.app.board.CompositeMapBuilder;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.board.HeadlessMapLoader;
+import inf112.skeleton.app.enums.Direction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+
+public class CompositeMapBuilderTest {
+
+    private static final String MAP_PATH = "assets/maps/Risky Exchange.tmx";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private CompiledBoardCache cache;
+    private HeadlessMapLoader loader;
+    private HeadlessBoard board;
+
+    @Before
+    public void setUp() {
+        this.cache = new CompiledBoardCache(folder.getRoot());
+        this.loader = new HeadlessMapLoader();
+        this.board = new HeadlessBoard(MAP_PATH, cache);
+    }
+
+    @Test
+    public void compositeBoardFitsAllSectionsTest() {
+        HeadlessBoard composite = new HeadlessBoard(new CompositeMapBuilder()
+                .add(loader.load(MAP_PATH), 0, 0, 0)
+                .add(loader.load(MAP_PATH), board.getBoardWidth(), 0, 1)
+                .build());
+        assertEquals(board.getBoardWidth() + board.getBoardHeight(), composite.getBoardWidth());
+        assertEquals(board.getBoardWidth(), composite.getBoardHeight());
+    }
+
+    @Test
+    public void sectionBesideFirstKeepsItsRulesTest() {
+        HeadlessBoard composite = new HeadlessBoard(new CompositeMapBuilder()
+                .add(loader.load(MAP_PATH), 0, 0, 0)
+                .add(loader.load(MAP_PATH), board.getBoardWidth(), 0, 0)
+                .build());
+        for (int x = 0; x < board.getBoardWidth(); x++) {
+            for (int y = 0; y < board.getBoardHeight(); y++) {
+                Vector2 position = new Vector2(x, y);
+                Vector2 shifted = new Vector2(x + board.getBoardWidth(), y);
+                assertEquals(board.hasHole(position), composite.hasHole(shifted));
+                assertEquals(board.getBeltDirection(position), composite.getBeltDirection(shifted));
+                assertEquals(board.canGo(position, Direction.NORTH), composite.canGo(shifted, Direction.NORTH));
+            }
+        }
+    }
+
+    @Test
+    public void turnedSectionTurnsWallsAndBeltsTest() {
+        HeadlessBoard turned = new HeadlessBoard(new CompositeMapBuilder()
+                .add(loader.load(MAP_PATH), 0, 0, 1)
+                .build());
+        int height = board.getBoardHeight();
+        for (int x = 0; x < board.getBoardWidth(); x++) {
+            for (int y = 0; y < height; y++) {
+                Vector2 position = new Vector2(x, y);
+                // A quarter turn counterclockwise moves (x, y) to (height - 1 - y, x)
+                Vector2 turnedPosition = new Vector2(height - 1 - y, x);
+                Direction belt = board.getBeltDirection(position);
+                assertEquals(belt == null ? null : belt.turnLeft(), turned.getBeltDirection(turnedPosition));
+                for (Direction direction : Direction.values()) {
+                    assertEquals(board.canGo(position, direction),
+                            turned.canGo(turnedPosition, direction.turnLeft()));
+                    assertEquals(board.canFire(position, direction),
+                            turned.canFire(turnedPosition, direction.turnLeft()));
+                }
+            }
+        }
+        assertEquals(board.getLasers().size(), turned.getLasers().size());
+    }
+
+    @Test
+    public void flagsAreOnlyTakenFromFirstSectionTest() {
+        HeadlessBoard composite = new HeadlessBoard(new CompositeMapBuilder()
+                .add(loader.load(MAP_PATH), 0, 0, 0)
+                .add(loader.load(MAP_PATH), 0, board.getBoardHeight(), 2)
+                .build());
+        assertEquals(board.getFlags().size(), composite.getFlags().size());
+    }
+
+    @Test
+    public void arenaFileIsAssembledFromItsSectionsTest() {
+        HeadlessBoard arena = new HeadlessBoard("assets/maps/Grand Arena" + CompositeMapBuilder.EXTENSION, cache);
+        assertEquals(2 * board.getBoardWidth(), arena.getBoardWidth());
+        assertEquals(2 * board.getBoardHeight(), arena.getBoardHeight());
+        assertEquals(board.getStartPosition(1), arena.getStartPosition(1));
+    }
+}
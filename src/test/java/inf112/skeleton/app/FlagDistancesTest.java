@@ -0,0 +1,99 @@
+package inf112.skeleton.app;
+
+import inf112.skeleton.app.board.CompiledBoardCache;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.board.HeadlessMapLoader;
+import inf112.skeleton.app.engine.CardTransitionTable;
+import inf112.skeleton.app.engine.FlagDistances;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.objects.Flag;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FlagDistancesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private CompiledBoardCache cache;
+    private HeadlessBoard board;
+    private FlagDistances distances;
+
+    @Before
+    public void setUp() {
+        this.cache = new CompiledBoardCache(folder.getRoot());
+        this.board = new HeadlessBoard(new HeadlessMapLoader().load("assets/maps/Risky Exchange.tmx"));
+        this.distances = FlagDistances.load(board, cache);
+    }
+
+    @Test
+    public void everyFlagIsCountedTest() {
+        assertEquals(board.getFlags().size(), distances.getFlagCount());
+    }
+
+    @Test
+    public void flagHasDistanceZeroTest() {
+        for (Flag flag : board.getFlags()) {
+            for (Direction direction : Direction.values()) {
+                assertEquals(0, distances.getDistance(flag.getFlagnr(), GridPos.of(flag.getPosition()), direction));
+            }
+        }
+    }
+
+    @Test
+    public void someCardLeadsOneRegisterCloserTest() {
+        CardTransitionTable table = CardTransitionTable.of(board);
+        Flag flag = board.getFlags().get(0);
+        for (int y = 0; y < board.getBoardHeight(); y++) {
+            for (int x = 0; x < board.getBoardWidth(); x++) {
+                for (Direction direction : Direction.values()) {
+                    int distance = distances.getDistance(flag.getFlagnr(), GridPos.of(x, y), direction);
+                    if (distance <= 0) {
+                        continue;
+                    }
+                    boolean closer = false;
+                    for (int type = 0; type < CardTransitionTable.CARD_TYPES; type++) {
+                        long entry = table.get(GridPos.of(x, y), direction, type);
+                        closer |= !CardTransitionTable.isDestroyed(entry)
+                                && distances.getDistance(flag.getFlagnr(), CardTransitionTable.getPosition(entry),
+                                CardTransitionTable.getDirection(entry)) == distance - 1;
+                    }
+                    assertTrue(closer);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void holeCanNotReachFlagTest() {
+        for (int y = 0; y < board.getBoardHeight(); y++) {
+            for (int x = 0; x < board.getBoardWidth(); x++) {
+                if (board.hasHole(GridPos.of(x, y))) {
+                    assertEquals(FlagDistances.UNREACHABLE, distances.getDistance(1, GridPos.of(x, y), Direction.NORTH));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void savedDistancesAreLoadedAgainTest() {
+        assertTrue(cache.getDataFile(board.getCompiledBoard(), ".flags").isFile());
+        FlagDistances loaded = FlagDistances.load(board, cache);
+        assertFalse(loaded == distances);
+        for (int y = 0; y < board.getBoardHeight(); y++) {
+            for (int x = 0; x < board.getBoardWidth(); x++) {
+                for (Direction direction : Direction.values()) {
+                    assertEquals(distances.getDistance(1, GridPos.of(x, y), direction),
+                            loaded.getDistance(1, GridPos.of(x, y), direction));
+                }
+            }
+        }
+    }
+}
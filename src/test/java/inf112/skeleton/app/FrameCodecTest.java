@@ -0,0 +1,112 @@
+package inf112.skeleton.app;
+
+import inf112.skeleton.app.cards.Deck;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.enums.Messages;
+import inf112.skeleton.app.enums.Rotate;
+import inf112.skeleton.app.lan.Converter;
+import inf112.skeleton.app.lan.Frame;
+import inf112.skeleton.app.lan.FrameCodec;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrameCodecTest {
+
+    private final FrameCodec codec = new FrameCodec();
+
+    private byte[] write(Frame... frames) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        for (Frame frame : frames) {
+            codec.write(frame, output);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void everyCardInDeckIsReadAsSameCardTest() throws IOException {
+        for (ProgramCard card : new Deck(new Random(1)).getDeck()) {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(write(Frame.card(card))));
+            assertEquals(Frame.card(card), codec.read(input));
+        }
+    }
+
+    @Test
+    public void framesAreReadInOrderTest() throws IOException {
+        Frame[] frames = {
+                Frame.number(Messages.YOUR_NUMBER, 3),
+                Frame.number(Messages.PLAYERS, 200),
+                Frame.mapPath("assets/maps/Risky Exchange.tmx"),
+                Frame.of(Messages.DECK_BEGIN),
+                Frame.card(2, new ProgramCard(790, 3, Rotate.NONE, "Move 3")),
+                Frame.fromPlayer(2, Messages.POWERING_DOWN),
+                Frame.of(Messages.STOP_THREAD)
+        };
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(write(frames)));
+        for (Frame frame : frames) {
+            assertEquals(frame, codec.read(input));
+        }
+    }
+
+    @Test
+    public void cardWithOtherNameKeepsNameTest() throws IOException {
+        ProgramCard card = new ProgramCard(10, 0, Rotate.LEFT, "Spin");
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(write(Frame.card(1, card))));
+        assertEquals("Spin", codec.read(input).getCard().getName());
+    }
+
+    @Test
+    public void cardFrameIsShorterThanConverterTextTest() throws IOException {
+        ProgramCard card = new ProgramCard(670, 2, Rotate.NONE, "Move 2");
+        String text = new Converter().convertToString(2, card);
+        assertTrue(write(Frame.card(2, card)).length < text.length());
+    }
+
+    @Test
+    public void framesInBufferAreDecodedInOrderTest() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        codec.encode(Frame.fromPlayer(4, Messages.QUIT), buffer);
+        codec.encode(Frame.card(new ProgramCard(420, -1, Rotate.NONE, "Back up")), buffer);
+        ((Buffer) buffer).flip();
+        assertEquals(Frame.fromPlayer(4, Messages.QUIT), codec.decode(buffer));
+        assertEquals(Frame.card(new ProgramCard(420, -1, Rotate.NONE, "Back up")), codec.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test(expected = IOException.class)
+    public void cutShortFrameThrowsExceptionTest() throws IOException {
+        byte[] bytes = write(Frame.card(new ProgramCard(420, 1, Rotate.NONE, "Move 1")));
+        codec.decode(ByteBuffer.wrap(bytes, 0, bytes.length - 1));
+    }
+
+    @Test(expected = IOException.class)
+    public void unknownTypeThrowsExceptionTest() throws IOException {
+        codec.decode(ByteBuffer.wrap(new byte[] {2, (byte) 0xFF, 0}));
+    }
+
+    @Test
+    public void cardInDirectBufferIsDecodedTest() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        codec.encode(Frame.card(new ProgramCard(420, 1, Rotate.NONE, "Sidestep")), buffer);
+        ((Buffer) buffer).flip();
+        assertEquals(Frame.card(new ProgramCard(420, 1, Rotate.NONE, "Sidestep")), codec.decode(buffer.asReadOnlyBuffer()));
+    }
+
+    @Test(expected = IOException.class)
+    public void negativeLengthThrowsExceptionTest() throws IOException {
+        byte[] bytes = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        codec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
@@ -1,7 +1,8 @@
 package inf112.skeleton.app;
 
 import com.badlogic.gdx.math.Vector2;
-import inf112.skeleton.app.lan.Converter;
+import inf112.skeleton.app.enums.Messages;
+import inf112.skeleton.app.lan.Frame;
 import inf112.skeleton.app.lan.GameServer;
 import inf112.skeleton.app.objects.player.Player;
 import inf112.skeleton.app.screens.menuscreen.MenuScreenActors;
@@ -29,7 +30,6 @@ import static org.mockito.Mockito.when;
 public class GameServerTest {
 
     private GameServer gameServer;
-    private Converter converter;
 
     @Mock
     private ServerSocket serverSocket;
@@ -60,7 +60,6 @@ public class GameServerTest {
             e.printStackTrace();
         }
         this.gameServer = new GameServer(game);
-        this.converter = new Converter();
         gameServer.setServerSocket(serverSocket);
         gameServer.setConnectingToClients(true);
     }
@@ -102,15 +101,15 @@ public class GameServerTest {
         GameServer spyServer = spy(gameServer);
         spyServer.setMapPath("My map path");
         spyServer.connect(1);
-        verify(spyServer).sendToAll(converter.createMapPathMessage("My map path"));
+        verify(spyServer).sendToAll(Frame.mapPath("My map path"));
     }
 
     @Test
     public void sendToAllExceptPlayerNumberTwoTest() {
         gameServer.connect( 3);
-        gameServer.sendToAll("Hello");
-        gameServer.sendToAllExcept(new Player(new Vector2(0,0), 2), "Hello again");
-        assertEquals("Hello", gameServer.getClients().get(0).getLastSentMessage());
+        gameServer.sendToAll(Frame.of(Messages.START_TURN));
+        gameServer.sendToAllExcept(new Player(new Vector2(0,0), 2), Frame.of(Messages.CONTINUE_TURN));
+        assertEquals(Frame.of(Messages.START_TURN), gameServer.getClients().get(0).getLastSentMessage());
     }
 
     @Test
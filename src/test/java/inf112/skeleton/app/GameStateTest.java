@@ -0,0 +1,68 @@
+package inf112.skeleton.app;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.CompiledBoardCache;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.engine.GameState;
+import inf112.skeleton.app.engine.Robot;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.enums.Rotate;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class GameStateTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private GameState state;
+
+    @Before
+    public void setUp() {
+        HeadlessBoard board = new HeadlessBoard("assets/maps/Risky Exchange.tmx",
+                new CompiledBoardCache(folder.getRoot()));
+        Robot robot1 = new Robot(1, new Vector2(0, 0), Direction.EAST);
+        Robot robot2 = new Robot(2, new Vector2(3, 4), Direction.NORTH);
+        this.state = GameState.of(board, Arrays.asList(robot1, robot2));
+    }
+
+    @Test
+    public void changingStateDoesNotChangeOriginalTest() {
+        GameState moved = state.withPosition(0, new Vector2(1, 0), Direction.SOUTH);
+        assertEquals(new Vector2(0, 0), state.getPosition(0));
+        assertEquals(Direction.EAST, state.getDirection(0));
+        assertEquals(new Vector2(1, 0), moved.getPosition(0));
+        assertEquals(Direction.SOUTH, moved.getDirection(0));
+    }
+
+    @Test
+    public void positionOutsideBoardIsKeptTest() {
+        GameState outside = state.withPosition(1, new Vector2(-1, -1), Direction.WEST);
+        assertEquals(new Vector2(-1, -1), outside.getPosition(1));
+    }
+
+    @Test
+    public void robotsHaveSameStateAsSnapshotTest() {
+        GameState damaged = state.withDamageTokens(1, 4);
+        Robot robot = damaged.toRobots().get(1);
+        assertEquals(2, robot.getPlayerNumber());
+        assertEquals(new Vector2(3, 4), robot.getPosition());
+        assertEquals(4, robot.getDamageTokens());
+    }
+
+    @Test
+    public void resolvingTurnDoesNotChangeStateTest() {
+        ProgramCard moveOne = new ProgramCard(10, 1, Rotate.NONE, "move 1");
+        GameState programmed = state.withProgram(0, moveOne);
+        GameState after = programmed.resolveTurn().getState();
+        assertEquals(new Vector2(0, 0), programmed.getPosition(0));
+        assertEquals(programmed.getRobotCount(), after.getRobotCount());
+    }
+}
@@ -8,10 +8,11 @@ import inf112.skeleton.app.board.Board;
 import inf112.skeleton.app.cards.Deck;
 import inf112.skeleton.app.cards.ProgramCard;
 import inf112.skeleton.app.cards.Registers;
+import inf112.skeleton.app.enums.AnimationSpeed;
 import inf112.skeleton.app.enums.Direction;
 import inf112.skeleton.app.enums.Messages;
 import inf112.skeleton.app.enums.Rotate;
-import inf112.skeleton.app.lan.Converter;
+import inf112.skeleton.app.lan.Frame;
 import inf112.skeleton.app.lan.GameClientThread;
 import inf112.skeleton.app.lan.GameServer;
 import inf112.skeleton.app.lan.ServerThread;
@@ -31,7 +32,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,7 +44,6 @@ public class GameTest {
     private RallyGame game;
     private Player player1;
     private ArrayList<Belt> belts;
-    private Converter converter;
     private Player player2;
     private Player player3;
 
@@ -73,6 +73,7 @@ public class GameTest {
         this.game = new RallyGame();
         this.game.setMapPath("assets/maps/Risky Exchange.tmx");
         this.game.setupGame();
+        this.game.setAnimationClock(milliseconds -> { });
         this.game.setDeck(new Deck().getDeck());
         this.game.setScreen(screen);
         Board board = game.getBoard();
@@ -82,7 +83,6 @@ public class GameTest {
         game.setPlayers(player1, player2, player3);
         game.addPlayer(player1);
         this.belts = board.getBelts();
-        this.converter = new Converter();
 
         game.setMainPlayer(mainPlayer);
         when(mainPlayer.getRegisters()).thenReturn(registers);
@@ -262,7 +262,7 @@ public class GameTest {
         game.setClient(client);
         when(mainPlayer.getRegisters().hasRegistersWithoutCard()).thenReturn(false);
         game.confirm();
-        verify(client, times(5)).sendMessage(anyString());
+        verify(client, times(5)).sendMessage(any(Frame.class));
     }
 
     @Test
@@ -281,7 +281,7 @@ public class GameTest {
         when(mainPlayer.getPowerDownNextRound()).thenReturn(true);
         when(mainPlayer.getRegisters().hasRegistersWithoutCard()).thenReturn(false);
         game.confirm();
-        verify(client, times(6)).sendMessage(anyString());
+        verify(client, times(6)).sendMessage(any(Frame.class));
         verify(mainPlayer).setPoweringDown(true);
     }
 
@@ -290,7 +290,7 @@ public class GameTest {
         game.setClient(client);
         when(mainPlayer.getPlayerNumber()).thenReturn(2);
         game.sendPowerUpMessage();
-        verify(client).sendMessage(converter.createMessageFromPlayer(2, Messages.POWER_UP));
+        verify(client).sendMessage(Frame.fromPlayer(2, Messages.POWER_UP));
     }
 
     @Test
@@ -299,7 +299,7 @@ public class GameTest {
         game.setServerThread(serverThread);
         when(mainPlayer.getPlayerNumber()).thenReturn(1);
         game.sendPowerUpMessage();
-        verify(server).sendToAll(converter.createMessageFromPlayer(1, Messages.POWER_UP));
+        verify(server).sendToAll(Frame.fromPlayer(1, Messages.POWER_UP));
 
     }
 
@@ -325,7 +325,7 @@ public class GameTest {
         when(mainPlayer.getPowerUpNextRound()).thenReturn(false);
         when(mainPlayer.getPlayerNumber()).thenReturn(2);
         game.confirm();
-        verify(client).sendMessage(converter.createMessageFromPlayer(2, Messages.CONTINUE_POWER_DOWN));
+        verify(client).sendMessage(Frame.fromPlayer(2, Messages.CONTINUE_POWER_DOWN));
     }
 
     @Test
@@ -337,7 +337,7 @@ public class GameTest {
         player3.setPoweringDown(true);
         game.powerDown();
         game.serverGetReadyForNextRound();
-        verify(server).sendToAll(Messages.START_TURN.toString());
+        verify(server).sendToAll(Frame.of(Messages.START_TURN));
     }
 
     @Test
@@ -370,6 +370,12 @@ public class GameTest {
         assertEquals(0, player1.getDamageTokens());
     }
 
+    @Test
+    public void instantAnimationSpeedDoesNotWaitTest() {
+        assertEquals(0, AnimationSpeed.INSTANT.scale(1300));
+        assertEquals(1300, AnimationSpeed.NORMAL.scale(1300));
+    }
+
     @Test
     public void playerWinsTest() {
         when(mainPlayer.hasAllFlags(3)).thenReturn(true);
@@ -0,0 +1,40 @@
+package inf112.skeleton.app;
+
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.enums.Direction;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GridPosTest {
+
+    @Test
+    public void packedPositionKeepsCoordinatesTest() {
+        int position = GridPos.of(11, 3);
+        assertEquals(11, GridPos.x(position));
+        assertEquals(3, GridPos.y(position));
+        assertEquals(new Vector2(11, 3), GridPos.toVector(position));
+    }
+
+    @Test
+    public void packedPositionOutsideBoardKeepsCoordinatesTest() {
+        int position = GridPos.of(-1, -1);
+        assertEquals(-1, GridPos.x(position));
+        assertEquals(-1, GridPos.y(position));
+    }
+
+    @Test
+    public void neighbourIsOneStepInDirectionTest() {
+        int position = GridPos.of(0, 0);
+        assertEquals(GridPos.of(1, 0), GridPos.neighbour(position, Direction.EAST));
+        assertEquals(GridPos.of(-1, 0), GridPos.neighbour(position, Direction.WEST));
+        assertEquals(GridPos.of(0, 1), GridPos.neighbour(position, Direction.NORTH));
+        assertEquals(GridPos.of(0, -1), GridPos.neighbour(position, Direction.SOUTH));
+    }
+
+    @Test
+    public void distanceIsStepsAlongRowsAndColumnsTest() {
+        assertEquals(7, GridPos.distance(GridPos.of(2, 5), GridPos.of(6, 2)));
+    }
+}
@@ -65,6 +65,15 @@ public class LaserTest {
         }
     }
 
+    @Test
+    public void removeLasersRemovesFiredLasersTest() {
+        game.fireLasers();
+        game.removeLasers();
+        for (Laser laser : lasers) {
+            assertFalse(hasLaser(laser.getStartPosition()));
+        }
+    }
+
     @Test
     public void playerBlockingLaserTest() {
         Laser laser = lasers.get(0);
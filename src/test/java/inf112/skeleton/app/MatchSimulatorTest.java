@@ -0,0 +1,65 @@
+package inf112.skeleton.app;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import inf112.skeleton.app.board.Board;
+import inf112.skeleton.app.board.CompiledBoardCache;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.engine.MatchSimulator;
+import inf112.skeleton.app.engine.ProgramStrategy;
+import inf112.skeleton.app.engine.SimulationReport;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class MatchSimulatorTest {
+
+    private static final String MAP_PATH = "assets/maps/Risky Exchange.tmx";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private HeadlessBoard headlessBoard;
+    private MatchSimulator simulator;
+
+    @Before
+    public void setUp() {
+        this.headlessBoard = new HeadlessBoard(MAP_PATH, new CompiledBoardCache(folder.getRoot()));
+        this.simulator = new MatchSimulator(headlessBoard, 4, ProgramStrategy.RANDOM);
+    }
+
+    @Test
+    public void headlessBoardFindsSameObjectsAsBoardTest() {
+        Gdx.gl = mock(GL20.class);
+        //Make a headless application in order to initialize the board. Does not show.
+        new HeadlessApplication(new EmptyApplication());
+        Board board = new Board(new TmxMapLoader().load(MAP_PATH));
+        assertEquals(board.getFlags().size(), headlessBoard.getFlags().size());
+        assertEquals(board.getBelts().size(), headlessBoard.getBelts().size());
+        assertEquals(board.getHoles(), headlessBoard.getHoles());
+        assertEquals(board.getLasers().size(), headlessBoard.getLasers().size());
+        assertEquals(board.getStartPosition(1), headlessBoard.getStartPosition(1));
+    }
+
+    @Test
+    public void allGamesArePlayedTest() {
+        SimulationReport report = simulator.run(20, 1);
+        assertEquals(20, report.getGames());
+        assertTrue(report.getTurnsPlayed() > 0);
+    }
+
+    @Test
+    public void sameSeedGivesSameGamesTest() {
+        SimulationReport first = simulator.run(10, 42);
+        SimulationReport second = simulator.run(10, 42);
+        assertEquals(first.getTurnsPlayed(), second.getTurnsPlayed());
+        assertEquals(first.getTimesTaken(1), second.getTimesTaken(1));
+    }
+}
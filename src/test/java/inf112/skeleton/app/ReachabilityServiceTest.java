@@ -0,0 +1,86 @@
+package inf112.skeleton.app;
+
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.board.HeadlessMapLoader;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.engine.ReachabilityService;
+import inf112.skeleton.app.engine.ReachableState;
+import inf112.skeleton.app.engine.Robot;
+import inf112.skeleton.app.engine.TurnResolver;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.enums.Rotate;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReachabilityServiceTest {
+
+    private HeadlessBoard board;
+    private ReachabilityService service;
+
+    @Before
+    public void setUp() {
+        this.board = new HeadlessBoard(new HeadlessMapLoader().load("assets/maps/Risky Exchange.tmx"));
+        this.service = new ReachabilityService(board);
+    }
+
+    @Test
+    public void cardsThatDoTheSameGiveOneStateTest() {
+        List<ProgramCard> cards = Arrays.asList(new ProgramCard(80, 0, Rotate.RIGHT, "Right turn"),
+                new ProgramCard(100, 0, Rotate.RIGHT, "Right turn"),
+                new ProgramCard(90, 0, Rotate.LEFT, "Left turn"));
+        ArrayList<ReachableState> states = service.findEndStates(GridPos.of(0, 0), Direction.NORTH, 0, cards, 1);
+        assertEquals(2, states.size());
+        for (ReachableState state : states) {
+            assertEquals(GridPos.of(0, 0), state.getGridPosition());
+            assertEquals(1, state.getProgram().size());
+        }
+    }
+
+    @Test
+    public void drivingOffBoardIsDestroyedTest() {
+        List<ProgramCard> cards = Collections.singletonList(new ProgramCard(500, 1, Rotate.NONE, "Move 1"));
+        ArrayList<ReachableState> states = service.findEndStates(GridPos.of(0, 0), Direction.WEST, 0, cards, 1);
+        assertEquals(1, states.size());
+        assertTrue(states.get(0).isDestroyed());
+    }
+
+    @Test
+    public void endStatesAreWherePlayingTheProgramEndsTest() {
+        List<ProgramCard> cards = Arrays.asList(new ProgramCard(500, 1, Rotate.NONE, "Move 1"),
+                new ProgramCard(700, 2, Rotate.NONE, "Move 2"),
+                new ProgramCard(400, -1, Rotate.NONE, "Back up"),
+                new ProgramCard(80, 0, Rotate.RIGHT, "Right turn"),
+                new ProgramCard(90, 0, Rotate.LEFT, "Left turn"));
+        int start = GridPos.of(5, 5);
+        ArrayList<ReachableState> states = service.findEndStates(start, Direction.NORTH, 0, cards, 3);
+        assertFalse(states.isEmpty());
+        for (ReachableState state : states) {
+            Robot robot = new Robot(1, start, Direction.NORTH);
+            TurnResolver resolver = new TurnResolver(board, Collections.singletonList(robot));
+            for (int register = 0; register < state.getProgram().size(); register++) {
+                robot.setCard(register, state.getProgram().get(register));
+                resolver.playCard(robot, register);
+                resolver.activateBelts(true);
+                resolver.activateBelts(false);
+                resolver.activateRotatePads();
+                resolver.fireWallLasers();
+            }
+            assertEquals(state.isDestroyed(), robot.isDestroyed());
+            if (!state.isDestroyed()) {
+                assertEquals(state.getGridPosition(), robot.getGridPosition());
+                assertEquals(state.getDirection(), robot.getDirection());
+                assertEquals(state.getDamageTaken(), robot.getDamageTokens());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package inf112.skeleton.app;
+
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.board.HeadlessMapLoader;
+import inf112.skeleton.app.board.RespawnSearch;
+import inf112.skeleton.app.enums.Direction;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RespawnSearchTest {
+
+    private HeadlessBoard board;
+    private BitSet occupied;
+    private RespawnSearch search;
+
+    @Before
+    public void setUp() {
+        this.board = new HeadlessBoard(new HeadlessMapLoader().load("assets/maps/Risky Exchange.tmx"));
+        this.occupied = new BitSet();
+        this.search = new RespawnSearch(board, position -> occupied.get(board.cellIndex(position)), new Random(1));
+    }
+
+    private void occupy(int position) {
+        occupied.set(board.cellIndex(position));
+    }
+
+    @Test
+    public void freeBackupPositionIsUsedTest() {
+        int backup = GridPos.of(0, 0);
+        assertTrue(search.find(backup, Direction.NORTH));
+        assertEquals(backup, search.getPosition());
+        assertEquals(Direction.NORTH, search.getDirection());
+    }
+
+    @Test
+    public void nearestFreeCellIsUsedWhenBackupIsTakenTest() {
+        int backup = GridPos.of(5, 5);
+        occupy(backup);
+        assertTrue(search.find(backup, Direction.NORTH));
+        int position = search.getPosition();
+        assertEquals(1, Math.max(Math.abs(GridPos.x(position) - 5), Math.abs(GridPos.y(position) - 5)));
+        assertFalse(board.hasHole(position));
+    }
+
+    @Test
+    public void sameSeedGivesSamePositionTest() {
+        int backup = GridPos.of(5, 5);
+        occupy(backup);
+        search.setSeed(42);
+        search.find(backup, Direction.NORTH);
+        int position = search.getPosition();
+        Direction direction = search.getDirection();
+        search.setSeed(42);
+        search.find(backup, Direction.NORTH);
+        assertEquals(position, search.getPosition());
+        assertEquals(direction, search.getDirection());
+    }
+
+    @Test
+    public void lastFreeCellIsFoundOnCrowdedBoardTest() {
+        occupied.set(0, board.getBoardWidth() * board.getBoardHeight());
+        int free = GridPos.of(board.getBoardWidth() - 1, board.getBoardHeight() - 1);
+        occupied.clear(board.cellIndex(free));
+        assertTrue(search.find(GridPos.of(0, 0), Direction.EAST));
+        assertEquals(free, search.getPosition());
+    }
+
+    @Test
+    public void fullBoardHasNoRespawnPositionTest() {
+        occupied.set(0, board.getBoardWidth() * board.getBoardHeight());
+        assertFalse(search.find(GridPos.of(0, 0), Direction.EAST));
+    }
+}
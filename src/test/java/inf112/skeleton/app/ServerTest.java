@@ -1,7 +1,8 @@
 package inf112.skeleton.app;
 
 import com.badlogic.gdx.math.Vector2;
-import inf112.skeleton.app.lan.Converter;
+import inf112.skeleton.app.lan.Frame;
+import inf112.skeleton.app.lan.FrameCodec;
 import inf112.skeleton.app.lan.GameServer;
 import inf112.skeleton.app.lan.GameServerThreads;
 import inf112.skeleton.app.board.Board;
@@ -16,7 +17,10 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -36,11 +40,10 @@ public class ServerTest {
 
     private GameServerThreads server;
     private Player player2;
-    private String cardStringFromPlayer2;
+    private Frame cardFromPlayer2;
     private Player player1;
     private ProgramCard card;
     private ArrayList<Player> threePlayers;
-    private Converter converter;
 
     @Mock
     private Socket socket;
@@ -57,9 +60,6 @@ public class ServerTest {
     @Mock
     private OutputStream output;
 
-    @Mock
-    private BufferedReader reader;
-
     @Mock
     private Deck deck;
 
@@ -77,7 +77,6 @@ public class ServerTest {
         } catch (IOException e) {
             e.printStackTrace();
         }
-        this.converter = new Converter();
         this.server = new GameServerThreads(gameServer, game, socket, 2);
         this.player1 = new Player(new Vector2(0, 0), 1);
         this.player2 = new Player(new Vector2(0, 1), 2);
@@ -85,7 +84,7 @@ public class ServerTest {
         ArrayList<Player> players = new ArrayList<>(Arrays.asList(player1, player2));
         this.threePlayers = new ArrayList<>(Arrays.asList(player1, player2, player3));
         this.card = new ProgramCard(10, 2, Rotate.NONE, "Move 2");
-        this.cardStringFromPlayer2 = converter.convertToString(2, card);
+        this.cardFromPlayer2 = Frame.card(2, card);
 
         when(game.getBoard()).thenReturn(board);
         when(board.getPlayers()).thenReturn(players);
@@ -93,8 +92,24 @@ public class ServerTest {
         when(board.getPlayer(2)).thenReturn(player2);
         when(board.getPlayer(3)).thenReturn(player3);
 
-        // Reader decided for each test
-        server.setReader(reader);
+        // Input decided for each test
+    }
+
+    /**
+     * @return input with these frames, as the server reads them from the socket
+     */
+    private DataInputStream framesOf(Frame... frames) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        FrameCodec codec = new FrameCodec();
+        try {
+            for (Frame frame : frames) {
+                codec.write(frame, output);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
     }
 
     /**
@@ -112,11 +127,9 @@ public class ServerTest {
     @Test
     public void sentCardByPlayer2GoesToPlayer2RegisterTest() {
         // Send card from player 2
-        try {
-            when(reader.readLine()).thenReturn(cardStringFromPlayer2).thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        server.setInput(framesOf(
+                cardFromPlayer2,
+                Frame.of(Messages.STOP_THREAD)));
         server.start();
         waitForThread(server);
         assertEquals(1, player2.getRegisters().getCards().size());
@@ -125,11 +138,13 @@ public class ServerTest {
     @Test
     public void allClientsHaveSentCardsTest() {
         // Send 5 cards from player 2
-        try {
-            when(reader.readLine()).thenReturn(cardStringFromPlayer2, cardStringFromPlayer2, cardStringFromPlayer2, cardStringFromPlayer2, cardStringFromPlayer2).thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        server.setInput(framesOf(
+                cardFromPlayer2,
+                cardFromPlayer2,
+                cardFromPlayer2,
+                cardFromPlayer2,
+                cardFromPlayer2,
+                Frame.of(Messages.STOP_THREAD)));
         server.start();
         waitForThread(server);
         assertTrue(server.allClientsHaveSelectedCardsOrInPowerDown());
@@ -137,13 +152,9 @@ public class ServerTest {
 
     @Test
     public void player2SendPowerDownMessageTest() {
-        try {
-            when(reader.readLine())
-                    .thenReturn(converter.createMessageFromPlayer(2, Messages.POWERING_DOWN))
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        server.setInput(framesOf(
+                Frame.fromPlayer(2, Messages.POWERING_DOWN),
+                Frame.of(Messages.STOP_THREAD)));
         server.start();
         waitForThread(server);
         assertTrue(player2.isPoweringDown());
@@ -151,15 +162,11 @@ public class ServerTest {
 
     @Test
     public void letPlayer3KnowPlayer2IsPoweringDownTest() {
-        String poweringDownMessage = converter.createMessageFromPlayer(2, Messages.POWERING_DOWN);
+        Frame poweringDownMessage = Frame.fromPlayer(2, Messages.POWERING_DOWN);
         when(board.getPlayers()).thenReturn(threePlayers);
-        try {
-            when(reader.readLine())
-                    .thenReturn(poweringDownMessage)
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        server.setInput(framesOf(
+                poweringDownMessage,
+                Frame.of(Messages.STOP_THREAD)));
         server.start();
         waitForThread(server);
         verify(gameServer).sendToAllExcept(player2, poweringDownMessage);
@@ -175,55 +182,53 @@ public class ServerTest {
     public void allPlayersHaveSelectedCardsServerSendsStartTurnMessageTest() {
         player1.setSelectedCards(card, card, card, card, card);
         // Send 5 cards from player 2
-        try {
-            when(gameServer.serverHasConfirmed()).thenReturn(true);
-            when(reader.readLine()).thenReturn(cardStringFromPlayer2, cardStringFromPlayer2, cardStringFromPlayer2, cardStringFromPlayer2, cardStringFromPlayer2)
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        when(gameServer.serverHasConfirmed()).thenReturn(true);
+        server.setInput(framesOf(
+                cardFromPlayer2,
+                cardFromPlayer2,
+                cardFromPlayer2,
+                cardFromPlayer2,
+                cardFromPlayer2,
+                Frame.of(Messages.STOP_THREAD)));
         // Do not wait for doTurn to finish
         server.continueListening();
         server.start();
         waitForThread(server);
-        verify(gameServer).sendToAll(Messages.START_TURN.toString());
+        verify(gameServer).sendToAll(Frame.of(Messages.START_TURN));
     }
 
     @Test
     public void doNotSendCardsFromPlayersInPowerDownTest() {
         player2.setPoweredDown(true);
-        server.sendMessage("This should be last message");
+        server.sendMessage(Frame.of(Messages.START_TURN));
         server.sendSelectedCards(player2);
-        assertEquals("This should be last message", server.getLastSentMessage());
+        assertEquals(Frame.of(Messages.START_TURN), server.getLastSentMessage());
     }
 
     @Test
     public void hostHasPoweredDownAndAllCardsReceivedStartTurnTest() {
         player1.setPoweredDown(true);
-        try {
-            when(gameServer.serverHasConfirmed()).thenReturn(true);
-            when(reader.readLine()).thenReturn(cardStringFromPlayer2, cardStringFromPlayer2, cardStringFromPlayer2, cardStringFromPlayer2, cardStringFromPlayer2)
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        when(gameServer.serverHasConfirmed()).thenReturn(true);
+        server.setInput(framesOf(
+                cardFromPlayer2,
+                cardFromPlayer2,
+                cardFromPlayer2,
+                cardFromPlayer2,
+                cardFromPlayer2,
+                Frame.of(Messages.STOP_THREAD)));
         // Do not wait for doTurn to finish
         server.continueListening();
         server.start();
         waitForThread(server);
-        verify(gameServer).sendToAll(Messages.START_TURN.toString());
+        verify(gameServer).sendToAll(Frame.of(Messages.START_TURN));
     }
 
     @Test
     public void player2SendsPowerUpMessageTest() {
         player2.setPoweredDown(true);
-        try {
-            when(reader.readLine())
-                    .thenReturn(converter.createMessageFromPlayer(2, Messages.POWER_UP))
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        server.setInput(framesOf(
+                Frame.fromPlayer(2, Messages.POWER_UP),
+                Frame.of(Messages.STOP_THREAD)));
         server.start();
         waitForThread(server);
         assertFalse(player2.isPoweredDown());
@@ -231,13 +236,9 @@ public class ServerTest {
 
     @Test
     public void player2SendsPowerUpMessageIsRemovedFromPoweredDownPlayersTest() {
-        try {
-            when(reader.readLine())
-                    .thenReturn(converter.createMessageFromPlayer(2, Messages.POWER_UP))
-                    .thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        server.setInput(framesOf(
+                Frame.fromPlayer(2, Messages.POWER_UP),
+                Frame.of(Messages.STOP_THREAD)));
         server.start();
         waitForThread(server);
         verify(game).removePoweredDownPlayer(player2);
@@ -245,12 +246,10 @@ public class ServerTest {
 
     @Test
     public void serverBroadcastsReceivedPowerUpMessageTest() {
-        String powerUpMessage = converter.createMessageFromPlayer(2, Messages.POWER_UP);
-        try {
-            when(reader.readLine()).thenReturn(powerUpMessage).thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        Frame powerUpMessage = Frame.fromPlayer(2, Messages.POWER_UP);
+        server.setInput(framesOf(
+                powerUpMessage,
+                Frame.of(Messages.STOP_THREAD)));
         server.start();
         waitForThread(server);
         verify(gameServer).sendToAllExcept(player2, powerUpMessage);
@@ -258,14 +257,12 @@ public class ServerTest {
 
     @Test
     public void playerSendsQuitMessageTest() {
-        try {
-            when(reader.readLine()).thenReturn(converter.createQuitMessage(2)).thenReturn(Messages.STOP_THREAD.toString());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        server.setInput(framesOf(
+                Frame.fromPlayer(2, Messages.QUIT),
+                Frame.of(Messages.STOP_THREAD)));
         server.start();
         waitForThread(server);
-        verify(gameServer).sendToAllExcept(player2, converter.createQuitMessage(2));
+        verify(gameServer).sendToAllExcept(player2, Frame.fromPlayer(2, Messages.QUIT));
     }
 
 }
@@ -0,0 +1,193 @@
+package inf112.skeleton.app;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.Board;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.engine.Robot;
+import inf112.skeleton.app.engine.TurnEvent;
+import inf112.skeleton.app.engine.TurnResolver;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.enums.Rotate;
+import inf112.skeleton.app.enums.TurnEventType;
+import inf112.skeleton.app.objects.Laser;
+import inf112.skeleton.app.objects.player.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class TurnResolverTest {
+
+    private Board board;
+    private Robot robot;
+    private ProgramCard moveOne;
+
+    @Before
+    public void setUp() {
+        Gdx.gl = mock(GL20.class);
+        //Make a headless application in order to initialize the board. Does not show.
+        new HeadlessApplication(new EmptyApplication());
+        this.board = new Board("assets/maps/Risky Exchange.tmx");
+        this.robot = new Robot(1, new Vector2(0, 0), Direction.EAST);
+        this.moveOne = new ProgramCard(10, 1, Rotate.NONE, "move 1");
+    }
+
+    /**
+     * @param events to search
+     * @param type   of event
+     * @return true if there is an event of this type
+     */
+    private boolean hasEvent(ArrayList<TurnEvent> events, TurnEventType type) {
+        for (TurnEvent event : events) {
+            if (event.getType() == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void playingMoveCardMovesRobotTest() {
+        robot.setCard(0, moveOne);
+        TurnResolver resolver = new TurnResolver(board, Arrays.asList(robot));
+        resolver.playCard(robot, 0);
+        assertEquals(new Vector2(1, 0), robot.getPosition());
+        assertTrue(hasEvent(resolver.getEvents(), TurnEventType.MOVED));
+    }
+
+    @Test
+    public void robotPushesRobotInFrontTest() {
+        robot.setPosition(new Vector2(1, 0));
+        robot.setDirection(Direction.NORTH);
+        robot.setCard(0, moveOne);
+        Robot pushedRobot = new Robot(2, new Vector2(1, 1), Direction.EAST);
+        TurnResolver resolver = new TurnResolver(board, Arrays.asList(robot, pushedRobot));
+        resolver.playCard(robot, 0);
+        assertEquals(new Vector2(1, 1), robot.getPosition());
+        assertEquals(new Vector2(1, 2), pushedRobot.getPosition());
+        assertTrue(hasEvent(resolver.getEvents(), TurnEventType.PUSHED));
+    }
+
+    @Test
+    public void pushChainLengthCountsRobotsInRowTest() {
+        robot.setPosition(new Vector2(1, 1));
+        Robot second = new Robot(2, new Vector2(1, 2), Direction.EAST);
+        Robot third = new Robot(3, new Vector2(1, 3), Direction.EAST);
+        TurnResolver resolver = new TurnResolver(board, Arrays.asList(robot, second, third));
+        assertEquals(3, resolver.getPushChainLength(GridPos.of(1, 1), Direction.NORTH));
+        assertEquals(2, resolver.getPushChainLength(GridPos.of(1, 2), Direction.NORTH));
+        assertEquals(0, resolver.getPushChainLength(GridPos.of(1, 4), Direction.NORTH));
+    }
+
+    @Test
+    public void pushChainIsBlockedByWallInFrontOfLastRobotTest() {
+        // Wall north of (1, 5)
+        robot.setPosition(new Vector2(1, 3));
+        robot.setDirection(Direction.NORTH);
+        robot.setCard(0, moveOne);
+        Robot second = new Robot(2, new Vector2(1, 4), Direction.EAST);
+        Robot third = new Robot(3, new Vector2(1, 5), Direction.EAST);
+        TurnResolver resolver = new TurnResolver(board, Arrays.asList(robot, second, third));
+        assertEquals(-1, resolver.getPushChainLength(GridPos.of(1, 4), Direction.NORTH));
+        resolver.playCard(robot, 0);
+        assertEquals(new Vector2(1, 3), robot.getPosition());
+        assertEquals(new Vector2(1, 4), second.getPosition());
+    }
+
+    @Test
+    public void beltMovesRobotTest() {
+        // Found position in Risky Exchange. Belt goes east.
+        robot.setPosition(new Vector2(5, 5));
+        TurnResolver resolver = new TurnResolver(board, Arrays.asList(robot));
+        resolver.activateBelts(false);
+        assertEquals(new Vector2(6, 5), robot.getPosition());
+        assertTrue(hasEvent(resolver.getEvents(), TurnEventType.BELTED));
+    }
+
+    @Test
+    public void robotsInRowOnBeltMoveTogetherInAnyOrderTest() {
+        // Belt goes east from (5, 5) to (8, 5)
+        for (boolean frontFirst : new boolean[]{true, false}) {
+            Robot back = new Robot(1, new Vector2(5, 5), Direction.NORTH);
+            Robot front = new Robot(2, new Vector2(6, 5), Direction.NORTH);
+            TurnResolver resolver = new TurnResolver(board,
+                    frontFirst ? Arrays.asList(front, back) : Arrays.asList(back, front));
+            resolver.activateBelts(false);
+            assertEquals(new Vector2(6, 5), back.getPosition());
+            assertEquals(new Vector2(7, 5), front.getPosition());
+        }
+    }
+
+    @Test
+    public void robotHitByWallLaserTakesDamageTest() {
+        Laser laser = board.getLasers().get(0);
+        robot.setPosition(laser.getStartPosition());
+        TurnResolver resolver = new TurnResolver(board, Arrays.asList(robot));
+        resolver.fireWallLasers();
+        assertEquals(1, robot.getDamageTokens());
+        assertTrue(hasEvent(resolver.getEvents(), TurnEventType.LASERED));
+    }
+
+    @Test
+    public void wallLaserOnlyHitsFirstRobotInBeamTest() {
+        Laser laser = null;
+        for (Laser boardLaser : board.getLasers()) {
+            if (boardLaser.getBeam().length >= 2) {
+                laser = boardLaser;
+            }
+        }
+        int secondCell = laser.getBeam()[1];
+        robot.setPosition(laser.getStartPosition());
+        Robot robotBehind = new Robot(2, new Vector2(secondCell % board.getBoardWidth(),
+                secondCell / board.getBoardWidth()), Direction.EAST);
+        TurnResolver resolver = new TurnResolver(board, Arrays.asList(robot, robotBehind));
+        resolver.fireWallLasers();
+        assertEquals(1, robot.getDamageTokens());
+        assertEquals(0, robotBehind.getDamageTokens());
+    }
+
+    @Test
+    public void robotLaserOnlyHitsClosestRobotTest() {
+        int x = 0;
+        while (board.getFireReach(x, 0, Direction.EAST) < 2) {
+            x++;
+        }
+        robot.setPosition(new Vector2(x, 0));
+        Robot closeRobot = new Robot(2, new Vector2(x + 1, 0), Direction.NORTH);
+        Robot farRobot = new Robot(3, new Vector2(x + 2, 0), Direction.NORTH);
+        TurnResolver resolver = new TurnResolver(board, Arrays.asList(farRobot, robot, closeRobot));
+        resolver.fireRobotLasers();
+        assertEquals(1, closeRobot.getDamageTokens());
+        assertEquals(0, farRobot.getDamageTokens());
+    }
+
+    @Test
+    public void eventsAreOrderedByTickTest() {
+        robot.setCard(0, moveOne);
+        TurnResolver resolver = new TurnResolver(board, Arrays.asList(robot));
+        int lastTick = 0;
+        for (TurnEvent event : resolver.resolve().getEvents()) {
+            assertTrue(event.getTick() >= lastTick);
+            lastTick = event.getTick();
+        }
+    }
+
+    @Test
+    public void resolvingTurnDoesNotMovePlayerTest() {
+        Player player = new Player(new Vector2(0, 0), 1);
+        player.setDirection(Direction.EAST);
+        player.setSelectedCards(moveOne);
+        new TurnResolver(board, Arrays.asList(new Robot(player))).resolve();
+        assertEquals(new Vector2(0, 0), player.getPosition());
+        assertEquals(Direction.EAST, player.getDirection());
+    }
+}
@@ -0,0 +1,136 @@
+package inf112.skeleton.app.benchmark;
+
+import inf112.skeleton.app.board.CompositeMapBuilder;
+import inf112.skeleton.app.board.GridPos;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.board.HeadlessMapLoader;
+import inf112.skeleton.app.engine.Robot;
+import inf112.skeleton.app.engine.TurnResolver;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.objects.Belt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each phase of a register, and of board lookups, on composite boards of sectionsPerSide *
+ * sectionsPerSide copies of Risky Exchange, up to 144 x 108 cells. The same eight robots stand on belts in
+ * the first section on every board, so a phase that only looks at the cells of the robots should cost the
+ * same on every board. Wall lasers grow with the number of lasers, since every laser fires each register.
+ *
+ * Run with mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=inf112.skeleton.app.benchmark.BoardScalingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardScalingBenchmark {
+
+    private static final String MAP_PATH = "assets/maps/Risky Exchange.tmx";
+    private static final int ROBOTS = 8;
+
+    @Param({"1", "3", "6", "9"})
+    public int sectionsPerSide;
+
+    private HeadlessBoard board;
+    private int[] robotPositions;
+    private TurnResolver resolver;
+
+    @Setup
+    public void setUp() {
+        HeadlessMapLoader loader = new HeadlessMapLoader();
+        HeadlessBoard section = new HeadlessBoard(MAP_PATH);
+        CompositeMapBuilder builder = new CompositeMapBuilder();
+        for (int i = 0; i < sectionsPerSide; i++) {
+            for (int j = 0; j < sectionsPerSide; j++) {
+                builder.add(loader.load(MAP_PATH), i * section.getBoardWidth(), j * section.getBoardHeight(), 0);
+            }
+        }
+        board = new HeadlessBoard(builder.build());
+
+        ArrayList<Belt> belts = section.getBelts();
+        robotPositions = new int[ROBOTS];
+        for (int i = 0; i < ROBOTS; i++) {
+            robotPositions[i] = GridPos.of(belts.get(i * belts.size() / ROBOTS).getPosition());
+        }
+    }
+
+    /**
+     * A new resolver with the robots back in place, so every phase starts from the same state.
+     */
+    @Setup(Level.Invocation)
+    public void setUpRobots() {
+        ArrayList<Robot> robots = new ArrayList<>();
+        for (int i = 0; i < ROBOTS; i++) {
+            robots.add(new Robot(i + 1, robotPositions[i], Direction.values()[i % 4]));
+        }
+        resolver = new TurnResolver(board, robots);
+    }
+
+    @Benchmark
+    public Object belts() {
+        resolver.activateBelts(true);
+        resolver.activateBelts(false);
+        return resolver.getEvents();
+    }
+
+    @Benchmark
+    public Object rotatePads() {
+        resolver.activateRotatePads();
+        return resolver.getEvents();
+    }
+
+    @Benchmark
+    public Object robotLasers() {
+        resolver.fireRobotLasers();
+        return resolver.getEvents();
+    }
+
+    @Benchmark
+    public Object wallLasers() {
+        resolver.fireWallLasers();
+        return resolver.getEvents();
+    }
+
+    @Benchmark
+    public Object checkpoints() {
+        resolver.touchCheckpoints(true);
+        return resolver.getEvents();
+    }
+
+    @Benchmark
+    public void boardLookups(Blackhole blackhole) {
+        for (int position : robotPositions) {
+            for (Direction direction : Direction.values()) {
+                blackhole.consume(board.canGo(position, direction));
+                blackhole.consume(board.canFire(position, direction));
+            }
+            blackhole.consume(board.hasHole(position));
+            blackhole.consume(board.getBeltDirection(position));
+            blackhole.consume(board.getFlagNumber(position));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BoardScalingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
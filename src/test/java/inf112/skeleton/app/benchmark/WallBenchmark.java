@@ -0,0 +1,167 @@
+package inf112.skeleton.app.benchmark;
+
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.math.Vector2;
+import inf112.skeleton.app.board.HeadlessBoard;
+import inf112.skeleton.app.board.HeadlessMapLoader;
+import inf112.skeleton.app.enums.Direction;
+import inf112.skeleton.app.enums.TileID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare checking walls for every cell and direction of a board with the compiled wall grid
+ * against looking up the cells in the wall layer, which is how canGo used to work.
+ *
+ * Run with mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=inf112.skeleton.app.benchmark.WallBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WallBenchmark {
+
+    private HeadlessBoard board;
+    private Vector2[] positions;
+
+    @Setup
+    public void setUp() {
+        board = new HeadlessBoard(new HeadlessMapLoader().load("assets/maps/Risky Exchange.tmx"));
+        positions = new Vector2[board.getBoardWidth() * board.getBoardHeight()];
+        for (int x = 0; x < board.getBoardWidth(); x++) {
+            for (int y = 0; y < board.getBoardHeight(); y++) {
+                positions[x + y * board.getBoardWidth()] = new Vector2(x, y);
+            }
+        }
+    }
+
+    @Benchmark
+    public void compiledCanGo(Blackhole blackhole) {
+        for (Vector2 position : positions) {
+            for (Direction direction : Direction.values()) {
+                blackhole.consume(board.canGo(position, direction));
+            }
+        }
+    }
+
+    @Benchmark
+    public void compiledCanFire(Blackhole blackhole) {
+        for (Vector2 position : positions) {
+            for (Direction direction : Direction.values()) {
+                blackhole.consume(board.canFire(position, direction));
+            }
+        }
+    }
+
+    @Benchmark
+    public void layerCanGo(Blackhole blackhole) {
+        for (Vector2 position : positions) {
+            for (Direction direction : Direction.values()) {
+                blackhole.consume(layerCanGo(position, direction));
+            }
+        }
+    }
+
+    @Benchmark
+    public void layerCanFire(Blackhole blackhole) {
+        for (Vector2 position : positions) {
+            for (Direction direction : Direction.values()) {
+                blackhole.consume(layerCanGo(position, direction)
+                        && !board.outsideBoard(board.getNeighbourPosition(position, direction)));
+            }
+        }
+    }
+
+    /**
+     * canGo as it was before the walls were compiled: five cell lookups and tile id comparisons per call.
+     */
+    private boolean layerCanGo(Vector2 position, Direction direction) {
+        TiledMapTileLayer wallLayer = board.getWallLayer();
+        int x = (int) position.x;
+        int y = (int) position.y;
+        TiledMapTileLayer.Cell cell = wallLayer.getCell(x, y);
+        TiledMapTileLayer.Cell northCell = wallLayer.getCell(x, y + 1);
+        TiledMapTileLayer.Cell southCell = wallLayer.getCell(x, y - 1);
+        TiledMapTileLayer.Cell eastCell = wallLayer.getCell(x + 1, y);
+        TiledMapTileLayer.Cell westCell = wallLayer.getCell(x - 1, y);
+        switch (direction) {
+            case NORTH:
+                return !hasNorthWall(cell) && !hasSouthWall(northCell);
+            case SOUTH:
+                return !hasSouthWall(cell) && !hasNorthWall(southCell);
+            case EAST:
+                return !hasEastWall(cell) && !hasWestWall(eastCell);
+            case WEST:
+                return !hasWestWall(cell) && !hasEastWall(westCell);
+            default:
+                return true;
+        }
+    }
+
+    // The wall checks of BoardLayers before they were read from the tile id table
+
+    private static boolean hasWestWall(TiledMapTileLayer.Cell cell) {
+        if (cell != null) {
+            int tileID = cell.getTile().getId();
+            return tileID == TileID.WEST_WALL.getId() ||
+                    tileID == TileID.NORTHWEST_WALL.getId() ||
+                    tileID == TileID.SOUTHWEST_WALL.getId() ||
+                    tileID == TileID.WEST_LASER_WALL.getId();
+        }
+        return false;
+    }
+
+    private static boolean hasEastWall(TiledMapTileLayer.Cell cell) {
+        if (cell != null) {
+            int tileID = cell.getTile().getId();
+            return tileID == TileID.EAST_WALL.getId() ||
+                    tileID == TileID.NORTHEAST_WALL.getId() ||
+                    tileID == TileID.SOUTHEAST_WALL.getId() ||
+                    tileID == TileID.EAST_LASER_WALL.getId();
+        }
+        return false;
+    }
+
+    private static boolean hasSouthWall(TiledMapTileLayer.Cell cell) {
+        if (cell != null) {
+            int tileID = cell.getTile().getId();
+            return tileID == TileID.SOUTH_WALL.getId() ||
+                    tileID == TileID.SOUTHWEST_WALL.getId() ||
+                    tileID == TileID.SOUTHEAST_WALL.getId() ||
+                    tileID == TileID.SOUTH_LASER_WALL.getId();
+        }
+        return false;
+    }
+
+    private static boolean hasNorthWall(TiledMapTileLayer.Cell cell) {
+        if (cell != null) {
+            int tileID = cell.getTile().getId();
+            return tileID == TileID.NORTH_WALL.getId() ||
+                    tileID == TileID.NORTHWEST_WALL.getId() ||
+                    tileID == TileID.NORTHEAST_WALL.getId() ||
+                    tileID == TileID.NORTH_LASER_WALL.getId();
+        }
+        return false;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WallBenchmark.class.getSimpleName()).build()).run();
+    }
+}
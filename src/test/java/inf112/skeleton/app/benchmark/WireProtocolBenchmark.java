@@ -0,0 +1,108 @@
+package inf112.skeleton.app.benchmark;
+
+import inf112.skeleton.app.cards.Deck;
+import inf112.skeleton.app.cards.ProgramCard;
+import inf112.skeleton.app.lan.Converter;
+import inf112.skeleton.app.lan.Frame;
+import inf112.skeleton.app.lan.FrameCodec;
+import inf112.skeleton.app.lan.NotProgramCardException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare sending the deck and the cards of a program as {@link FrameCodec} frames against the text of
+ * {@link Converter}, which is how cards used to be sent. Each benchmark writes every message and reads it back.
+ *
+ * Run with mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=inf112.skeleton.app.benchmark.WireProtocolBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireProtocolBenchmark {
+
+    private static final int PLAYER_NUMBER = 2;
+
+    private ProgramCard[] deck;
+    private ProgramCard[] program;
+    private Converter converter;
+    private FrameCodec codec;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck(new Random(1)).getDeck().toArray(new ProgramCard[0]);
+        program = new ProgramCard[5];
+        System.arraycopy(deck, 0, program, 0, program.length);
+        converter = new Converter();
+        codec = new FrameCodec();
+        buffer = ByteBuffer.allocate(deck.length * 16);
+    }
+
+    @Benchmark
+    public void converterDeck(Blackhole blackhole) throws NotProgramCardException {
+        for (ProgramCard card : deck) {
+            blackhole.consume(converter.convertToCard(converter.convertToString(card)));
+        }
+    }
+
+    @Benchmark
+    public void frameDeck(Blackhole blackhole) throws IOException {
+        ((Buffer) buffer).clear();
+        for (ProgramCard card : deck) {
+            codec.encode(Frame.card(card), buffer);
+        }
+        ((Buffer) buffer).flip();
+        while (buffer.hasRemaining()) {
+            blackhole.consume(codec.decode(buffer).getCard());
+        }
+    }
+
+    @Benchmark
+    public void converterProgram(Blackhole blackhole) throws NotProgramCardException {
+        for (ProgramCard card : program) {
+            String message = converter.convertToString(PLAYER_NUMBER, card);
+            blackhole.consume(converter.getPlayerNumberFromMessage(message));
+            blackhole.consume(converter.convertToCard(converter.getMessageFromPlayer(message)));
+        }
+    }
+
+    @Benchmark
+    public void frameProgram(Blackhole blackhole) throws IOException {
+        ((Buffer) buffer).clear();
+        for (ProgramCard card : program) {
+            codec.encode(Frame.card(PLAYER_NUMBER, card), buffer);
+        }
+        ((Buffer) buffer).flip();
+        while (buffer.hasRemaining()) {
+            Frame frame = codec.decode(buffer);
+            blackhole.consume(frame.getPlayerNumber());
+            blackhole.consume(frame.getCard());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WireProtocolBenchmark.class.getSimpleName()).build()).run();
+    }
+}